@@ -0,0 +1,92 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares lower case String.contains text matching with AsciiFoldSearch over a block of Voyager log lines.
+ *
+ * <p>Run with: mvn -Pjmh test</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextScannerBenchmark {
+
+	private static final String[] TEMPLATES = {
+			"2022/02/03 00:%02d:11 272 - INFO  - [Focus  ] - [FINISH_Code ] - Focus Done - Pos=33734 HFD=6.428524 Temperature=6.4 Filter=R [3]",
+			"2022/02/03 00:%02d:07 334 - INFO  - [Sequence - Safety Run  ] - [EsposizioneOK  ] - GUIDING Stats - RMS Error (RA=0.664 - DEC=0.656)",
+			"2022/02/03 00:%02d:08 818 - INFO  - [PrecisePointing        ] - [CHECK_POINTING_ERROR_Code] - Best Performance 00° 00' 02\"[DMS]",
+			"2022/02/03 00:%02d:01 100 - DEBUG - [Camera ] - [Status ] - Camera cooler power 42 percent, temperature -10.0",
+			"2022/02/03 00:%02d:02 200 - INFO  - [Dome   ] - [Sync   ] - Dome azimuth synchronised with mount position" };
+
+	private static final int N_LINES = 10_000;
+
+	@Param({ "focus done", "rms error", "plate solving error" })
+	public String matchText;
+
+	private String[] lines = null;
+	private byte[][] lineBytes = null;
+	private String foldedText = null;
+	private AsciiFoldSearch search = null;
+
+	@Setup
+	public void setup() {
+		lines = new String[N_LINES];
+		lineBytes = new byte[N_LINES][];
+		for (int i = 0; i < N_LINES; i++) {
+			lines[i] = String.format(TEMPLATES[i % TEMPLATES.length], i % 60);
+			lineBytes[i] = lines[i].getBytes(StandardCharsets.UTF_8);
+		}
+		foldedText = matchText.toLowerCase();
+		search = new AsciiFoldSearch(matchText);
+	}
+
+	@Benchmark
+	public int stringContains() {
+		int hits = 0;
+		for (var line : lines) {
+			if (line.toLowerCase().contains(foldedText)) {
+				hits++;
+			}
+		}
+		return hits;
+	}
+
+	@Benchmark
+	public int swarString() {
+		int hits = 0;
+		for (var line : lines) {
+			if (search.contains(line)) {
+				hits++;
+			}
+		}
+		return hits;
+	}
+
+	@Benchmark
+	public int swarBytes() {
+		int hits = 0;
+		for (var bytes : lineBytes) {
+			if (search.contains(bytes, 0, bytes.length)) {
+				hits++;
+			}
+		}
+		return hits;
+	}
+}
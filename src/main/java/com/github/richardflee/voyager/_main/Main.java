@@ -2,14 +2,25 @@ package com.github.richardflee.voyager._main;
 
 import java.awt.Dimension;
 import java.awt.EventQueue;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 
 import javax.swing.UIManager;
 
 import com.formdev.flatlaf.FlatDarkLaf;
+import com.github.richardflee.voyager.enums.TrendFieldEnum;
+import com.github.richardflee.voyager.enums.TrendStatEnum;
+import com.github.richardflee.voyager.fileio.VoyagerPaths;
+import com.github.richardflee.voyager.log_objects.MetricsTrendStore;
+import com.github.richardflee.voyager.log_objects.SessionComparator;
+import com.github.richardflee.voyager.log_objects.VoyagerBatchImporter;
 import com.github.richardflee.voyager.log_objects.VoyagerLogMatchers;
 import com.github.richardflee.voyager.models.ExtractsTableModel;
 import com.github.richardflee.voyager.models.MatchersTableModel;
 import com.github.richardflee.voyager.models.MetricsTableModel;
+import com.github.richardflee.voyager.utils.StartupTimer;
 import com.github.richardflee.voyager.viewer.ActionHandler;
 import com.github.richardflee.voyager.viewer.VoyagerViewer;
 
@@ -38,6 +49,9 @@ public class Main {
 			// sets up viewer event handler, sets ltm as listener to updateTable events 
 			var handler = new ActionHandler(logsMatcher);
 			handler.setTableListeners(extractsModel, metricsModel);
+			
+			// reloads matchers when VoyagerLogViewer.csv is edited outside the viewer
+			handler.startMatchersWatcher(matchersModel);
 
 			// configures viewer ui
 			var view = new VoyagerViewer(handler, matchersModel, extractsModel, metricsModel);		
@@ -50,7 +64,77 @@ public class Main {
 			view.setVisible(true);
 		}
 
-	public static void main(String[] args) {
+	/*
+	 * Headless batch import: --batch [folder] [from yyyy-mm-dd] [to yyyy-mm-dd]
+	 * Default folder is log folder in working directory
+	 */
+	private static void runBatch(String[] args) throws Exception {
+		var folder = (args.length > 1) ? Paths.get(args[1]) : VoyagerPaths.LOGS_FOLDER.toPath();
+		var fromDate = (args.length > 2) ? LocalDate.parse(args[2]) : null;
+		var toDate = (args.length > 3) ? LocalDate.parse(args[3]) : null;
+
+		var sessionPaths = VoyagerBatchImporter.findSessions(folder, fromDate, toDate);
+		System.out.println(String.format("Batch import %d sessions from %s", sessionPaths.size(), folder.toString()));
+		
+		var importer = new VoyagerBatchImporter(new VoyagerLogMatchers().getMatchers());
+		var results = importer.importSessions(sessionPaths);
+		results.stream().forEach(p -> System.out.println(p.toString()));
+	}
+
+	/*
+	 * Session compare: --compare logA logB
+	 * Lists per-matcher event count changes and metric distribution changes of session B relative to A
+	 */
+	private static void runCompare(String[] args) throws Exception {
+		if (args.length < 3) {
+			System.err.println("Usage: --compare yyyy_mm_dd_Voyager.log yyyy_mm_dd_Voyager.log");
+			return;
+		}
+		var comparator = new SessionComparator(new VoyagerLogMatchers().getMatchers());
+		var diff = comparator.compare(Paths.get(args[1]), Paths.get(args[2]));
+		diff.getReportLines().stream().forEach(p -> System.out.println(p));
+	}
+
+	/*
+	 * Metrics trend query: --trend field [stat] [DAYS|WEEKS|MONTHS|YEARS] [from yyyy-mm-dd] [to yyyy-mm-dd]
+	 * Focus fields are reported per filter; default is nightly median
+	 */
+	private static void runTrend(String[] args) throws Exception {
+		var field = TrendFieldEnum.getEnum((args.length > 1) ? args[1] : "");
+		if (field == null) {
+			System.err.println(String.format("Trend field must be one of %s", Arrays.toString(TrendFieldEnum.values())));
+			return;
+		}
+		var stat = TrendStatEnum.getEnum((args.length > 2) ? args[2] : "");
+		var bucket = (args.length > 3) ? ChronoUnit.valueOf(args[3].toUpperCase()) : ChronoUnit.DAYS;
+		var fromDate = (args.length > 4) ? LocalDate.parse(args[4]) : null;
+		var toDate = (args.length > 5) ? LocalDate.parse(args[5]) : null;
+		var byFilter = field == TrendFieldEnum.HFD || field == TrendFieldEnum.TEMPERATURE
+				|| field == TrendFieldEnum.POS;
+
+		var store = new MetricsTrendStore(VoyagerPaths.getPathToTrendStoreFile());
+		var rows = store.query(fromDate, toDate, field, bucket, stat, byFilter);
+		System.out.println(String.format("Date,Filter,Count,%s %s", stat, field));
+		rows.stream().forEach(p -> System.out.println(p.toString()));
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length > 0 && args[0].equals("--batch")) {
+			runBatch(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--compare")) {
+			runCompare(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--trend")) {
+			runTrend(args);
+			return;
+		}
+		
+		// start-up time reference, reported at first paint of viewer window
+		StartupTimer.start();
+		
 		try {
 			// dashing flat laf dark theme
 			UIManager.setLookAndFeel(new FlatDarkLaf());
@@ -0,0 +1,30 @@
+package com.github.richardflee.voyager.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps VoyagerLogViewer.csv match mode column to the scanner used to test Voyager log lines
+ * 
+ * <p>TEXT: case-insensitive sub string match (default if column is blank or missing)</p>
+ * <p>REGEX: case-insensitive regular expression, found anywhere in log line</p>
+ * <p>FIELD: numeric predicate on a metric field, e.g. 'HFD &gt; 8' or 'RA &gt;= 1.0'</p>
+ */
+public enum MatchModeEnum {
+	TEXT, REGEX, FIELD;
+	
+	private static final Map<String, MatchModeEnum> map = new HashMap<>();
+	
+	// Returns enum for match mode input; blank or invalid input defaults to MatchModeEnum.TEXT
+	public static MatchModeEnum getEnum(String matchMode) {
+		var key = (matchMode == null) ? "" : matchMode.trim().toUpperCase();
+		return map.containsKey(key) ? map.get(key) : MatchModeEnum.TEXT;
+	}
+	
+	// compiles map with key, value pairs comprising enum string value and enum value respectively
+	static {
+		for (final var en : MatchModeEnum.values()) {
+			map.put(en.toString(), en);
+		}
+	}
+}
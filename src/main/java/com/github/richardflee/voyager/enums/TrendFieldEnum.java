@@ -0,0 +1,30 @@
+package com.github.richardflee.voyager.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Numeric metric fields recorded in the metrics trend store
+ * 
+ * <p>HFD, TEMPERATURE, POS: focus metrics, recorded with focus filter</p>
+ * <p>RA, DEC: rms guiding errors</p>
+ * <p>POINTING: residual pointing error after closed loop slew, arc-secs</p>
+ */
+public enum TrendFieldEnum {
+	HFD, TEMPERATURE, POS, RA, DEC, POINTING;
+	
+	private static final Map<String, TrendFieldEnum> map = new HashMap<>();
+	
+	// Returns enum for field name input, or null if input is not a trend field
+	public static TrendFieldEnum getEnum(String field) {
+		var key = (field == null) ? "" : field.trim().toUpperCase();
+		return map.get(key);
+	}
+	
+	// compiles map with key, value pairs comprising enum string value and enum value respectively
+	static {
+		for (final var en : TrendFieldEnum.values()) {
+			map.put(en.toString(), en);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.github.richardflee.voyager.enums;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregate statistics computed over metric values in a trend query time bucket
+ */
+public enum TrendStatEnum {
+	COUNT, MEAN, MEDIAN, MIN, MAX;
+	
+	private static final Map<String, TrendStatEnum> map = new HashMap<>();
+	
+	// Returns enum for statistic name input; blank or invalid input defaults to TrendStatEnum.MEDIAN
+	public static TrendStatEnum getEnum(String stat) {
+		var key = (stat == null) ? "" : stat.trim().toUpperCase();
+		return map.containsKey(key) ? map.get(key) : TrendStatEnum.MEDIAN;
+	}
+	
+	/**
+	 * Computes statistic over first n values; values array is sorted in place
+	 * 
+	 * @param values metric values, at least one value
+	 * @param n number of values
+	 * @return statistic value
+	 */
+	public double apply(float[] values, int n) {
+		switch (this) {
+		case COUNT:
+			return n;
+		case MEAN:
+			double sum = 0;
+			for (int i = 0; i < n; i++) {
+				sum += values[i];
+			}
+			return sum / n;
+		default:
+			Arrays.sort(values, 0, n);
+			if (this == MIN) {
+				return values[0];
+			} else if (this == MAX) {
+				return values[n - 1];
+			}
+			return (n % 2 == 1) ? values[n / 2] : (values[n / 2 - 1] + values[n / 2]) / 2.0;
+		}
+	}
+	
+	// compiles map with key, value pairs comprising enum string value and enum value respectively
+	static {
+		for (final var en : TrendStatEnum.values()) {
+			map.put(en.toString(), en);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.github.richardflee.voyager.fileio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+
+import com.github.richardflee.voyager.log_objects.FitsHeader;
+
+/**
+ * Reads FITS primary header key values without reading image data.
+ *
+ * <p>The header is a sequence of 2880-byte blocks, each holding 36 80-byte 'KEYWORD = value / comment' cards,
+ * ending with an END card. Blocks are read through a FileChannel into a single reused buffer until the END
+ * card, so a header read costs one or two block reads whatever the frame size.</p>
+ */
+public class FitsHeaderReader {
+
+	private static final int BLOCK_SIZE = 2880;
+	private static final int CARD_SIZE = 80;
+
+	// guards against files with no END card
+	private static final int MAX_HEADER_BLOCKS = 64;
+
+	// header keys copied to FitsHeader
+	public static final List<String> HEADER_KEYS = List.of("OBJECT", "IMAGETYP", FitsHeader.FILTER,
+			FitsHeader.EXPTIME, FitsHeader.CCD_TEMP, "SET-TEMP", "GAIN", "OFFSET", "XBINNING", "FOCPOS", "DATE-OBS");
+
+	/**
+	 * Reads HEADER_KEYS values from FITS file primary header
+	 *
+	 * @param path path to FITS file
+	 * @return header values, keys missing in header are omitted
+	 * @throws IOException if file cannot be read or is not a FITS file
+	 */
+	public static FitsHeader readHeader(Path path) throws IOException {
+		var values = new HashMap<String, String>();
+		var buffer = ByteBuffer.allocate(BLOCK_SIZE);
+		var card = new byte[CARD_SIZE];
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			for (int block = 0; block < MAX_HEADER_BLOCKS; block++) {
+				buffer.clear();
+				int n = 0;
+				do {
+					n = channel.read(buffer);
+				} while (n > 0 && buffer.hasRemaining());
+				if (buffer.hasRemaining()) {
+					throw new IOException(String.format("Incomplete FITS header: %s", path));
+				}
+				buffer.flip();
+				for (int i = 0; i < BLOCK_SIZE / CARD_SIZE; i++) {
+					buffer.get(card);
+					var line = new String(card, StandardCharsets.US_ASCII);
+					if (block == 0 && i == 0 && !line.startsWith("SIMPLE")) {
+						throw new IOException(String.format("Not a FITS file: %s", path));
+					}
+					var key = line.substring(0, 8).trim();
+					if (key.equals("END")) {
+						return new FitsHeader(values);
+					}
+					if (HEADER_KEYS.contains(key) && line.startsWith("= ", 8)) {
+						values.put(key, cardValue(line.substring(10)));
+					}
+				}
+			}
+		}
+		throw new IOException(String.format("FITS header END card not found: %s", path));
+	}
+
+	/*
+	 * Parses card value field: quoted string with '' escaped quotes, or value up to '/' comment
+	 */
+	static String cardValue(String field) {
+		var s = field.trim();
+		if (!s.startsWith("'")) {
+			int idx = s.indexOf('/');
+			return ((idx < 0) ? s : s.substring(0, idx)).trim();
+		}
+		var sb = new StringBuilder();
+		for (int i = 1; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '\'') {
+				if (i + 1 < s.length() && s.charAt(i + 1) == '\'') {
+					sb.append(c);
+					i++;
+					continue;
+				}
+				break;
+			}
+			sb.append(c);
+		}
+		return sb.toString().trim();
+	}
+}
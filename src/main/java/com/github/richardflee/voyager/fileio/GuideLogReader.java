@@ -0,0 +1,245 @@
+package com.github.richardflee.voyager.fileio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.richardflee.voyager.log_objects.GuideFrames;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+/**
+ * Streaming reader for PHD2 guide logs, PHD2_GuideLog_yyyy-MM-dd_HHmmss.txt.
+ *
+ * <p>Guide logs list one CSV line per guide frame in each 'Guiding Begins at' section, with frame time in secs
+ * since the section start. The file is read in fixed size blocks and frame lines are parsed in place from
+ * bytes; only header and info lines are decoded. RA and DEC raw distances are converted from pixels to
+ * arc-secs and frames are time stamped in milli-secs since Voyager session start at noon.</p>
+ */
+public class GuideLogReader {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final String FRAME_HEADER = "Frame,";
+	private static final String GUIDING_BEGINS = "Guiding Begins at ";
+	private static final String GUIDING_ENDS = "Guiding Ends at ";
+	private static final String CALIBRATION_BEGINS = "Calibration Begins at ";
+	private static final String PIXEL_SCALE = "Pixel scale = ";
+	private static final DateTimeFormatter PHD2_TIMESTAMP_FORMATTER =
+			DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+			1e13, 1e14, 1e15, 1e16, 1e17, 1e18 };
+
+	private final GuideFrames frames;
+	private final LocalDateTime sessionStart;
+
+	// true in a guiding section, section start in session milli-secs, may be before session start
+	private boolean isGuiding = false;
+	private long guidingStart = 0;
+	private double pixelScale = 1.0;
+
+	// frame line columns, set from frame header line
+	private int timeCol = 1;
+	private int mountCol = 2;
+	private int raCol = 5;
+	private int decCol = 6;
+
+	private GuideLogReader(LocalDate startDate, GuideFrames frames) {
+		this.sessionStart = LocalDateTime.of(startDate, VoyagerDateTimes.NOON);
+		this.frames = frames;
+	}
+
+	/**
+	 * Reads guide frames in session starting at noon on startDate from PHD2 guide logs
+	 *
+	 * @param paths guide log paths, in time order
+	 * @param startDate session start date
+	 * @return session guide frames, empty if no guide logs
+	 * @throws IOException if a guide log cannot be read
+	 */
+	public static GuideFrames readGuideLogs(List<Path> paths, LocalDate startDate) throws IOException {
+		var frames = new GuideFrames();
+		for (var path : paths) {
+			readGuideLog(path, startDate, frames);
+		}
+		return frames;
+	}
+
+	/**
+	 * Appends guide frames in session starting at noon on startDate from a single PHD2 guide log
+	 *
+	 * @param path guide log path
+	 * @param startDate session start date
+	 * @param frames frames store
+	 * @throws IOException if guide log cannot be read
+	 */
+	public static void readGuideLog(Path path, LocalDate startDate, GuideFrames frames) throws IOException {
+		try (var in = Files.newInputStream(path)) {
+			new GuideLogReader(startDate, frames).read(in);
+		}
+	}
+
+	/*
+	 * Splits input into lines block by block, a partial line at block end is carried to the next block
+	 */
+	private void read(InputStream in) throws IOException {
+		var buf = new byte[BUFFER_SIZE];
+		int len = 0;
+		while (true) {
+			if (len == buf.length) {
+				// line longer than buffer
+				buf = Arrays.copyOf(buf, buf.length * 2);
+			}
+			int n = in.read(buf, len, buf.length - len);
+			if (n < 0) {
+				break;
+			}
+			int scanFrom = len;
+			len += n;
+			int lineStart = 0;
+			for (int i = scanFrom; i < len; i++) {
+				if (buf[i] == '\n') {
+					parseLine(buf, lineStart, i);
+					lineStart = i + 1;
+				}
+			}
+			System.arraycopy(buf, lineStart, buf, 0, len - lineStart);
+			len -= lineStart;
+		}
+		if (len > 0) {
+			parseLine(buf, 0, len);
+		}
+	}
+
+	private void parseLine(byte[] buf, int start, int end) {
+		if (end > start && buf[end - 1] == '\r') {
+			end--;
+		}
+		if (end == start) {
+			return;
+		}
+		if (buf[start] >= '0' && buf[start] <= '9') {
+			if (isGuiding) {
+				parseFrame(buf, start, end);
+			}
+			return;
+		}
+		var line = new String(buf, start, end - start, StandardCharsets.ISO_8859_1);
+		if (line.startsWith(GUIDING_BEGINS)) {
+			isGuiding = setGuidingStart(line.substring(GUIDING_BEGINS.length()));
+		} else if (line.startsWith(GUIDING_ENDS) || line.startsWith(CALIBRATION_BEGINS)) {
+			isGuiding = false;
+		} else if (line.startsWith(PIXEL_SCALE)) {
+			var token = line.substring(PIXEL_SCALE.length()).split(" ")[0];
+			pixelScale = parseDecimal(token.getBytes(StandardCharsets.ISO_8859_1), 0, token.length());
+			pixelScale = Double.isNaN(pixelScale) ? 1.0 : pixelScale;
+		} else if (line.startsWith(FRAME_HEADER)) {
+			var columns = Arrays.asList(line.split(","));
+			timeCol = columns.indexOf("Time");
+			mountCol = columns.indexOf("mount");
+			raCol = columns.indexOf("RARawDistance");
+			decCol = columns.indexOf("DECRawDistance");
+		}
+	}
+
+	/*
+	 * Parses frame line, e.g. 12,24.015,"Mount",0.123,-0.456,0.234,-0.345,... Dropped frames have mount
+	 * field "DROP" and blank distances.
+	 */
+	private void parseFrame(byte[] buf, int start, int end) {
+		double time = Double.NaN;
+		double ra = Double.NaN;
+		double dec = Double.NaN;
+		boolean isDrop = false;
+		int lastCol = Math.max(Math.max(timeCol, mountCol), Math.max(raCol, decCol));
+		int col = 0;
+		int fieldStart = start;
+		for (int i = start; i <= end && col <= lastCol; i++) {
+			if (i < end && buf[i] != ',') {
+				continue;
+			}
+			if (col == timeCol) {
+				time = parseDecimal(buf, fieldStart, i);
+			} else if (col == mountCol) {
+				isDrop = i - fieldStart >= 5 && buf[fieldStart + 1] == 'D' && buf[fieldStart + 2] == 'R'
+						&& buf[fieldStart + 3] == 'O' && buf[fieldStart + 4] == 'P';
+			} else if (col == raCol) {
+				ra = parseDecimal(buf, fieldStart, i);
+			} else if (col == decCol) {
+				dec = parseDecimal(buf, fieldStart, i);
+			}
+			col++;
+			fieldStart = i + 1;
+		}
+		if (Double.isNaN(time)) {
+			return;
+		}
+		long millis = guidingStart + Math.round(time * 1000.0);
+		if (millis < 0 || millis >= VoyagerDateTimes.SESSION_MILLIS) {
+			return;
+		}
+		if (isDrop || Double.isNaN(ra) || Double.isNaN(dec)) {
+			frames.addDropped();
+		} else {
+			frames.add(millis, (float) (ra * pixelScale), (float) (dec * pixelScale));
+		}
+	}
+
+	// sets guiding section start from PHD2 time stamp yyyy-MM-dd HH:mm:ss, false if time stamp is invalid
+	private boolean setGuidingStart(String timeStamp) {
+		try {
+			var ldt = LocalDateTime.parse(timeStamp.trim(), PHD2_TIMESTAMP_FORMATTER);
+			guidingStart = Duration.between(sessionStart, ldt).toMillis();
+			return true;
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+	}
+
+	/*
+	 * Parses decimal number in bytes start to end without allocation, NaN if blank or not a number. Numbers
+	 * with exponents or more than 18 digits are parsed by Double.parseDouble.
+	 */
+	static double parseDecimal(byte[] buf, int start, int end) {
+		int i = start;
+		boolean isNegative = false;
+		if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+			isNegative = buf[i] == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int nDigits = 0;
+		int scale = 0;
+		boolean isPoint = false;
+		for (; i < end; i++) {
+			int d = buf[i] - '0';
+			if (d >= 0 && d <= 9 && nDigits < 18) {
+				mantissa = mantissa * 10 + d;
+				nDigits++;
+				scale += isPoint ? 1 : 0;
+			} else if (buf[i] == '.' && !isPoint) {
+				isPoint = true;
+			} else {
+				try {
+					return Double.parseDouble(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+				} catch (NumberFormatException e) {
+					return Double.NaN;
+				}
+			}
+		}
+		if (nDigits == 0) {
+			return Double.NaN;
+		}
+		double value = mantissa / POW10[scale];
+		return isNegative ? -value : value;
+	}
+}
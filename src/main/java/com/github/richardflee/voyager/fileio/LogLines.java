@@ -0,0 +1,288 @@
+package com.github.richardflee.voyager.fileio;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+
+/**
+ * Voyager log lines held as UTF-8 bytes in a single buffer, each line is decoded to String only when requested.
+ *
+ * <p>Matchers test raw line bytes, so that only matched lines are decoded. Lines read in other charsets are
+ * transcoded to UTF-8 when added; ASCII lines are copied as they are.</p>
+ *
+ * <p>Each line is tagged with the name of its source, e.g. the rig log folder it was read from.</p>
+ */
+public class LogLines extends AbstractList<String> implements RandomAccess {
+
+	private byte[] data = null;
+
+	// line i spans data bytes offsets[i] to offsets[i + 1]
+	private int[] offsets = null;
+	private int size = 0;
+
+	// line i source is sourceNames[sources[i]]; lines are added with source index source
+	private int[] sources = null;
+	private List<String> sourceNames = null;
+	private int source = 0;
+
+	public LogLines() {
+		this("");
+	}
+
+	/**
+	 * @param source source name tagged on added lines
+	 */
+	public LogLines(String source) {
+		this.data = new byte[1024];
+		this.offsets = new int[64];
+		this.sources = new int[64];
+		this.sourceNames = new ArrayList<>(List.of(source));
+	}
+
+	/**
+	 * Returns lines as LogLines, encoding lines to UTF-8 unless lines is a LogLines list
+	 */
+	public static LogLines of(List<String> lines) {
+		if (lines instanceof LogLines) {
+			return (LogLines) lines;
+		}
+		var logLines = new LogLines();
+		lines.stream().forEach(p -> logLines.add(p));
+		return logLines;
+	}
+
+	/**
+	 * Concatenates LogLines lists in list order, e.g. session start and end log files
+	 */
+	public static LogLines concat(List<LogLines> parts) {
+		if (parts.size() == 1) {
+			return parts.get(0);
+		}
+		var logLines = new LogLines();
+		for (var part : parts) {
+			for (int i = 0; i < part.size; i++) {
+				logLines.add(part, i);
+			}
+		}
+		return logLines;
+	}
+
+	/**
+	 * Merges LogLines lists in time stamp order, e.g. log files from several rigs or overlapping log files 
+	 * written after a Voyager restart. Each part is read once in line order, so parts are expected to be in 
+	 * time order as written by Voyager; lines without a standard time stamp follow the preceding line. 
+	 * 
+	 * <p>Equal time stamp lines are listed in parts order. A line from another part identical to a line already 
+	 * merged with the same time stamp is dropped as a duplicate.</p>
+	 * 
+	 * @param parts LogLines lists, each in time order
+	 * @return merged lines with duplicates removed
+	 */
+	public static LogLines merge(List<LogLines> parts) {
+		if (parts.size() == 1) {
+			return parts.get(0);
+		}
+		var heads = new PriorityQueue<Cursor>();
+		for (int idx = 0; idx < parts.size(); idx++) {
+			var cursor = new Cursor(parts.get(idx), idx);
+			if (cursor.next()) {
+				heads.add(cursor);
+			}
+		}
+
+		// merged lines with the current time stamp key and their parts, checked for duplicates
+		var merged = new LogLines();
+		long groupKey = Long.MIN_VALUE;
+		int groupStart = 0;
+		var groupParts = new ArrayList<Integer>();
+		while (!heads.isEmpty()) {
+			var cursor = heads.poll();
+			if (cursor.key != groupKey) {
+				groupKey = cursor.key;
+				groupStart = merged.size;
+				groupParts.clear();
+			}
+			if (!merged.isDuplicate(cursor, groupStart, groupParts)) {
+				merged.add(cursor.lines, cursor.idx);
+				groupParts.add(cursor.part);
+			}
+			if (cursor.next()) {
+				heads.add(cursor);
+			}
+		}
+		return merged;
+	}
+
+	// true if cursor line equals a line from another part merged since groupStart
+	private boolean isDuplicate(Cursor cursor, int groupStart, List<Integer> groupParts) {
+		var lines = cursor.lines;
+		int start = lines.start(cursor.idx);
+		int end = lines.end(cursor.idx);
+		for (int i = groupStart; i < size; i++) {
+			if (groupParts.get(i - groupStart) != cursor.part
+					&& Arrays.equals(data, start(i), end(i), lines.data, start, end)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Read position in one merge part, ordered on line time stamp key then part index
+	 */
+	private static class Cursor implements Comparable<Cursor> {
+		private final LogLines lines;
+		private final int part;
+		private int idx = -1;
+		private long key = Long.MIN_VALUE;
+
+		private Cursor(LogLines lines, int part) {
+			this.lines = lines;
+			this.part = part;
+		}
+
+		// advances to next line, false if no more lines
+		private boolean next() {
+			if (++idx >= lines.size) {
+				return false;
+			}
+			var lineKey = timeStampKey(lines.data, lines.start(idx), lines.end(idx));
+			key = (lineKey < 0) ? key : lineKey;
+			return true;
+		}
+
+		@Override
+		public int compareTo(Cursor other) {
+			int cmp = Long.compare(key, other.key);
+			return (cmp != 0) ? cmp : Integer.compare(part, other.part);
+		}
+	}
+
+	/*
+	 * Packs leading time stamp 'yyyy/MM/dd HH:mm:ss SSS' to decimal key yyyyMMddHHmmssSSS, -1 if line has no 
+	 * standard time stamp
+	 */
+	private static long timeStampKey(byte[] bytes, int start, int end) {
+		int i = start;
+		while (i < end && (bytes[i] & 0xFF) <= ' ') {
+			i++;
+		}
+		if (end - i < 21 || bytes[i + 4] != '/' || bytes[i + 7] != '/' || bytes[i + 10] != ' ' 
+				|| bytes[i + 13] != ':' || bytes[i + 16] != ':' || bytes[i + 19] != ' ') {
+			return -1;
+		}
+		long key = 0;
+		for (int j = i; j < i + 19; j++) {
+			if (j == i + 4 || j == i + 7 || j == i + 10 || j == i + 13 || j == i + 16) {
+				continue;
+			}
+			int d = bytes[j] - '0';
+			if (d < 0 || d > 9) {
+				return -1;
+			}
+			key = key * 10 + d;
+		}
+		// milli-secs token, up to 3 digits
+		int millis = 0;
+		int j = i + 20;
+		while (j < end && j < i + 23 && bytes[j] >= '0' && bytes[j] <= '9') {
+			millis = millis * 10 + (bytes[j++] - '0');
+		}
+		return (j == i + 20) ? -1 : key * 1000 + millis;
+	}
+
+	/**
+	 * Appends line from src bytes start to end encoded in charset, transcoding non-ASCII lines to UTF-8
+	 */
+	public void add(byte[] src, int start, int end, Charset charset) {
+		if (!charset.equals(StandardCharsets.UTF_8)) {
+			for (int i = start; i < end; i++) {
+				if (src[i] < 0) {
+					var utf8 = new String(src, start, end - start, charset).getBytes(StandardCharsets.UTF_8);
+					add(utf8, 0, utf8.length, StandardCharsets.UTF_8);
+					return;
+				}
+			}
+		}
+		int length = end - start;
+		int offset = offsets[size];
+		if (offset + length > data.length) {
+			data = Arrays.copyOf(data, Math.max(data.length * 2, offset + length));
+		}
+		System.arraycopy(src, start, data, offset, length);
+		if (size + 2 > offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+			sources = Arrays.copyOf(sources, offsets.length);
+		}
+		sources[size] = source;
+		offsets[++size] = offset + length;
+	}
+
+	// appends line index of from, keeping its source name
+	private void add(LogLines from, int index) {
+		var name = from.getSource(index);
+		source = sourceNames.indexOf(name);
+		if (source < 0) {
+			source = sourceNames.size();
+			sourceNames.add(name);
+		}
+		add(from.data, from.start(index), from.end(index), StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public boolean add(String line) {
+		var utf8 = line.getBytes(StandardCharsets.UTF_8);
+		add(utf8, 0, utf8.length, StandardCharsets.UTF_8);
+		return true;
+	}
+
+	/**
+	 * Decodes line at index
+	 */
+	@Override
+	public String get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns UTF-8 buffer holding all lines, line i spans start(i) to end(i)
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+	/**
+	 * Returns source name of line at index, e.g. rig log folder name, blank if not set
+	 */
+	public String getSource(int index) {
+		return sourceNames.get(sources[index]);
+	}
+
+	public int start(int index) {
+		return offsets[index];
+	}
+
+	public int end(int index) {
+		return offsets[index + 1];
+	}
+
+	/**
+	 * Returns heap bytes used by line buffer and offsets
+	 */
+	public long getHeapBytes() {
+		return data.length + 4L * (offsets.length + sources.length);
+	}
+}
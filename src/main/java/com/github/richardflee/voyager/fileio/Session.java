@@ -0,0 +1,117 @@
+package com.github.richardflee.voyager.fileio;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.github.richardflee.voyager.log_objects.LogMatcher;
+
+/**
+ * Immutable description of a single Voyager session: start date, input and output file paths and the matchers
+ * list used to extract it.
+ *
+ * <p>A session is created from VoyagerPaths after the user selects a log or extracts file, and is passed
+ * explicitly through file read, extraction, caching and file save, so that several sessions can be processed
+ * at the same time without shared state.</p>
+ *
+ * <p>The matchers list is an unmodifiable snapshot of matcher order and definitions. Matcher select flags
+ * remain live; use withMatcherCopies() where a session is extracted on another thread.</p>
+ */
+public final class Session {
+
+	private final LocalDate startDate;
+	private final List<Path> logPaths;
+	private final List<String> logSources;
+	private final Path extractsPath;
+	private final Path commentsPath;
+	private final Path metricsPath;
+	private final String logFilesNames;
+	private final List<LogMatcher> matchers;
+
+	private Session(LocalDate startDate, List<Path> logPaths, List<String> logSources, Path extractsPath,
+			Path commentsPath, Path metricsPath, String logFilesNames, List<LogMatcher> matchers) {
+		this.startDate = Objects.requireNonNull(startDate);
+		this.logPaths = List.copyOf(logPaths);
+		this.logSources = List.copyOf(logSources);
+		this.extractsPath = extractsPath;
+		this.commentsPath = commentsPath;
+		this.metricsPath = metricsPath;
+		this.logFilesNames = logFilesNames;
+		this.matchers = List.copyOf(matchers);
+	}
+
+	/**
+	 * Creates session from current file paths and matchers list
+	 *
+	 * @param filePaths paths derived from user-selected log or extracts file
+	 * @param matchers matchers list in evaluation order
+	 * @return new session
+	 */
+	public static Session of(VoyagerPaths filePaths, List<LogMatcher> matchers) {
+		return new Session(filePaths.getStartDate(), filePaths.getLogPaths(), filePaths.getLogSources(),
+				filePaths.getExtractsFileAttr().getPath(), filePaths.getCommentsFileAttr().getPath(),
+				filePaths.getMetricsFileAttr().getPath(), filePaths.getLogFilesNames(), matchers);
+	}
+
+	/**
+	 * Returns copy of this session with its own matcher objects, so that match statistics and select flags
+	 * are not shared with other sessions
+	 */
+	public Session withMatcherCopies() {
+		var copies = matchers.stream().map(p -> new LogMatcher(p)).collect(Collectors.toList());
+		return new Session(startDate, logPaths, logSources, extractsPath, commentsPath, metricsPath, logFilesNames,
+				copies);
+	}
+
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+
+	public List<Path> getLogPaths() {
+		return logPaths;
+	}
+
+	/**
+	 * @return source name for each log path, e.g. rig log folder name, blank for a single source session
+	 */
+	public List<String> getLogSources() {
+		return logSources;
+	}
+
+	/**
+	 * @return path to yyyy_mm_dd_Voyager.extracts.log file
+	 */
+	public Path getExtractsPath() {
+		return extractsPath;
+	}
+
+	/**
+	 * @return path to yyyy_mm_dd_Voyager.comments.log file, or null for Voyager log file sessions
+	 */
+	public Path getCommentsPath() {
+		return commentsPath;
+	}
+
+	/**
+	 * @return path to yyyy_mm_dd_Voyager.metrics.csv file
+	 */
+	public Path getMetricsPath() {
+		return metricsPath;
+	}
+
+	public String getLogFilesNames() {
+		return logFilesNames;
+	}
+
+	public List<LogMatcher> getMatchers() {
+		return matchers;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Session [startDate=%s, logFiles=%s, matchers=%d]", startDate, logFilesNames,
+				matchers.size());
+	}
+}
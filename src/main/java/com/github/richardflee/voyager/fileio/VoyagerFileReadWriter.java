@@ -2,9 +2,18 @@ package com.github.richardflee.voyager.fileio;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,10 +22,18 @@ import java.util.stream.Stream;
 
 import javax.swing.JOptionPane;
 
+import com.github.richardflee.voyager.jfr.FileReadEvent;
+import com.github.richardflee.voyager.jfr.FileSaveEvent;
+import com.github.richardflee.voyager.jfr.WindowFilterEvent;
 import com.github.richardflee.voyager.utils.VoyagerDateTimes;
 
 public class VoyagerFileReadWriter {
 
+	// system property selecting Voyager log file charset, default 'auto' detects UTF-8 or windows-1252
+	public static final String CHARSET_PROPERTY = "jlogviewer.log.charset";
+	private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+	private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
 	// multi-line dialog eror text if VoyagerLogViewer.csv not found in working
 	// folder
 	private static String CSV_FILE_ERROR = """
@@ -43,8 +60,11 @@ public class VoyagerFileReadWriter {
 
 		// streams VoyageLogViewer.csv to allLines list
 		List<String> allLines = null;
+		var readEvent = new FileReadEvent();
+		readEvent.begin();
 		try (Stream<String> lines = Files.lines(matchersPath)) {
 			allLines = lines.collect(Collectors.toList());
+			commitReadEvent(readEvent, matchersPath, allLines.size());
 		} catch (IOException e) {
 			var message = String.format(CSV_FILE_ERROR, matchersPath.toString(),
 					Paths.get(System.getProperty("user.dir")));
@@ -54,35 +74,228 @@ public class VoyagerFileReadWriter {
 		return allLines;
 	}
 
+	/**
+	 * This class method returns the raw bytes of VoyagerLogViewer.csv, compiled to matchers by
+	 * VoyagerLogMatchers.compileMatchers.
+	 * <p> A multi-line dialog informs the user if csv file is not found with file
+	 * download instructions </p>
+	 * 
+	 * @return VoyagerLogViewer.csv file content
+	 */
+	public static byte[] readLogMatchersBytes() {
+		var matchersPath = VoyagerPaths.getPathToMatchersFile();
+		byte[] bytes = null;
+		var readEvent = new FileReadEvent();
+		readEvent.begin();
+		try {
+			bytes = Files.readAllBytes(matchersPath);
+			commitReadEvent(readEvent, matchersPath, 0);
+		} catch (IOException e) {
+			var message = String.format(CSV_FILE_ERROR, matchersPath.toString(),
+					Paths.get(System.getProperty("user.dir")));
+			JOptionPane.showMessageDialog(null, message, "File Read", JOptionPane.INFORMATION_MESSAGE);
+			System.exit(0);
+		}
+		return bytes;
+	}
+
 	/**
 	 * Reads up to two Voyager log files, extracting time stamped log records
-	 * between noon on the start and end dates.
+	 * between noon on the start and end dates. Read errors are reported in a dialog.
 	 * 
-	 * @param logPaths list of Paths to the start date and (optional) end date log
+	 * @param session session start date and paths to the start date and (optional) end date log
 	 *                 files
 	 * @return text list of time stamped log records from noon on start day to next
 	 *         day noon.
 	 */
-	public static List<String> readVoyagerLogFiles(VoyagerPaths filePaths) {
-		// single or double loop, stream collects in range time stamp log lines to
-		// allLines list
-		LocalDateTime startDateTime = LocalDateTime.of(VoyagerPaths.getStartDate(), VoyagerDateTimes.NOON);
-
-		var logPaths = filePaths.getLogPaths();
-		List<String> allLines = new ArrayList<>();
-		for (int i = 0; i < logPaths.size(); i++) {
-			var path = logPaths.get(i);
-			try (Stream<String> lines = Files.lines(path)) {
-				// time stamp filter on stream
-				var fileLines = lines.filter(p -> VoyagerFileReadWriter.isValidTimeStamp(p, startDateTime))
-						.collect(Collectors.toList());
-				allLines.addAll(fileLines);
+	public static LogLines readVoyagerLogFiles(Session session) {
+		var parts = new ArrayList<LogLines>();
+		for (int idx = 0; idx < session.getLogPaths().size(); idx++) {
+			var path = session.getLogPaths().get(idx);
+			try {
+				parts.add(readVoyagerLogLines(path, session.getStartDate(), session.getLogSources().get(idx)));
 			} catch (IOException e) {
-				var message = String.format("Error reading Voyager log file:\n %s", logPaths.get(i).toString());
+				var message = String.format("Error reading Voyager log file:\n %s\n %s", path.toString(),
+						e.getMessage());
 				JOptionPane.showMessageDialog(null, message, "File Read", JOptionPane.INFORMATION_MESSAGE);
 			}
 		}
-		return allLines;
+		return mergeLogLines(parts, session);
+	}
+	
+	/**
+	 * Merges session log files lines into a single timeline. Voyager log files, including log files from 
+	 * other rigs, are merged in time stamp order with duplicate lines removed; comments and extracts files 
+	 * are concatenated so that comments head the list.
+	 * 
+	 * @param parts lines read from each session log path, in log paths order
+	 * @param session session log paths
+	 * @return session lines
+	 */
+	public static LogLines mergeLogLines(List<LogLines> parts, Session session) {
+		if (parts.isEmpty()) {
+			return new LogLines();
+		}
+		return (session.getCommentsPath() == null) ? LogLines.merge(parts) : LogLines.concat(parts);
+	}
+
+	/**
+	 * Reads a single Voyager log file, extracting time stamped log records in the session starting at noon
+	 * on startDate. No dialogs, safe to call from batch import tasks.
+	 * 
+	 * <p>File bytes are split into lines and time stamps tested in place; only in-window lines are copied.
+	 * File charset is set by system property jlogviewer.log.charset, default auto-detects UTF-8 or 
+	 * windows-1252.</p>
+	 * 
+	 * @param path path to Voyager log or extracts file
+	 * @param startDate session start date
+	 * @return log records from noon on start day to next day noon, as UTF-8 lines
+	 * @throws IOException if file cannot be read or jlogviewer.log.charset names an unsupported charset
+	 */
+	public static LogLines readVoyagerLogLines(Path path, LocalDate startDate) throws IOException {
+		return readVoyagerLogLines(path, startDate, "");
+	}
+
+	/**
+	 * Reads a single Voyager log file as readVoyagerLogLines(Path, LocalDate), tagging lines with source name
+	 * 
+	 * @param path path to Voyager log or extracts file
+	 * @param startDate session start date
+	 * @param source source name, e.g. rig log folder
+	 * @return log records from noon on start day to next day noon, as UTF-8 lines
+	 * @throws IOException if file cannot be read
+	 */
+	public static LogLines readVoyagerLogLines(Path path, LocalDate startDate, String source) throws IOException {
+		LocalDateTime startDateTime = LocalDateTime.of(startDate, VoyagerDateTimes.NOON);
+		long startKey = timeStampKey(startDateTime);
+		long endKey = timeStampKey(startDateTime.plusDays(1));
+
+		// read and filter phases are recorded as separate JFR events
+		var readEvent = new FileReadEvent();
+		readEvent.begin();
+		var bytes = Files.readAllBytes(path);
+		readEvent.end();
+		var charset = getLogCharset(bytes);
+
+		var filterEvent = new WindowFilterEvent();
+		filterEvent.begin();
+		var fileLines = new LogLines(source);
+		int nLines = 0;
+		int i = 0;
+		while (i < bytes.length) {
+			// line terminated by \n, \r or \r\n
+			int j = i;
+			while (j < bytes.length && bytes[j] != '\n' && bytes[j] != '\r') {
+				j++;
+			}
+			nLines++;
+			if (isValidTimeStamp(bytes, i, j, startKey, endKey, startDateTime, charset)) {
+				fileLines.add(bytes, i, j, charset);
+			}
+			if (j + 1 < bytes.length && bytes[j] == '\r' && bytes[j + 1] == '\n') {
+				j++;
+			}
+			i = j + 1;
+		}
+		filterEvent.end();
+		commitReadEvent(readEvent, path, nLines);
+		if (filterEvent.shouldCommit()) {
+			filterEvent.path = path.toString();
+			filterEvent.linesIn = nLines;
+			filterEvent.linesInWindow = fileLines.size();
+			filterEvent.commit();
+		}
+		return fileLines;
+	}
+
+	/**
+	 * Returns Voyager log file charset set by jlogviewer.log.charset property, or if property is not set
+	 * or is 'auto', UTF-8 if file bytes are valid UTF-8, else windows-1252
+	 * 
+	 * @param bytes log file content
+	 * @return charset used to decode log file lines
+	 * @throws IOException if property names an unsupported charset
+	 */
+	public static Charset getLogCharset(byte[] bytes) throws IOException {
+		var name = System.getProperty(CHARSET_PROPERTY, "auto");
+		if (!name.equalsIgnoreCase("auto")) {
+			try {
+				return Charset.forName(name);
+			} catch (IllegalArgumentException e) {
+				throw new IOException(String.format("Unsupported log charset %s set by %s", name, CHARSET_PROPERTY));
+			}
+		}
+		return isUtf8(bytes) ? StandardCharsets.UTF_8 : WINDOWS_1252;
+	}
+
+	/*
+	 * Validates UTF-8 byte sequences, skipping ASCII bytes. A sequence truncated at end of file, e.g. 
+	 * a log file still being written, is accepted.
+	 */
+	private static boolean isUtf8(byte[] bytes) {
+		int i = 0;
+		while (i < bytes.length) {
+			// skips 8 ASCII bytes at a time
+			if (i + Long.BYTES <= bytes.length && ((long) LONGS.get(bytes, i) & 0x8080808080808080L) == 0) {
+				i += Long.BYTES;
+				continue;
+			}
+			int c = bytes[i] & 0xFF;
+			if (c < 0x80) {
+				i++;
+				continue;
+			}
+			// continuation bytes count and second byte range excluding overlong and surrogate encodings
+			int nCont = 0;
+			int min = 0x80;
+			int max = 0xBF;
+			if (c >= 0xC2 && c <= 0xDF) {
+				nCont = 1;
+			} else if (c >= 0xE0 && c <= 0xEF) {
+				nCont = 2;
+				min = (c == 0xE0) ? 0xA0 : min;
+				max = (c == 0xED) ? 0x9F : max;
+			} else if (c >= 0xF0 && c <= 0xF4) {
+				nCont = 3;
+				min = (c == 0xF0) ? 0x90 : min;
+				max = (c == 0xF4) ? 0x8F : max;
+			} else {
+				return false;
+			}
+			if (i + nCont >= bytes.length) {
+				return true;
+			}
+			int c2 = bytes[i + 1] & 0xFF;
+			if (c2 < min || c2 > max) {
+				return false;
+			}
+			for (int k = 2; k <= nCont; k++) {
+				if ((bytes[i + k] & 0xC0) != 0x80) {
+					return false;
+				}
+			}
+			i += nCont + 1;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes text lines to file, replacing existing file. No dialogs, safe to call from batch import tasks.
+	 * 
+	 * @param lines text lines
+	 * @param path output file path
+	 * @throws IOException if file cannot be written
+	 */
+	public static void writeLinesFile(List<String> lines, Path path) throws IOException {
+		var saveEvent = new FileSaveEvent();
+		saveEvent.begin();
+		try (var pw = new PrintWriter(Files.newBufferedWriter(path))) {
+			lines.stream().forEach(pw::println);
+			if (pw.checkError()) {
+				throw new IOException(String.format("Error writing file: %s", path.toString()));
+			}
+			commitSaveEvent(saveEvent, path, lines.size());
+		}
 	}
 
 	/**
@@ -93,8 +306,11 @@ public class VoyagerFileReadWriter {
 	 */
 	public static void writeLogMatchersFile(List<String> lines) {
 		var matchersPath = VoyagerPaths.getPathToMatchersFile();
+		var saveEvent = new FileSaveEvent();
+		saveEvent.begin();
 		try (var pw = new PrintWriter(Files.newBufferedWriter(matchersPath))) {
 			lines.stream().forEach(pw::println);
+			commitSaveEvent(saveEvent, matchersPath, lines.size());
 		} catch (IOException e) {
 			var message = String.format("Error writing Voyager csv file:\n %s",
 					matchersPath.toAbsolutePath().toString());
@@ -110,15 +326,18 @@ public class VoyagerFileReadWriter {
 	 * Class method writes a list of user comments to Voyagers.comments.log file
 	 * 
 	 * @param lines text list user comments
-	 * @param filePaths encapsulates path to Voyager files
+	 * @param session encapsulates path to Voyager files
 	 */
-	public static void writeCommentExtractsFile(List<String> lines, VoyagerPaths filePaths) {
-		var commentsPath = filePaths.getCommentsFileAttr().getPath();
+	public static void writeCommentExtractsFile(List<String> lines, Session session) {
+		var commentsPath = session.getCommentsPath();
 		if (commentsPath == null) {
 			return;
 		}
+		var saveEvent = new FileSaveEvent();
+		saveEvent.begin();
 		try (var pw = new PrintWriter(Files.newBufferedWriter(commentsPath), true)) {
 			lines.stream().forEach(pw::println);
+			commitSaveEvent(saveEvent, commentsPath, lines.size());
 		} catch (IOException e) {
 			var message = String.format("Error writing Voyager comments file:\n %s",
 					commentsPath.toAbsolutePath().toString());
@@ -130,13 +349,16 @@ public class VoyagerFileReadWriter {
 	 * Class method writes comma-delimited metrics data to Voyagers.metrics.csv file
 	 * 
 	 * @param lines comma-delimited text list of session metrics data 
-	 * @param filePaths encapsulates path to Voyager files
+	 * @param session encapsulates path to Voyager files
 	 */
-	public static void writeSelectedMetricsFile(List<String> lines, VoyagerPaths filePaths) {
-		var metricsPath = filePaths.getMetricsFileAttr().getPath();
+	public static void writeSelectedMetricsFile(List<String> lines, Session session) {
+		var metricsPath = session.getMetricsPath();
 		
+		var saveEvent = new FileSaveEvent();
+		saveEvent.begin();
 		try (var pw = new PrintWriter(Files.newBufferedWriter(metricsPath), true)) {
 			lines.stream().forEach(pw::println);
+			commitSaveEvent(saveEvent, metricsPath, lines.size());
 		} catch (IOException e) {
 			var message = String.format("Error writing Voyager metrics file:\n %s",
 					metricsPath.toAbsolutePath().toString());
@@ -153,12 +375,15 @@ public class VoyagerFileReadWriter {
 	 * Class method writes a list of Voyager log lines to Voyagers.extracts.log file
 	 * 
 	 * @param lines text list extracted from Voyager.log file
-	 * @param filePaths encapsulates path to Voyager files
+	 * @param session encapsulates path to Voyager files
 	 */
-	public static void writeLogExtractsFile(List<String> lines, VoyagerPaths filePaths) {
-		var extractsPath = filePaths.getExtractsFileAttr().getPath();
+	public static void writeLogExtractsFile(List<String> lines, Session session) {
+		var extractsPath = session.getExtractsPath();
+		var saveEvent = new FileSaveEvent();
+		saveEvent.begin();
 		try (var pw = new PrintWriter(Files.newBufferedWriter(extractsPath), true)) {
 			lines.stream().forEach(pw::println);
+			commitSaveEvent(saveEvent, extractsPath, lines.size());
 		} catch (IOException e) {
 			var message = String.format("Error writing Voyager extracts file:\n %s",
 					extractsPath.toAbsolutePath().toString());
@@ -168,6 +393,35 @@ public class VoyagerFileReadWriter {
 	}
 
 
+	/*
+	 * Completes JFR file read event with file size and line count
+	 */
+	private static void commitReadEvent(FileReadEvent event, Path path, int lineCount) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.path = path.toString();
+			event.lines = lineCount;
+			try {
+				event.bytes = Files.size(path);
+			} catch (IOException e) {
+				event.bytes = -1;
+			}
+			event.commit();
+		}
+	}
+
+	/*
+	 * Completes JFR file save event with line count
+	 */
+	private static void commitSaveEvent(FileSaveEvent event, Path path, int lineCount) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.path = path.toString();
+			event.lines = lineCount;
+			event.commit();
+		}
+	}
+
 	/*
 	 * Computes date time from Voyager log line. Throws DateTimeException exception
 	 * if time stamp not found
@@ -199,6 +453,63 @@ public class VoyagerFileReadWriter {
 		return ldt.plusNanos((long) nano);
 	}
 
+	/*
+	 * Tests line bytes start to end for a time stamp between noon on start date and next day noon. Time stamps 
+	 * in standard layout 'yyyy/MM/dd HH:mm:ss SSS' are compared in place; other lines are decoded and tested 
+	 * by isValidTimeStamp(String, LocalDateTime).
+	 */
+	private static boolean isValidTimeStamp(byte[] bytes, int start, int end, long startKey, long endKey,
+			LocalDateTime startDateTime, Charset charset) {
+		int i = start;
+		while (i < end && (bytes[i] & 0xFF) <= ' ') {
+			i++;
+		}
+		if (end - i > 20 && bytes[i + 4] == '/' && bytes[i + 7] == '/' && bytes[i + 10] == ' '
+				&& bytes[i + 13] == ':' && bytes[i + 16] == ':' && bytes[i + 19] == ' ') {
+			int year = digits(bytes, i, 4);
+			int month = digits(bytes, i + 5, 2);
+			int day = digits(bytes, i + 8, 2);
+			int hour = digits(bytes, i + 11, 2);
+			int minute = digits(bytes, i + 14, 2);
+			int second = digits(bytes, i + 17, 2);
+
+			// milli-secs token
+			int j = i + 20;
+			boolean isMillis = false;
+			while (j < end && bytes[j] >= '0' && bytes[j] <= '9') {
+				isMillis = isMillis || bytes[j] != '0';
+				j++;
+			}
+			boolean isLayout = j > i + 20 && (j == end || bytes[j] == ' ');
+			if (isLayout && year >= 0 && month >= 1 && month <= 12 && day >= 1
+					&& day <= Month.of(month).length(Year.isLeap(year)) && hour >= 0 && hour <= 23 && minute >= 0
+					&& minute <= 59 && second >= 0 && second <= 59) {
+				long key = ((((year * 100L + month) * 100 + day) * 100 + hour) * 100 + minute) * 100 + second;
+				return (key > startKey || (key == startKey && isMillis)) && key < endKey;
+			}
+		}
+		return isValidTimeStamp(new String(bytes, start, end - start, charset), startDateTime);
+	}
+
+	// packs date time to yyyyMMddHHmmss decimal key
+	private static long timeStampKey(LocalDateTime ldt) {
+		return ((((ldt.getYear() * 100L + ldt.getMonthValue()) * 100 + ldt.getDayOfMonth()) * 100 + ldt.getHour())
+				* 100 + ldt.getMinute()) * 100 + ldt.getSecond();
+	}
+
+	// parses n decimal digits starting at idx, -1 if a byte is not a digit
+	private static int digits(byte[] bytes, int idx, int n) {
+		int value = 0;
+		for (int i = idx; i < idx + n; i++) {
+			int d = bytes[i] - '0';
+			if (d < 0 || d > 9) {
+				return -1;
+			}
+			value = value * 10 + d;
+		}
+		return value;
+	}
+
 	/*
 	 * Tests if current line is time stamped up to 1 day after start date noon
 	 * 
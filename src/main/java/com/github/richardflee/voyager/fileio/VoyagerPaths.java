@@ -1,14 +1,18 @@
 package com.github.richardflee.voyager.fileio;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.awt.GraphicsEnvironment;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
@@ -18,15 +22,28 @@ import com.github.richardflee.voyager.utils.VoyagerDateTimes;
 
 /**
  * This class manages os paths to Voyager data files.
+ * 
+ * <p>Session start date and file names are instance fields, so that several sessions can be processed 
+ * concurrently, each with its own VoyagerPaths object.</p>
  */
 public class VoyagerPaths {
 
 	// Voyager filename templates
 	private static final String MATCHERS_CSV_FILENAME = "VoyagerLogViewer.csv";
+	private static final String TRENDS_FILENAME = "VoyagerLogViewer.trends";
 	private static final String VOYAGER_FILE_STUB = "_Voyager.log";
 	private static final String EXTRACTS_FILE_STUB = "_Voyager.extracts.log";
 	private static final String COMMENTS_FILE_STUB = "_Voyager.comments.log";
 	private static final String METRICS_FILE_STUB = "_Voyager.metrics.csv";
+	private static final String SEASON_FILE_STUB = "_Voyager.season.csv";
+	
+	// log folders of other rigs, merged with selected Voyager log files; entries '[name=]folder' separated by
+	// File.pathSeparator, source name defaults to folder name
+	public static final String SOURCES_PROPERTY = "jlogviewer.log.sources";
+	
+	// folder with PHD2 guide logs PHD2_GuideLog_yyyy-MM-dd_HHmmss.txt, default user.dir\\log
+	public static final String GUIDE_LOGS_PROPERTY = "jlogviewer.phd2.folder";
+	private static final String GUIDE_LOG_PREFIX = "PHD2_GuideLog_";
 
 	public static final File LOGS_FOLDER = new File(System.getProperty("user.dir"), "log");
 	private static final File EXTRACTS_FOLDER = new File(LOGS_FOLDER.toString(), "extracts");
@@ -38,13 +55,11 @@ public class VoyagerPaths {
 	private VoyagerFileAttributes commentsFileAttr = null;
 	private VoyagerFileAttributes metricsFileAttr = null;
 	private List<Path> logPaths = null;
+	private List<String> logSources = null;
 
-	// class fields
-	private static String logFilesNames = "";
-	private static LocalDate startDate = LocalDate.now();
-
-	// file dialog filter settings
-	private static Map<String, String> map = null;
+	// session start date and imported file name(s)
+	private String logFilesNames = "";
+	private LocalDate startDate = LocalDate.now();
 
 	public VoyagerPaths() {
 		// sets initial field values
@@ -55,14 +70,10 @@ public class VoyagerPaths {
 		this.metricsFileAttr = new VoyagerFileAttributes(null);
 
 		this.logPaths = new ArrayList<>();
+		this.logSources = new ArrayList<>();
 
-		// sets dialog filter settings
-		map = new HashMap<>();
-		map.put("accept", "");
-		map.put("description", "");
-		
 		// if needed, creates new xtracts folder
-		if (EXTRACTS_FOLDER.mkdirs()) {
+		if (EXTRACTS_FOLDER.mkdirs() && !GraphicsEnvironment.isHeadless()) {
 			var message = String.format("Created log extracts folder:\n %s", EXTRACTS_FOLDER.toString());
 			JOptionPane.showMessageDialog(null, message, "Extracts Folder", JOptionPane.INFORMATION_MESSAGE);
 		}
@@ -101,7 +112,7 @@ public class VoyagerPaths {
 
 		// path to selected log file & sets session start date
 		this.startFileAttr.updatePath(dialogStartPath);
-		VoyagerPaths.startDate = getFileDate(dialogStartPath);
+		this.startDate = getFileDate(dialogStartPath);
 
 		// derived paths to next day and extracts log files, skips comments log file
 		this.endFileAttr.updatePath(derivedEndPath());
@@ -116,11 +127,53 @@ public class VoyagerPaths {
 			logPaths.add(endFileAttr.getPath());
 		}
 
-		// static class file name(s)
-		VoyagerPaths.logFilesNames = (endFileAttr.getFilename().length() == 0) ? startFileAttr.getFilename()
+		// imported file name(s)
+		this.logFilesNames = (endFileAttr.getFilename().length() == 0) ? startFileAttr.getFilename()
 				: startFileAttr.getFilename() + " + " + endFileAttr.getFilename();
+		
+		// session log files in other rig log folders, lines are tagged with source name if set
+		this.logSources.clear();
+		var otherSources = getOtherLogSources();
+		var primarySource = otherSources.isEmpty() ? "" : getSourceName(startFileAttr.getPath().getParent());
+		logPaths.stream().forEach(p -> logSources.add(primarySource));
+		for (var source : otherSources.entrySet()) {
+			var sourcePaths = List.of(source.getValue().resolve(startFileAttr.getPath().getFileName()),
+					source.getValue().resolve(endFileAttr.getPath().getFileName()));
+			var isAdded = false;
+			for (var path : sourcePaths) {
+				if (Files.isRegularFile(path)) {
+					logPaths.add(path);
+					logSources.add(source.getKey());
+					isAdded = true;
+				}
+			}
+			this.logFilesNames += isAdded ? " + " + source.getKey() : "";
+		}
 		return true;
 	}
+	
+	/*
+	 * Returns other rig log folders keyed on source name, set by jlogviewer.log.sources property
+	 */
+	private static Map<String, Path> getOtherLogSources() {
+		var sources = new LinkedHashMap<String, Path>();
+		var property = System.getProperty(SOURCES_PROPERTY, "");
+		for (var entry : property.split(File.pathSeparator)) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			int idx = entry.indexOf('=');
+			var folder = Paths.get(entry.substring(idx + 1).trim());
+			var name = (idx > 0) ? entry.substring(0, idx).trim() : getSourceName(folder);
+			sources.put(name, folder);
+		}
+		return sources;
+	}
+	
+	// source name for log folder, folder name
+	private static String getSourceName(Path folder) {
+		return (folder.getFileName() == null) ? folder.toString() : folder.getFileName().toString();
+	}
 
 	/**
 	 * Creates file path to user selected extracts file in extracts subfolder
@@ -137,7 +190,7 @@ public class VoyagerPaths {
 		// path to selected extracts file & sets session start date
 		var dialogPath = getDialogPath(dialogExtractsFile, EXTRACTS_FILE_STUB);
 		this.extractsFileAttr.updatePath(dialogPath);
-		VoyagerPaths.startDate = getFileDate(dialogPath);
+		this.startDate = getFileDate(dialogPath);
 		
 		dialogPath = getDialogPath(dialogExtractsFile, COMMENTS_FILE_STUB);
 		this.commentsFileAttr.updatePath(dialogPath);
@@ -151,9 +204,11 @@ public class VoyagerPaths {
 			logPaths.add(commentsFileAttr.getPath());
 		}
 		logPaths.add(extractsFileAttr.getPath());
+		this.logSources.clear();
+		logPaths.stream().forEach(p -> logSources.add(""));
 
-		// static class file name
-		VoyagerPaths.logFilesNames = extractsFileAttr.getFilename();
+		// imported file name
+		this.logFilesNames = extractsFileAttr.getFilename();
 		return true;
 	}
 
@@ -179,6 +234,66 @@ public class VoyagerPaths {
 		return Paths.get(System.getProperty("user.dir"), MATCHERS_CSV_FILENAME);
 	}
 
+	/**
+	 * Path to night-over-night metrics trend store; block index file has the same name with .idx suffix 
+	 * 
+	 * @return full path to VoyagerLogViewer.trends file
+	 */
+	public static Path getPathToTrendStoreFile() {
+		return Paths.get(System.getProperty("user.dir"), TRENDS_FILENAME);
+	}
+
+	/**
+	 * Path to combined metrics file compiled by batch import over a range of sessions
+	 * 
+	 * @param fromDate first session start date
+	 * @param toDate last session start date
+	 * @return full path to yyyy_mm_dd_yyyy_mm_dd_Voyager.season.csv file in extracts folder
+	 */
+	public static Path getPathToSeasonMetricsFile(LocalDate fromDate, LocalDate toDate) {
+		var filename = String.format("%s_%s%s", fromDate.format(VoyagerDateTimes.FILE_PREFIXDATE_FORMATTER),
+				toDate.format(VoyagerDateTimes.FILE_PREFIXDATE_FORMATTER), SEASON_FILE_STUB);
+		return EXTRACTS_FOLDER.toPath().resolve(filename);
+	}
+	
+	/**
+	 * Paths to PHD2 guide logs started on session start date or the next day, in the folder set by
+	 * jlogviewer.phd2.folder property
+	 * 
+	 * @param startDate session start date
+	 * @return guide log paths in time order, empty if none found
+	 */
+	public static List<Path> getGuideLogPaths(LocalDate startDate) {
+		var folder = Paths.get(System.getProperty(GUIDE_LOGS_PROPERTY, LOGS_FOLDER.toString()));
+		var prefixes = List.of(GUIDE_LOG_PREFIX + startDate, GUIDE_LOG_PREFIX + startDate.plusDays(1));
+		if (!Files.isDirectory(folder)) {
+			return List.of();
+		}
+		try (var files = Files.list(folder)) {
+			return files.filter(p -> prefixes.stream().anyMatch(q -> p.getFileName().toString().startsWith(q)))
+					.sorted().collect(Collectors.toList());
+		} catch (IOException e) {
+			return List.of();
+		}
+	}
+
+	/**
+	 * Returns true if filename has format yyyy_mm_dd_Voyager.log 
+	 */
+	public static boolean isVoyagerLogFile(Path path) {
+		var filename = path.getFileName().toString();
+		if (!filename.endsWith(VOYAGER_FILE_STUB) 
+				|| filename.length() != VoyagerDateTimes.FILE_PREFIXDATE_PATTERN.length() + VOYAGER_FILE_STUB.length()) {
+			return false;
+		}
+		try {
+			getFileDate(path);
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+		return true;
+	}
+
 	/**
 	 * Opens a java open file dialog, configured for *.log files in default folder
 	 * user.dir\\log
@@ -190,10 +305,7 @@ public class VoyagerPaths {
 		jfc.setDialogTitle("Select Voyager Log file");
 
 		// constrain dialog to display Voyager.log files
-		map.put("accept", "Voyager.log");
-		map.put("description", "Voyager.log files");
-
-		var dialogFile = runFileDialog(jfc);
+		var dialogFile = runFileDialog(jfc, "Voyager.log", "Voyager.log files");
 		return dialogFile;
 	}
 
@@ -210,27 +322,24 @@ public class VoyagerPaths {
 		jfc.setDialogTitle("Select Voyager Log Extracts file");
 		
 		// constrain dialog to display Voyager.extracts.log files
-		map.put("accept", "Voyager.extracts.log");
-		map.put("description", "Voyager.extracts.log files");
-
-		var dialogFile = runFileDialog(jfc);
+		var dialogFile = runFileDialog(jfc, "Voyager.extracts.log", "Voyager.extracts.log files");
 		return dialogFile;
 	}
 
 	/*
 	 * JFileChooser configuration common to log and extracts dialog
 	 */
-	private static String runFileDialog(JFileChooser jfc) {
+	private static String runFileDialog(JFileChooser jfc, String accept, String description) {
 		// configures file chooser to accept either Voyager.log or Voyager.extracts.log files
 		var logFileFilter = new FileFilter() {
 			@Override
 			public boolean accept(File file) {
-				return (file.getName().endsWith(map.get("accept")));
+				return (file.getName().endsWith(accept));
 			}
 
 			@Override
 			public String getDescription() {
-				return map.get("description");
+				return description;
 			}
 		};		
 		jfc.addChoosableFileFilter(logFileFilter);
@@ -308,8 +417,8 @@ public class VoyagerPaths {
 	/**
 	 * Returns session start date
 	 */
-	public static LocalDate getStartDate() {
-		return VoyagerPaths.startDate;
+	public LocalDate getStartDate() {
+		return startDate;
 	}
 
 	public VoyagerFileAttributes getStartFileAttr() {
@@ -332,7 +441,14 @@ public class VoyagerPaths {
 		return logPaths;
 	}
 
-	public static String getLogFilesNames() {
+	/**
+	 * Returns source name for each log path, blank unless other rig log folders are set
+	 */
+	public List<String> getLogSources() {
+		return logSources;
+	}
+
+	public String getLogFilesNames() {
 		return logFilesNames;
 	}
 
@@ -0,0 +1,28 @@
+package com.github.richardflee.voyager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording a single Voyager log, extracts or csv file read
+ */
+@Name("com.github.richardflee.voyager.FileRead")
+@Label("File Read")
+@Category({ "Voyager Log Viewer", "File IO" })
+@Description("Reads a Voyager file into a list of text lines")
+public class FileReadEvent extends Event {
+
+	@Label("Path")
+	public String path;
+
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+
+	@Label("Lines")
+	public long lines;
+}
@@ -0,0 +1,23 @@
+package com.github.richardflee.voyager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording a write to extracts, comments, metrics or matchers csv file
+ */
+@Name("com.github.richardflee.voyager.FileSave")
+@Label("File Save")
+@Category({ "Voyager Log Viewer", "File IO" })
+@Description("Writes a list of text lines to a Voyager file")
+public class FileSaveEvent extends Event {
+
+	@Label("Path")
+	public String path;
+
+	@Label("Lines")
+	public long lines;
+}
@@ -0,0 +1,26 @@
+package com.github.richardflee.voyager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording a single pass of log lines against the matchers list
+ */
+@Name("com.github.richardflee.voyager.Match")
+@Label("Match")
+@Category({ "Voyager Log Viewer", "Extraction" })
+@Description("Tests in-window log lines against VoyagerLogViewer.csv matchers")
+public class MatchEvent extends Event {
+
+	@Label("Lines Tested")
+	public long linesTested;
+
+	@Label("Matchers")
+	public int matchers;
+
+	@Label("Hits")
+	public long hits;
+}
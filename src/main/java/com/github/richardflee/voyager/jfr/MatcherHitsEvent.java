@@ -0,0 +1,34 @@
+package com.github.richardflee.voyager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR instant event recording hit count and match time for one matcher at the end of a match pass
+ */
+@Name("com.github.richardflee.voyager.MatcherHits")
+@Label("Matcher Hits")
+@Category({ "Voyager Log Viewer", "Extraction" })
+@Description("Number of log lines attributed to a single matcher")
+@StackTrace(false)
+public class MatcherHitsEvent extends Event {
+
+	@Label("Match Text")
+	public String matchText;
+
+	@Label("Message Type")
+	public String messageType;
+
+	@Label("Hits")
+	public long hits;
+
+	@Label("Match Time")
+	@Description("Estimated from sampled log lines")
+	@Timespan(Timespan.NANOSECONDS)
+	public long matchNanos;
+}
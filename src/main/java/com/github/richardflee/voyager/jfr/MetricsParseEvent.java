@@ -0,0 +1,20 @@
+package com.github.richardflee.voyager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording conversion of metric log extracts to LogMetric objects
+ */
+@Name("com.github.richardflee.voyager.MetricsParse")
+@Label("Metrics Parse")
+@Category({ "Voyager Log Viewer", "Metrics" })
+@Description("Parses focus, guiding and pointing fields from metric log extracts")
+public class MetricsParseEvent extends Event {
+
+	@Label("Extracts")
+	public long extracts;
+}
@@ -0,0 +1,23 @@
+package com.github.richardflee.voyager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording a Swing table model refresh
+ */
+@Name("com.github.richardflee.voyager.TableRefresh")
+@Label("Table Refresh")
+@Category({ "Voyager Log Viewer", "Swing" })
+@Description("Replaces table model rows and fires table change notifications")
+public class TableRefreshEvent extends Event {
+
+	@Label("Table Model")
+	public String model;
+
+	@Label("Rows")
+	public long rows;
+}
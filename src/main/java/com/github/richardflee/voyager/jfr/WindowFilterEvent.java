@@ -0,0 +1,26 @@
+package com.github.richardflee.voyager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording the noon-to-noon time stamp filter applied to a Voyager log file
+ */
+@Name("com.github.richardflee.voyager.WindowFilter")
+@Label("Window Filter")
+@Category({ "Voyager Log Viewer", "Extraction" })
+@Description("Filters log lines time stamped between noon on start date and next day noon")
+public class WindowFilterEvent extends Event {
+
+	@Label("Path")
+	public String path;
+
+	@Label("Lines In")
+	public long linesIn;
+
+	@Label("Lines In Window")
+	public long linesInWindow;
+}
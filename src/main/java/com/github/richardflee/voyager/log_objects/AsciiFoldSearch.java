@@ -0,0 +1,150 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ASCII case-insensitive sub string search over byte arrays, eight bytes at a time (SWAR).
+ *
+ * <p>Each 8-byte word of the line is case folded and compared against the first pattern byte in a few long
+ * operations; candidate positions are then confirmed byte by byte. Words with non-ASCII bytes, e.g. the degree
+ * sign in pointing messages, are searched byte by byte. Lines with characters which lower case to ASCII
+ * letters (U+0130, U+212A) and non-ASCII patterns fall back to String.toLowerCase().contains().</p>
+ */
+public class AsciiFoldSearch {
+
+	private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGHS = 0x8080808080808080L;
+	private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+	// per-byte addends setting high bit for bytes >= 'A' and bytes > 'Z'
+	private static final long GE_A = (0x80 - 'A') * ONES;
+	private static final long GT_Z = (0x80 - 'Z' - 1) * ONES;
+	// UTF-8 lead bytes of the only non-ASCII characters which lower case to ASCII letters, İ and Kelvin sign
+	private static final byte LEAD_U0130 = (byte) 0xC4;
+	private static final byte LEAD_U212A = (byte) 0xE2;
+
+	// lower case pattern, as text and ASCII bytes
+	private String foldedText = "";
+	private byte[] pattern = null;
+	private boolean asciiPattern = false;
+	private long firstByteWord = 0L;
+
+	public AsciiFoldSearch(String matchText) {
+		this.foldedText = matchText.toLowerCase();
+		this.pattern = foldedText.getBytes(StandardCharsets.UTF_8);
+		this.asciiPattern = pattern.length == foldedText.length();
+		this.firstByteWord = (pattern.length > 0) ? (pattern[0] & 0xFFL) * ONES : 0L;
+	}
+
+	/**
+	 * Returns true if line contains pattern, ignoring ASCII case
+	 */
+	public boolean contains(String line) {
+		if (!asciiPattern || pattern.length == 0) {
+			return line.toLowerCase().contains(foldedText);
+		}
+		// UTF-8 encoding of an ASCII line is a copy of the line bytes
+		var bytes = line.getBytes(StandardCharsets.UTF_8);
+		int idx = indexOf(bytes, 0, bytes.length);
+		return (idx == -2) ? line.toLowerCase().contains(foldedText) : idx >= 0;
+	}
+
+	/**
+	 * Returns true if UTF-8 or ASCII encoded line bytes from start to end contain pattern, ignoring ASCII case
+	 */
+	public boolean contains(byte[] line, int start, int end) {
+		if (!asciiPattern || pattern.length == 0) {
+			return new String(line, start, end - start, StandardCharsets.UTF_8).toLowerCase().contains(foldedText);
+		}
+		int idx = indexOf(line, start, end);
+		if (idx == -2) {
+			return new String(line, start, end - start, StandardCharsets.UTF_8).toLowerCase().contains(foldedText);
+		}
+		return idx >= 0;
+	}
+
+	/*
+	 * Returns index of first match of ASCII pattern in line bytes start to end, -1 if not found, or -2 if the
+	 * line contains a character which lower cases to an ASCII letter
+	 */
+	private int indexOf(byte[] line, int start, int end) {
+		int last = end - pattern.length;
+		int i = start;
+		// whole words containing candidate first bytes
+		for (; i + Long.BYTES <= end && i <= last; i += Long.BYTES) {
+			long word = (long) LONGS.get(line, i);
+			if ((word & HIGHS) != 0) {
+				// non-ASCII bytes, test word byte by byte
+				int idx = indexOf(line, i, i + Long.BYTES, last);
+				if (idx != -1) {
+					return idx;
+				}
+				continue;
+			}
+			long candidates = zeroBytes(fold(word) ^ firstByteWord);
+			while (candidates != 0) {
+				int pos = i + (Long.numberOfTrailingZeros(candidates) >>> 3);
+				if (pos > last) {
+					break;
+				}
+				if (matchesAt(line, pos)) {
+					return pos;
+				}
+				candidates &= candidates - 1;
+			}
+		}
+		// tail bytes, including bytes after last candidate position
+		return indexOf(line, i, end, last);
+	}
+
+	/*
+	 * Byte by byte search from start to end for candidate positions up to last, returns -2 if a UTF-8 lead
+	 * byte of U+0130 or U+212A is found. All other non-ASCII characters lower case to non-ASCII characters,
+	 * so other non-ASCII bytes are compared as they are.
+	 */
+	private int indexOf(byte[] line, int start, int end, int last) {
+		for (int i = start; i < end; i++) {
+			byte b = line[i];
+			if (b == LEAD_U0130 || b == LEAD_U212A) {
+				return -2;
+			}
+			if (i <= last && foldByte(b) == pattern[0] && matchesAt(line, i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	// confirms pattern bytes 1..m at line position pos
+	private boolean matchesAt(byte[] line, int pos) {
+		for (int j = 1; j < pattern.length; j++) {
+			byte b = line[pos + j];
+			if (b < 0) {
+				return false;
+			}
+			if (foldByte(b) != pattern[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// lower cases ASCII letters in word of ASCII bytes
+	private static long fold(long word) {
+		long upper = ((word + GE_A) & ~(word + GT_Z)) & HIGHS;
+		return word | (upper >>> 2);
+	}
+
+	// sets high bit of each zero byte in word of ASCII bytes
+	private static long zeroBytes(long word) {
+		return ~(((word & LOWS) + LOWS) | word | LOWS);
+	}
+
+	private static byte foldByte(byte b) {
+		return (b >= 'A' && b <= 'Z') ? (byte) (b | 0x20) : b;
+	}
+}
@@ -0,0 +1,53 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.List;
+
+/**
+ * Run index over log extracts, groups consecutive extracts attributed to the same matcher.
+ *
+ * <p>Voyager repeats some messages many times in succession, e.g. guiding stats or camera cooler status. Each
+ * extract list position maps to the start position of its run, so that the log table can list a run as a single
+ * row. Comments are never grouped.</p>
+ */
+public class ExtractsRunIndex {
+
+	// list position of first extract in run, for each extract list position
+	private int[] runStarts = null;
+	private int nRuns = 0;
+
+	public ExtractsRunIndex(List<LogExtract> extracts) {
+		int n = extracts.size();
+		this.runStarts = new int[n];
+		for (int pos = 0; pos < n; pos++) {
+			var extract = extracts.get(pos);
+			if (pos > 0 && extract.isExtractType() && extracts.get(pos - 1).isExtractType()
+					&& extract.getMatcher() == extracts.get(pos - 1).getMatcher()) {
+				runStarts[pos] = runStarts[pos - 1];
+			} else {
+				runStarts[pos] = pos;
+				nRuns++;
+			}
+		}
+	}
+
+	/**
+	 * Returns list position of first extract in run containing extract at pos
+	 */
+	public int runStart(int pos) {
+		return runStarts[pos];
+	}
+
+	/**
+	 * Returns true if extracts at list positions pos1 and pos2 belong to the same run
+	 */
+	public boolean isSameRun(int pos1, int pos2) {
+		return runStarts[pos1] == runStarts[pos2];
+	}
+
+	/**
+	 * Returns number of runs, i.e. log table rows with all extracts collapsed
+	 */
+	public int getRunCount() {
+		return nRuns;
+	}
+}
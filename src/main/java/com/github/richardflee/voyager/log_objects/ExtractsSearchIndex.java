@@ -0,0 +1,141 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory trigram index over log extract message lines, supports case-insensitive substring search.
+ *
+ * <p>Each extract is assigned a document id in the order it is added to the index. Each lower case
+ * three character sequence in a message line maps to a sorted list of document ids. A query is answered by
+ * intersecting the lists for the query trigrams, then confirming candidate message lines contain the
+ * query text.</p>
+ */
+public class ExtractsSearchIndex {
+
+	private static final int GRAM_LENGTH = 3;
+
+	// indexed extracts, list index is document id
+	private List<LogExtract> docs = null;
+
+	// trigram key => ascending document ids
+	private Map<Long, Postings> index = null;
+
+	public ExtractsSearchIndex() {
+		this.docs = new ArrayList<>();
+		this.index = new HashMap<>();
+	}
+
+	public ExtractsSearchIndex(List<LogExtract> extracts) {
+		this();
+		extracts.stream().forEach(p -> add(p));
+	}
+
+	/**
+	 * Adds extract message line to index
+	 */
+	public void add(LogExtract extract) {
+		int docId = docs.size();
+		docs.add(extract);
+		var text = extract.getMessageLine().toLowerCase();
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			index.computeIfAbsent(gramKey(text, i), k -> new Postings()).add(docId);
+		}
+	}
+
+	/**
+	 * Returns indexed extracts with message lines containing query text, case-insensitive
+	 *
+	 * @param query search text
+	 * @return set of matching extracts, empty if query is blank
+	 */
+	public Set<LogExtract> search(String query) {
+		Set<LogExtract> hits = Collections.newSetFromMap(new IdentityHashMap<>());
+		var text = query.trim().toLowerCase();
+		if (text.length() == 0) {
+			return hits;
+		}
+
+		// short query, no trigrams => linear scan
+		if (text.length() < GRAM_LENGTH) {
+			docs.stream().filter(p -> p.getMessageLine().toLowerCase().contains(text)).forEach(p -> hits.add(p));
+			return hits;
+		}
+
+		// intersect postings, starting with shortest list
+		var postings = new ArrayList<Postings>();
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			var p = index.get(gramKey(text, i));
+			if (p == null) {
+				return hits;
+			}
+			postings.add(p);
+		}
+		postings.sort((p1, p2) -> Integer.compare(p1.size, p2.size));
+		var candidates = Arrays.copyOf(postings.get(0).ids, postings.get(0).size);
+		int nCandidates = candidates.length;
+		for (int i = 1; i < postings.size() && nCandidates > 0; i++) {
+			nCandidates = intersect(candidates, nCandidates, postings.get(i));
+		}
+
+		// trigrams may occur in a different order or position, confirm substring match
+		for (int i = 0; i < nCandidates; i++) {
+			var extract = docs.get(candidates[i]);
+			if (extract.getMessageLine().toLowerCase().contains(text)) {
+				hits.add(extract);
+			}
+		}
+		return hits;
+	}
+
+	public int size() {
+		return docs.size();
+	}
+
+	/*
+	 * Retains candidates also found in postings list, returns number of retained candidates
+	 */
+	private int intersect(int[] candidates, int nCandidates, Postings postings) {
+		int n = 0;
+		int j = 0;
+		for (int i = 0; i < nCandidates; i++) {
+			var id = candidates[i];
+			while (j < postings.size && postings.ids[j] < id) {
+				j++;
+			}
+			if (j < postings.size && postings.ids[j] == id) {
+				candidates[n++] = id;
+			}
+		}
+		return n;
+	}
+
+	// packs three 16-bit chars into a long key
+	private static long gramKey(String text, int idx) {
+		return ((long) text.charAt(idx) << 32) | ((long) text.charAt(idx + 1) << 16) | text.charAt(idx + 2);
+	}
+
+	/*
+	 * Growable ascending list of document ids, each id added once
+	 */
+	private static class Postings {
+		private int[] ids = new int[4];
+		private int size = 0;
+
+		private void add(int docId) {
+			if (size > 0 && ids[size - 1] == docId) {
+				return;
+			}
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = docId;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Log table rows as extract list positions, rows are materialised on demand.
+ *
+ * <p>Each row spans one or more ascending positions into the extracts list. A single position row is the extract
+ * itself; a longer span is a collapsed run, compiled into a run row when the row is read. So a table refresh
+ * builds two int arrays, and only rows read by the table model, i.e. visible rows, create run row objects.</p>
+ */
+public class ExtractsTableRows extends AbstractList<LogExtract> implements RandomAccess {
+
+	private final List<LogExtract> extracts;
+
+	// ascending extract list positions of all table rows
+	private final int[] positions;
+
+	// row r spans positions rowOffsets[r] to rowOffsets[r + 1] exclusive
+	private final int[] rowOffsets;
+	private final int nRows;
+
+	// run start list position of each multi-extract row
+	private final ExtractsRunIndex runIndex;
+
+	ExtractsTableRows(List<LogExtract> extracts, int[] positions, int[] rowOffsets, int nRows,
+			ExtractsRunIndex runIndex) {
+		this.extracts = extracts;
+		this.positions = positions;
+		this.rowOffsets = rowOffsets;
+		this.nRows = nRows;
+		this.runIndex = runIndex;
+	}
+
+	@Override
+	public LogExtract get(int row) {
+		if (row < 0 || row >= nRows) {
+			throw new IndexOutOfBoundsException(String.format("Row %d, table rows %d", row, nRows));
+		}
+		int from = rowOffsets[row];
+		int to = rowOffsets[row + 1];
+		if (to - from == 1) {
+			return extracts.get(positions[from]);
+		}
+		var runExtracts = new ArrayList<LogExtract>(to - from);
+		for (int k = from; k < to; k++) {
+			runExtracts.add(extracts.get(positions[k]));
+		}
+		return new LogExtract(runExtracts, runIndex.runStart(positions[from]));
+	}
+
+	@Override
+	public int size() {
+		return nRows;
+	}
+}
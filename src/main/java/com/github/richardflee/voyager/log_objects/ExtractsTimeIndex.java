@@ -0,0 +1,82 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+/**
+ * Sorted time stamp index over log extracts, supports time range queries by binary search.
+ *
+ * <p>Keys are milli-secs elapsed since session start at noon, so that a noon-to-noon session sorts in time
+ * order across midnight. Each key is packed with the extract list position in a single long, so the index is
+ * built and sorted without boxing.</p>
+ */
+public class ExtractsTimeIndex {
+
+	// session milli-secs, ascending
+	private long[] keys = null;
+
+	// extract list position for each key
+	private int[] positions = null;
+
+	public ExtractsTimeIndex(List<LogExtract> extracts) {
+		int n = extracts.size();
+		var packed = new long[n];
+		for (int i = 0; i < n; i++) {
+			var key = VoyagerDateTimes.extractsTimeStampToSessionMillis(extracts.get(i).getTimeStamp());
+			packed[i] = (key << 32) | i;
+		}
+		// log files are written in time order, sort only if required
+		var sorted = true;
+		for (int i = 1; i < n && sorted; i++) {
+			sorted = packed[i - 1] <= packed[i];
+		}
+		if (!sorted) {
+			Arrays.sort(packed);
+		}
+		this.keys = new long[n];
+		this.positions = new int[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = packed[i] >>> 32;
+			positions[i] = (int) packed[i];
+		}
+	}
+
+	/**
+	 * Returns list positions of extracts with time stamps between fromMillis and toMillis inclusive
+	 *
+	 * @param fromMillis range start, milli-secs since session start
+	 * @param toMillis range end, milli-secs since session start
+	 * @return ascending extract list positions, empty if no extracts in range
+	 */
+	public int[] positionsInRange(long fromMillis, long toMillis) {
+		int from = lowerBound(fromMillis);
+		int to = lowerBound(toMillis + 1);
+		if (from >= to) {
+			return new int[0];
+		}
+		var inRange = Arrays.copyOfRange(positions, from, to);
+		Arrays.sort(inRange);
+		return inRange;
+	}
+
+	public int size() {
+		return keys.length;
+	}
+
+	// index of first key >= key, or keys.length
+	private int lowerBound(long key) {
+		int lo = 0;
+		int hi = keys.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (keys[mid] < key) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+}
@@ -0,0 +1,119 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.regex.Pattern;
+
+/**
+ * Numeric predicate scanner over a LogMetric focus or guiding field, e.g. 'HFD &gt; 8' or 'RA &gt;= 1.0'.
+ *
+ * <p>Expression is parsed once when the matcher is created. Each log line is scanned for a 'key=value'
+ * term, as decoded by LogMetric, and the value compared against the threshold. Lines without the key or
+ * with a non-numeric value do not match.</p>
+ */
+public class FieldPredicateScanner implements LineScanner {
+
+	private static final Pattern EXPRESSION = Pattern.compile("\\s*([A-Za-z]+)\\s*(>=|<=|!=|>|<|=)\\s*([-+]?[0-9]*\\.?[0-9]+)\\s*");
+
+	private String key = "";
+	private String operator = "";
+	private double threshold = 0.0;
+
+	/**
+	 * @param expression field, operator and number, operators &gt; &gt;= &lt; &lt;= = !=
+	 * @throws IllegalArgumentException if expression or field name is invalid
+	 */
+	public FieldPredicateScanner(String expression) {
+		var m = EXPRESSION.matcher(expression);
+		if (!m.matches()) {
+			throw new IllegalArgumentException(String.format("Invalid field expression: %s", expression));
+		}
+		this.key = m.group(1).toUpperCase();
+		if (!LogMetric.NUMERIC_FIELDS.contains(key)) {
+			throw new IllegalArgumentException(String.format("Unknown field %s, expected one of %s", key,
+					LogMetric.NUMERIC_FIELDS.toString()));
+		}
+		this.operator = m.group(2);
+		this.threshold = Double.parseDouble(m.group(3));
+	}
+
+	/**
+	 * Returns true if no log line can match both predicates. Each line is compared on the first key term only,
+	 * so predicates on the same key with non-intersecting value ranges are disjoint. Predicates on different
+	 * keys may both match, e.g. a focus line with HFD and TEMPERATURE terms.
+	 *
+	 * @param other field predicate to test
+	 * @return true if predicates are on the same key with non-intersecting value ranges
+	 */
+	boolean isDisjoint(FieldPredicateScanner other) {
+		if (!key.equals(other.key)) {
+			return false;
+		}
+		if (operator.equals("!=") || other.operator.equals("!=")) {
+			// complement of a single value intersects every range except that single value
+			var equals = operator.equals("!=") ? other : this;
+			var notEquals = operator.equals("!=") ? this : other;
+			return equals.operator.equals("=") && equals.threshold == notEquals.threshold;
+		}
+		double lo = Math.max(lowerBound(), other.lowerBound());
+		double hi = Math.min(upperBound(), other.upperBound());
+		if (lo < hi) {
+			return false;
+		}
+		// single common value lo == hi is excluded by any open bound at that value
+		return lo > hi || isOpenAt(lo) || other.isOpenAt(lo);
+	}
+
+	private double lowerBound() {
+		return (operator.startsWith(">") || operator.equals("=")) ? threshold : Double.NEGATIVE_INFINITY;
+	}
+
+	private double upperBound() {
+		return (operator.startsWith("<") || operator.equals("=")) ? threshold : Double.POSITIVE_INFINITY;
+	}
+
+	// true if range excludes bound value x, i.e. strict comparison at threshold x
+	private boolean isOpenAt(double x) {
+		return (operator.equals(">") || operator.equals("<")) && threshold == x;
+	}
+
+	@Override
+	public boolean matches(String logLine) {
+		int n = logLine.length();
+		int klen = key.length();
+		for (int i = 0; i + klen < n; i++) {
+			// key term starts line or follows space or open bracket, and is followed by '='
+			var isStart = (i == 0) || logLine.charAt(i - 1) == ' ' || logLine.charAt(i - 1) == '(';
+			if (isStart && logLine.charAt(i + klen) == '=' && logLine.regionMatches(true, i, key, 0, klen)) {
+				return compare(logLine, i + klen + 1);
+			}
+		}
+		return false;
+	}
+
+	// parses value following '=' up to next space or close bracket
+	private boolean compare(String logLine, int startIdx) {
+		int endIdx = startIdx;
+		while (endIdx < logLine.length() && logLine.charAt(endIdx) != ' ' && logLine.charAt(endIdx) != ')') {
+			endIdx++;
+		}
+		double value = 0.0;
+		try {
+			value = Double.parseDouble(logLine.substring(startIdx, endIdx));
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		switch (operator) {
+		case ">":
+			return value > threshold;
+		case ">=":
+			return value >= threshold;
+		case "<":
+			return value < threshold;
+		case "<=":
+			return value <= threshold;
+		case "=":
+			return value == threshold;
+		default:
+			return value != threshold;
+		}
+	}
+}
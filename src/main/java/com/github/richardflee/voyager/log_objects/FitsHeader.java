@@ -0,0 +1,71 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.Map;
+
+/**
+ * Selected FITS header key values of a saved frame, e.g. FILTER, EXPTIME and CCD-TEMP.
+ *
+ * <p>String values are unquoted and trimmed, other values are as written in the header card.</p>
+ */
+public class FitsHeader {
+
+	public static final String FILTER = "FILTER";
+	public static final String EXPTIME = "EXPTIME";
+	public static final String CCD_TEMP = "CCD-TEMP";
+
+	private final Map<String, String> values;
+
+	public FitsHeader(Map<String, String> values) {
+		this.values = Map.copyOf(values);
+	}
+
+	/**
+	 * Returns header value for key, blank if key is not in header
+	 */
+	public String get(String key) {
+		return values.getOrDefault(key, "");
+	}
+
+	public String getFilter() {
+		return get(FILTER);
+	}
+
+	public String getExposure() {
+		return get(EXPTIME);
+	}
+
+	public String getCcdTemp() {
+		return get(CCD_TEMP);
+	}
+
+	public Map<String, String> getValues() {
+		return values;
+	}
+
+	/**
+	 * Returns compact filter, exposure and sensor temperature summary, e.g. 'R 300s -10.0C'
+	 */
+	public String getSummary() {
+		var sb = new StringBuilder(getFilter());
+		if (!getExposure().isEmpty()) {
+			sb.append(sb.length() > 0 ? " " : "").append(formatNumber(getExposure(), "%.0f")).append("s");
+		}
+		if (!getCcdTemp().isEmpty()) {
+			sb.append(sb.length() > 0 ? " " : "").append(formatNumber(getCcdTemp(), "%.1f")).append("C");
+		}
+		return sb.toString();
+	}
+
+	private static String formatNumber(String value, String format) {
+		try {
+			return String.format(format, Double.valueOf(value));
+		} catch (NumberFormatException e) {
+			return value;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "FitsHeader " + values;
+	}
+}
@@ -0,0 +1,193 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import com.github.richardflee.voyager.fileio.FitsHeaderReader;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+/**
+ * Enriches 'File FIT Saved' extracts with FITS header values of the saved frames, and joins frame headers to
+ * guiding metrics.
+ *
+ * <p>Frame headers are read concurrently on a bounded pool of daemon threads, set by jlogviewer.fits.threads,
+ * default up to 8 threads. Headers are cached per file and re-read only if file size or modified time changes.
+ * Frames moved since the log was written are looked up by file name in the folder set by
+ * jlogviewer.fits.folder.</p>
+ */
+public class FitsHeaderScanner {
+
+	public static final String THREADS_PROPERTY = "jlogviewer.fits.threads";
+	public static final String FOLDER_PROPERTY = "jlogviewer.fits.folder";
+	public static final String FIT_SAVED_TEXT = "File FIT Saved";
+
+	// guiding metric joined to nearest frame saved within this time
+	static final long JOIN_WINDOW_MILLIS = 120_000L;
+
+	// Windows, UNC or Unix path ending with FITS file extension
+	private static final Pattern FITS_PATH = Pattern
+			.compile("(?i)((?:[a-z]:[\\\\/]|\\\\\\\\|/)[^\"<>|\\r\\n]*?\\.(?:fits|fit|fts))(?![a-z0-9])");
+
+	private ExecutorService executor = null;
+	private Map<Path, CachedHeader> cache = null;
+
+	public FitsHeaderScanner() {
+		int nThreads = Integer.getInteger(THREADS_PROPERTY,
+				Math.min(8, Runtime.getRuntime().availableProcessors()));
+		this.executor = Executors.newFixedThreadPool(Math.max(1, nThreads), r -> {
+			var thread = new Thread(r, "fits-header-scanner");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.cache = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Reads headers of frames named in 'File FIT Saved' extracts, sets extract headers and joins headers to
+	 * guiding metrics. Frames which cannot be read are skipped.
+	 *
+	 * @param extracts session extracts in time order
+	 * @return number of extracts with a frame header
+	 * @throws InterruptedException if interrupted while waiting for header reads
+	 */
+	public int scan(List<LogExtract> extracts) throws InterruptedException {
+		var tasks = new ArrayList<Callable<Boolean>>();
+		for (var extract : extracts) {
+			if (extract.isExtractType() && extract.getLogLine().contains(FIT_SAVED_TEXT)) {
+				getFitsPath(extract.getLogLine()).ifPresent(p -> tasks.add(() -> {
+					var header = getHeader(p);
+					header.ifPresent(q -> extract.setFitsHeader(q));
+					return header.isPresent();
+				}));
+			}
+		}
+		int nHeaders = 0;
+		for (var future : executor.invokeAll(tasks)) {
+			try {
+				nHeaders += future.get() ? 1 : 0;
+			} catch (ExecutionException e) {
+				// unreadable frame, extract is not enriched
+			}
+		}
+		joinMetrics(extracts);
+		return nHeaders;
+	}
+
+	/**
+	 * Returns frame path named in log line after 'File FIT Saved', if present
+	 */
+	public static Optional<Path> getFitsPath(String logLine) {
+		int idx = logLine.indexOf(FIT_SAVED_TEXT);
+		var matcher = FITS_PATH.matcher(logLine);
+		if (idx < 0 || !matcher.find(idx + FIT_SAVED_TEXT.length())) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(Paths.get(matcher.group(1).trim()));
+		} catch (RuntimeException e) {
+			// invalid path on this platform
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Sets each guiding metric frame header to the header of the nearest saved frame within JOIN_WINDOW_MILLIS.
+	 * Metrics and frames are merged in a single pass over extracts in time order.
+	 *
+	 * @param extracts session extracts in time order
+	 */
+	public static void joinMetrics(List<LogExtract> extracts) {
+		var frames = new ArrayList<LogExtract>();
+		var frameTimes = new ArrayList<Long>();
+		for (var extract : extracts) {
+			if (extract.isExtractType() && extract.getFitsHeader() != null) {
+				frames.add(extract);
+				frameTimes.add(VoyagerDateTimes.extractsTimeStampToSessionMillis(extract.getTimeStamp()));
+			}
+		}
+		int next = 0;
+		for (var extract : extracts) {
+			if (!extract.isGuidingMetric() || extract.getMetric() == null) {
+				continue;
+			}
+			long time = VoyagerDateTimes.extractsTimeStampToSessionMillis(extract.getTimeStamp());
+			while (next < frames.size() && frameTimes.get(next) < time) {
+				next++;
+			}
+			// nearest of previous and next frame
+			LogExtract nearest = null;
+			long nearestGap = JOIN_WINDOW_MILLIS + 1;
+			for (int idx = next - 1; idx <= next; idx++) {
+				if (idx >= 0 && idx < frames.size() && Math.abs(frameTimes.get(idx) - time) < nearestGap) {
+					nearest = frames.get(idx);
+					nearestGap = Math.abs(frameTimes.get(idx) - time);
+				}
+			}
+			extract.getMetric().setFrameHeader((nearest == null) ? null : nearest.getFitsHeader());
+		}
+	}
+
+	/*
+	 * Returns cached header if frame file is unchanged, otherwise reads header
+	 */
+	private Optional<FitsHeader> getHeader(Path logPath) throws IOException {
+		var path = resolve(logPath);
+		if (path == null) {
+			return Optional.empty();
+		}
+		long size = Files.size(path);
+		var modified = Files.getLastModifiedTime(path);
+		var cached = cache.get(path);
+		if (cached != null && cached.size == size && cached.modified.equals(modified)) {
+			return Optional.of(cached.header);
+		}
+		var header = FitsHeaderReader.readHeader(path);
+		cache.put(path, new CachedHeader(size, modified, header));
+		return Optional.of(header);
+	}
+
+	// frame path as logged, or same file name in jlogviewer.fits.folder, null if not found
+	private static Path resolve(Path logPath) {
+		if (Files.isRegularFile(logPath)) {
+			return logPath;
+		}
+		var folder = System.getProperty(FOLDER_PROPERTY);
+		if (folder == null) {
+			return null;
+		}
+		// logged path may use either separator, e.g. a Windows path read on another platform
+		var s = logPath.toString();
+		var filename = s.substring(Math.max(s.lastIndexOf('/'), s.lastIndexOf('\\')) + 1);
+		var path = Paths.get(folder).resolve(filename);
+		return Files.isRegularFile(path) ? path : null;
+	}
+
+	public int getCacheSize() {
+		return cache.size();
+	}
+
+	private static class CachedHeader {
+		private final long size;
+		private final FileTime modified;
+		private final FitsHeader header;
+
+		private CachedHeader(long size, FileTime modified, FitsHeader header) {
+			this.size = size;
+			this.modified = modified;
+			this.header = header;
+		}
+	}
+}
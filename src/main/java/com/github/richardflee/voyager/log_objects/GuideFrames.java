@@ -0,0 +1,132 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.Arrays;
+
+/**
+ * Per-frame guiding errors from PHD2 guide logs, held in primitive column arrays.
+ *
+ * <p>Each frame records session time, in milli-secs since session start at noon, and RA and DEC raw guide
+ * distances in arc-secs. A night of frames is a few hundred KB; plots use a downsampled copy with one RMS
+ * point per time bucket.</p>
+ */
+public class GuideFrames {
+
+	private long[] times = null;
+	private float[] ra = null;
+	private float[] dec = null;
+	private int size = 0;
+
+	// frames with no guide star, e.g. star lost
+	private int dropped = 0;
+
+	public GuideFrames() {
+		this(1024);
+	}
+
+	private GuideFrames(int capacity) {
+		this.times = new long[capacity];
+		this.ra = new float[capacity];
+		this.dec = new float[capacity];
+	}
+
+	/**
+	 * Appends frame, frames are expected in time order
+	 *
+	 * @param time session milli-secs
+	 * @param raError RA guide error, arc-secs
+	 * @param decError DEC guide error, arc-secs
+	 */
+	public void add(long time, float raError, float decError) {
+		if (size == times.length) {
+			int capacity = size * 2;
+			times = Arrays.copyOf(times, capacity);
+			ra = Arrays.copyOf(ra, capacity);
+			dec = Arrays.copyOf(dec, capacity);
+		}
+		times[size] = time;
+		ra[size] = raError;
+		dec[size] = decError;
+		size++;
+	}
+
+	public void addDropped() {
+		dropped++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getDroppedCount() {
+		return dropped;
+	}
+
+	public long getTime(int idx) {
+		return times[idx];
+	}
+
+	public float getRa(int idx) {
+		return ra[idx];
+	}
+
+	public float getDec(int idx) {
+		return dec[idx];
+	}
+
+	public double getRmsRa() {
+		return rms(ra, 0, size);
+	}
+
+	public double getRmsDec() {
+		return rms(dec, 0, size);
+	}
+
+	/**
+	 * Returns total guide error RMS, sqrt(RA rms^2 + DEC rms^2)
+	 */
+	public double getRmsTotal() {
+		return Math.hypot(getRmsRa(), getRmsDec());
+	}
+
+	/**
+	 * Returns at most maxPoints frames, each the RA and DEC RMS error over a time bucket of consecutive frames.
+	 * Frames are returned as they are if there are no more than maxPoints frames.
+	 *
+	 * @param maxPoints maximum number of frames returned
+	 * @return downsampled frames, time stamped at bucket mid time
+	 */
+	public GuideFrames downsample(int maxPoints) {
+		if (size <= maxPoints) {
+			return this;
+		}
+		var sampled = new GuideFrames(maxPoints);
+		sampled.dropped = dropped;
+		long from = times[0];
+		long span = times[size - 1] - from + 1;
+		int start = 0;
+		for (int bucket = 0; bucket < maxPoints && start < size; bucket++) {
+			long bucketEnd = from + span * (bucket + 1) / maxPoints;
+			int end = start;
+			while (end < size && times[end] < bucketEnd) {
+				end++;
+			}
+			if (end > start) {
+				long mid = (times[start] + times[end - 1]) / 2;
+				sampled.add(mid, (float) rms(ra, start, end), (float) rms(dec, start, end));
+			}
+			start = end;
+		}
+		return sampled;
+	}
+
+	private static double rms(float[] values, int from, int to) {
+		if (to <= from) {
+			return 0.0;
+		}
+		double sumSq = 0.0;
+		for (int i = from; i < to; i++) {
+			sumSq += (double) values[i] * values[i];
+		}
+		return Math.sqrt(sumSq / (to - from));
+	}
+}
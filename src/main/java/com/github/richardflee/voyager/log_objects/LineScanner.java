@@ -0,0 +1,18 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests a Voyager log line against a single compiled matcher
+ */
+@FunctionalInterface
+public interface LineScanner {
+	public boolean matches(String logLine);
+	
+	/**
+	 * Tests UTF-8 log line bytes start to end; default decodes line and tests String
+	 */
+	public default boolean matches(byte[] logLine, int start, int end) {
+		return matches(new String(logLine, start, end - start, StandardCharsets.UTF_8));
+	}
+}
@@ -1,10 +1,11 @@
 package com.github.richardflee.voyager.log_objects;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import com.github.richardflee.voyager.enums.MatchersTypeEnum;
-import com.github.richardflee.voyager.fileio.VoyagerPaths;
 import com.github.richardflee.voyager.utils.VoyagerDateTimes;
 
 public class LogExtract {
@@ -17,23 +18,90 @@ public class LogExtract {
 	private String messageType = "";
 	private String LogLine = "";
 	private LogMatcher matcher = null;
+	
+	// log source the line was read from, e.g. rig log folder, blank for a single source session
+	private String source = "";
+	
+	// metric fields parsed when extract is compiled, null if not a metric type or metric line is malformed
+	private LogMetric metric = null;
+	
+	// header of frame named in a 'File FIT Saved' extract, set by FitsHeaderScanner
+	private volatile FitsHeader fitsHeader = null;
+	
+	// collapsed run of extracts listed as a single log table row, null if not a run
+	private List<LogExtract> runExtracts = null;
+	private int runStart = -1;
 
 	public LogExtract(String line, LogMatcher matcher) {
+		this(line, matcher, "");
+	}
+
+	/**
+	 * @param line matched log line
+	 * @param matcher first matching matcher
+	 * @param source log source name, e.g. rig log folder
+	 */
+	public LogExtract(String line, LogMatcher matcher, String source) {
 		this.LogLine = line;
+		this.source = source;
 		this.matcher = matcher;
 		this.timeStamp = compileTimeStamp(getTimeStamp(line));
 		this.messageLine = matcher.getMessageLine(line);
 		this.messageType = matcher.getMessageType();
+		this.metric = parseMetric();
+	}
+
+	/**
+	 * Copies a matched extract without re-parsing the log line. Frame header is not copied, and metric is copied 
+	 * without frame header or anomaly, so that the copy shares no state set after extraction.
+	 * 
+	 * @param other matched extract to copy
+	 * @param matcher matcher with the same definition as the extract matcher
+	 */
+	LogExtract(LogExtract other, LogMatcher matcher) {
+		this.LogLine = other.LogLine;
+		this.source = other.source;
+		this.matcher = matcher;
+		this.timeStamp = other.timeStamp;
+		this.messageLine = other.messageLine;
+		this.messageType = other.messageType;
+		this.metric = (other.metric == null) ? null : new LogMetric(other.metric);
 	}
 
-	public LogExtract(String userComment) {
-		var ldt = LocalDateTime.of(VoyagerPaths.getStartDate(), VoyagerDateTimes.NOON.plusSeconds(1));
+	/**
+	 * @param userComment comment text
+	 * @param startDate session start date, comment is time stamped 1 sec after session start
+	 */
+	public LogExtract(String userComment, LocalDate startDate) {
+		var ldt = LocalDateTime.of(startDate, VoyagerDateTimes.NOON.plusSeconds(1));
 		this.timeStamp = compileTimeStamp(ldt);
 		this.messageLine = userComment;
 		this.messageType = MatchersTypeEnum.COMMENT.toString();
 		this.LogLine = compileCommentLogLine(userComment, ldt);
 	}
 
+	/**
+	 * Log table row for a run of consecutive extracts with the same matcher. Row is time stamped with the first
+	 * extract, and the message line is appended with run count and time span.
+	 * 
+	 * @param runExtracts two or more consecutive extracts attributed to the same matcher
+	 * @param runStart extract list position of first extract in run
+	 */
+	public LogExtract(List<LogExtract> runExtracts, int runStart) {
+		var first = runExtracts.get(0);
+		var last = runExtracts.get(runExtracts.size() - 1);
+		this.LogLine = first.LogLine;
+		this.matcher = first.matcher;
+		this.source = first.source;
+		this.timeStamp = first.timeStamp;
+		this.messageType = first.messageType;
+		this.messageLine = String.format("%s  [x%d, %s - %s]", first.messageLine, runExtracts.size(),
+				first.timeStamp.substring(0, 8), last.timeStamp.substring(0, 8));
+		this.fitsHeader = first.fitsHeader;
+		this.runExtracts = List.copyOf(runExtracts);
+		this.runStart = runStart;
+	}
+
 	public boolean isCommentType() {
 		return MatchersTypeEnum.getEnum(this.messageType) == MatchersTypeEnum.COMMENT;
 	}
@@ -57,6 +125,25 @@ public class LogExtract {
 	public boolean isMetricType() {
 		return isFocusMetric() || isGuidingMetric() || isPointingMetric();
 	}
+	
+	public boolean isRun() {
+		return runExtracts != null;
+	}
+
+	/*
+	 * Parses metric fields once, so that metrics tab switches and saves do not re-parse metric lines.
+	 * Malformed lines are left unparsed and re-parsed by LogMetric.getSelectedMetrics to report the error.
+	 */
+	private LogMetric parseMetric() {
+		if (!isMetricType()) {
+			return null;
+		}
+		try {
+			return new LogMetric(this);
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
 
 	private String compileTimeStamp(LocalDateTime ldt) {
 		return ldt.format(VoyagerDateTimes.EXTRACTS_TIMESTAMP_FORMATTER) + POINTER;
@@ -99,6 +186,45 @@ public class LogExtract {
 		return matcher;
 	}
 
+	/**
+	 * Returns log source name, e.g. rig log folder, blank for a single source session or user comment
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * Returns metric fields parsed when extract was compiled, or null if extract is not a metric type
+	 */
+	public LogMetric getMetric() {
+		return metric;
+	}
+
+	/**
+	 * Returns header of frame saved by this extract, or null if not a 'File FIT Saved' extract or not scanned
+	 */
+	public FitsHeader getFitsHeader() {
+		return fitsHeader;
+	}
+
+	public void setFitsHeader(FitsHeader fitsHeader) {
+		this.fitsHeader = fitsHeader;
+	}
+
+	/**
+	 * Returns extracts collapsed into this log table row, or a list of this extract if not a run
+	 */
+	public List<LogExtract> getRunExtracts() {
+		return isRun() ? runExtracts : List.of(this);
+	}
+
+	/**
+	 * Returns extract list position of first extract in run, -1 if not a run
+	 */
+	public int getRunStart() {
+		return runStart;
+	}
+
 //	@Override
 //	public String toString() {
 //		return "LogExtract [timeStamp=" + timeStamp + ", messageLine=" + messageLine + ", messageType=" + messageType
@@ -1,10 +1,11 @@
 package com.github.richardflee.voyager.log_objects;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import com.github.richardflee.voyager.enums.MatchModeEnum;
 import com.github.richardflee.voyager.enums.MatchersTypeEnum;
 
 /**
@@ -22,6 +23,17 @@ public class LogMatcher {
 	private String matchText = "";
 	private String presetText = "";
 	private String messageType = "";
+	private MatchModeEnum matchMode = MatchModeEnum.TEXT;
+	
+	// lower case match text compiled once for case-insensitive matching
+	private String foldedMatchText = "";
+	
+	// text, regex or field scanner compiled once from match text and mode
+	private LineScanner scanner = null;
+	
+	// match statistics compiled during log extraction
+	private long hitCount = 0;
+	private long matchNanos = 0;
 	
 	/**
 	 * @param selected flag indicating whether to test if Voyager log lines contain matchText string
@@ -30,21 +42,109 @@ public class LogMatcher {
 	 * @param messageType 'INFO', 'EMERGENCY' .., text listed in VoyagerLogViewer.csv file
 	 */
 	public LogMatcher(boolean selected, String matchText, String presetText, String messageType) {
+		this(selected, matchText, presetText, messageType, MatchModeEnum.TEXT);
+	}
+	
+	/**
+	 * @param selected flag indicating whether to test Voyager log lines against this matcher
+	 * @param matchText sub string, regular expression or field expression, depending on match mode
+	 * @param presetText option for user to specify extracted text
+	 * @param messageType 'INFO', 'EMERGENCY' .., text listed in VoyagerLogViewer.csv file
+	 * @param matchMode TEXT, REGEX or FIELD
+	 * @throws IllegalArgumentException if match text is not a valid regex or field expression
+	 */
+	public LogMatcher(boolean selected, String matchText, String presetText, String messageType,
+			MatchModeEnum matchMode) {
 		this.selected = selected;
 		this.matchText = matchText;
 		this.presetText = presetText;
-		this.messageType = messageType;		
+		this.messageType = messageType;
+		this.matchMode = matchMode;
+		this.foldedMatchText = this.matchText.toLowerCase();
+		this.scanner = compileScanner();
+	}
+	
+	/**
+	 * Copies matcher definition and select flag, match statistics are not copied. Used to give each concurrent
+	 * extraction its own matchers.
+	 * 
+	 * @param other matcher to copy
+	 */
+	public LogMatcher(LogMatcher other) {
+		this(other.selected, other.matchText, other.presetText, other.messageType, other.matchMode);
 	}
 	
 	/**
-	 * @param line comma delimited line encoding LogMatcher parameters
+	 * @param line comma delimited line encoding LogMatcher parameters, match mode column is optional. Match and
+	 * preset text fields containing commas or quotes are enclosed in double quotes, see toString
+	 * @throws IllegalArgumentException if match text is not a valid regex or field expression
 	 */
 	public LogMatcher(String line) {
-		var tokens = Arrays.asList(line.split(CSV_DELIMITER));
+		var tokens = splitCsvLine(line);
 		this.selected = !(new String("0").equals(tokens.get(0).trim()));
 		this.matchText = tokens.get(1).trim();
 		this.presetText = tokens.get(2).trim();
 		this.messageType = tokens.get(3).trim();	
+		this.matchMode = (tokens.size() > 4) ? MatchModeEnum.getEnum(tokens.get(4)) : MatchModeEnum.TEXT;
+		this.foldedMatchText = this.matchText.toLowerCase();
+		this.scanner = compileScanner();
+	}
+	
+	// compiles scanner for match mode, throws IllegalArgumentException for invalid regex or field expression
+	private LineScanner compileScanner() {
+		switch (matchMode) {
+		case REGEX:
+			return new RegexScanner(getMatchText());
+		case FIELD:
+			return new FieldPredicateScanner(getMatchText());
+		default:
+			return new TextScanner(getMatchText());
+		}
+	}
+	
+	/**
+	 * Splits VoyagerLogViewer.csv line on commas outside double quotes. Quotes enclosing a field are removed and
+	 * doubled quotes inside a quoted field are read as a single quote, e.g. regex "(RA|DEC),\s*\d{0,5}"
+	 * 
+	 * @param line comma delimited line
+	 * @return list of fields, including trailing empty fields
+	 */
+	public static List<String> splitCsvLine(String line) {
+		var tokens = new ArrayList<String>();
+		var token = new StringBuilder();
+		boolean isQuoted = false;
+		for (int idx = 0; idx < line.length(); idx++) {
+			char c = line.charAt(idx);
+			if (isQuoted) {
+				if (c != '"') {
+					token.append(c);
+				} else if (idx + 1 < line.length() && line.charAt(idx + 1) == '"') {
+					token.append(c);
+					idx++;
+				} else {
+					isQuoted = false;
+				}
+			} else if (c == '"' && token.toString().isBlank()) {
+				// opening quote, leading spaces are dropped
+				token.setLength(0);
+				isQuoted = true;
+			} else if (CSV_DELIMITER.charAt(0) == c) {
+				tokens.add(token.toString());
+				token.setLength(0);
+			} else {
+				token.append(c);
+			}
+		}
+		tokens.add(token.toString());
+		return tokens;
+	}
+	
+	// encloses text containing commas or quotes in double quotes, doubling embedded quotes
+	private static String quoteCsvField(String text) {
+		if (!text.contains(CSV_DELIMITER) && !text.contains("\"")) {
+			return text;
+		}
+		return "\"" + text.replace("\"", "\"\"") + "\"";
 	}
 	
 	public boolean isWarningMatcher() {
@@ -79,14 +179,52 @@ public class LogMatcher {
 	
 	/**
 	 * Returns true if matchText detected in current Voyager log line
-	 * <p>String matching is case-insensitive</p>
+	 * <p>String and regex matching is case-insensitive</p>
 	 * 
 	 * @param logLine full Voyager log line
-	 * @return true if Voyager log line contains matching text
+	 * @return true if Voyager log line contains matching text, matches regex or satisfies field expression
 	 */
 	public boolean matches(String logLine) {
-		// case insensitive sub string match
-		return logLine.toLowerCase().contains(this.matchText.toLowerCase());
+		return scanner.matches(logLine);
+	}
+	
+	/**
+	 * Tests UTF-8 encoded log line bytes start to end, text matchers test bytes without decoding line
+	 */
+	public boolean matches(byte[] logLine, int start, int end) {
+		return scanner.matches(logLine, start, end);
+	}
+	
+	/**
+	 * Clears hit count and match time statistics before a new log extraction
+	 */
+	public void resetStatistics() {
+		this.hitCount = 0;
+		this.matchNanos = 0;
+	}
+	
+	/**
+	 * Adds one log line attributed to this matcher
+	 */
+	public void addHit() {
+		this.hitCount++;
+	}
+	
+	/**
+	 * Adds time spent testing log lines against this matcher, estimated from sampled lines
+	 * 
+	 * @param nanos elapsed match time in nano-sec, scaled by line sample interval
+	 */
+	public void addMatchNanos(long nanos) {
+		this.matchNanos += nanos;
+	}
+	
+	public long getHitCount() {
+		return hitCount;
+	}
+	
+	public long getMatchNanos() {
+		return matchNanos;
 	}
 	
 	public boolean isCommentMatcher() {
@@ -123,10 +261,44 @@ public class LogMatcher {
 		return messageType.trim();
 	}
 	
+	public String getFoldedMatchText() {
+		return foldedMatchText;
+	}
+	
+	public MatchModeEnum getMatchMode() {
+		return matchMode;
+	}
+	
+	/**
+	 * Returns true for default sub string matchers; regex and field matchers may match any line
+	 */
+	public boolean isTextMatcher() {
+		return matchMode == MatchModeEnum.TEXT;
+	}
+	
+	/**
+	 * Returns true if no log line can match both this and other matcher. Only field matchers on the same field
+	 * with non-intersecting value ranges are disjoint; any two sub strings or regex patterns may occur in the same 
+	 * log line.
+	 */
+	public boolean isDisjoint(LogMatcher other) {
+		return scanner instanceof FieldPredicateScanner && other.scanner instanceof FieldPredicateScanner
+				&& ((FieldPredicateScanner) scanner).isDisjoint((FieldPredicateScanner) other.scanner);
+	}
+	
 
+	/**
+	 * Returns true if other matcher attributes the same log lines to the same extracts, i.e. equal match text, 
+	 * mode, preset text and message type. Select flag is ignored.
+	 */
+	public boolean isSameDefinition(LogMatcher other) {
+		return Objects.equals(matchText, other.matchText) && matchMode == other.matchMode
+				&& Objects.equals(presetText, other.presetText) && Objects.equals(messageType, other.messageType);
+	}
+	
 	@Override
 	public int hashCode() {
-		return Objects.hash(matchText, messageType, presetText, selected);
+		return Objects.hash(matchText, matchMode, messageType, presetText, selected);
 	}
 
 
@@ -139,7 +311,8 @@ public class LogMatcher {
 		if (getClass() != obj.getClass())
 			return false;
 		LogMatcher other = (LogMatcher) obj;
-		return Objects.equals(matchText, other.matchText) && Objects.equals(messageType, other.messageType)
+		return Objects.equals(matchText, other.matchText) && matchMode == other.matchMode
+				&& Objects.equals(messageType, other.messageType)
 				&& Objects.equals(presetText, other.presetText) && selected == other.selected;
 	}
 
@@ -148,9 +321,10 @@ public class LogMatcher {
 		var terms = new ArrayList<String>();
 		var flag = this.isSelected() ? "1" : "0";
 		terms.add(flag); 						// 0 => off, otherwise on
-		terms.add(this.getMatchText());			// text to match against line in VoyagerLog file
-		terms.add(this.getPresetText());		// optional text to show in extracts table
+		terms.add(quoteCsvField(this.getMatchText()));	// text to match against line in VoyagerLog file
+		terms.add(quoteCsvField(this.getPresetText()));	// optional text to show in extracts table
 		terms.add(this.getMessageType());		// type INFO, CRITICAL etc; sets message colour
+		terms.add(this.getMatchMode().toString());	// TEXT, REGEX or FIELD
 		
 		// combine elements in comma-delimited string
 		var line = terms.stream().collect(Collectors.joining(CSV_DELIMITER));
@@ -180,6 +354,14 @@ public class LogMatcher {
 						s3, 
 						matcher.matches(s3)));
 		
+		matcher = new LogMatcher(true, "HFD > 8", "", "WARNING", MatchModeEnum.FIELD);
+		var s4 = "2021/12/11 23:52:50 207 - INFO - [Focus Done] - Filter=L HFD=9.21 Temperature=4.1";
+		System.out.println(String.format("\nfield '%s' detected in '%s': %b", matcher.getMatchText(), s4, matcher.matches(s4)));
+		
+		matcher = new LogMatcher(true, "Slew.*(error|fail)", "", "CRITICAL", MatchModeEnum.REGEX);
+		var s5 = "2021/12/11 23:12:04 101 - CRITICAL - [Slew] - Mount Slew Failed";
+		System.out.println(String.format("regex '%s' detected in '%s': %b", matcher.getMatchText(), s5, matcher.matches(s5)));
+		
 		s1 = "2021/12/11 12:00:01 000 - COMMENT - [User Comment] - I could not possibly comment ..";
 		System.out.println(String.format("Comment line %s <= %b", s1, LogMatcher.isCommentLine(s1)));
 		System.out.println(String.format("Comment line %s <= %b", s2, LogMatcher.isCommentLine(s2)));
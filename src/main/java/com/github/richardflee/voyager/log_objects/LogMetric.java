@@ -4,12 +4,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.github.richardflee.voyager.enums.MatchersTypeEnum;
+import com.github.richardflee.voyager.fileio.Session;
 import com.github.richardflee.voyager.fileio.VoyagerFileReadWriter;
 import com.github.richardflee.voyager.fileio.VoyagerPaths;
+import com.github.richardflee.voyager.jfr.MetricsParseEvent;
 import com.github.richardflee.voyager.models.MetricsTableModel;
 
 /**
@@ -20,6 +23,8 @@ public class LogMetric {
 	// field terms embedded in Voyager log text	
 	private static final String[] FOCUS_FIELDS = { "FILTER", "HFD", "TEMPERATURE", "POS", "TIME"};
 	private static final String[] GUIDING_FIELDS = {"RA", "DEC"};
+	// numeric focus and guiding fields, tested by FIELD mode matchers
+	static final List<String> NUMERIC_FIELDS = List.of("HFD", "TEMPERATURE", "POS", "RA", "DEC");
 	private static final String[] POINTING_TERMS = {"[DMS]", "00° 00' 00\""};
 	
 	// log line timestamp
@@ -39,30 +44,69 @@ public class LogMetric {
 	// residual pointing error after closed loop slew
 	private String slewPointing = "";
 	
+	// header of nearest saved frame, joined to guiding metrics by FitsHeaderScanner
+	private volatile FitsHeader frameHeader = null;
+	
+	// anomalous field names, e.g. 'RA DEC', set by MetricAnomalyDetector
+	private String anomaly = "";
+	
 	
 	public LogMetric(LogExtract extract) {
 		getFieldData(extract);
 	}
+	
+	/**
+	 * Copies parsed metric fields. Frame header and anomaly are not copied, they are set per session by 
+	 * FitsHeaderScanner and MetricAnomalyDetector.
+	 * 
+	 * @param other metric to copy
+	 */
+	LogMetric(LogMetric other) {
+		this.timeStamp = other.timeStamp;
+		this.focusFilter = other.focusFilter;
+		this.focusHfd = other.focusHfd;
+		this.focusTemperature = other.focusTemperature;
+		this.focusPos = other.focusPos;
+		this.focusTime = other.focusTime;
+		this.guidingRa = other.guidingRa;
+		this.guidingDec = other.guidingDec;
+		this.slewPointing = other.slewPointing;
+	}
 
 	/**
-	 * Compiles a list of metrics data extracted from Voyager log file
+	 * Compiles a list of metrics data extracted from Voyager log file, using metrics parsed when
+	 * extracts were compiled
 	 * 
 	 * @param selectedMetricExtracts user selected list of log extracts encapsulating metrics data   
 	 * @return metrics data list
 	 */
 	public static List<LogMetric> getSelectedMetrics(List<LogExtract> selectedMetricExtracts) {
+		var parseEvent = new MetricsParseEvent();
+		parseEvent.begin();
 		List<LogMetric> metrics = new ArrayList<>();
 		for (var ex : selectedMetricExtracts) {
-			metrics.add(new LogMetric(ex));
+			metrics.add((ex.getMetric() != null) ? ex.getMetric() : new LogMetric(ex));
+		}
+		parseEvent.end();
+		if (parseEvent.shouldCommit()) {
+			parseEvent.extracts = selectedMetricExtracts.size();
+			parseEvent.commit();
 		}
 		return metrics;
 	}
 	
-	public static void saveSelectedMetrics(List<LogMetric> selectedMetrics, VoyagerPaths filePaths) {
+	public static void saveSelectedMetrics(List<LogMetric> selectedMetrics, Session session) {
+		VoyagerFileReadWriter.writeSelectedMetricsFile(getCsvLines(selectedMetrics), session);
+	}
+	
+	/**
+	 * Compiles metrics csv file lines, header line followed by one comma-delimited line per metric
+	 */
+	public static List<String> getCsvLines(List<LogMetric> metrics) {
 		var header = Arrays.asList(MetricsTableModel.HEADERS).stream().collect(Collectors.joining(","));
-		var lines = selectedMetrics.stream().map(p -> p.toString()).collect(Collectors.toList());
+		var lines = metrics.stream().map(p -> p.toString()).collect(Collectors.toList());
 		lines.add(0, header);
-		VoyagerFileReadWriter.writeSelectedMetricsFile(lines, filePaths);
+		return lines;
 	}
 	
 	/**
@@ -104,9 +148,9 @@ public class LogMetric {
 	// decodes line for FOCUS_FIELDS terms
 	private Map<String, String> getFocusData(String line) {
 		var map = getData(line, FOCUS_FIELDS);
-		// hfd 2 decimal places
+		// hfd 2 decimal places, '.' decimal point in all locales
 		var hfd = map.get("HFD");
-		map.put("HFD", String.format("%.2f" , Double.valueOf(hfd)));
+		map.put("HFD", String.format(Locale.ROOT, "%.2f" , Double.valueOf(hfd)));
 		return map;
 	}
 	
@@ -115,9 +159,9 @@ public class LogMetric {
 		var map = getData(line, GUIDING_FIELDS);
 		var ra = map.get("RA");
 		var dec = map.get("DEC");
-		// ra,dec 2 decimal places
-		map.put("RA", String.format("%.2f" , Double.valueOf(ra)));
-		map.put("DEC", String.format("%.2f" , Double.valueOf(dec)));
+		// ra,dec 2 decimal places, '.' decimal point in all locales
+		map.put("RA", String.format(Locale.ROOT, "%.2f" , Double.valueOf(ra)));
+		map.put("DEC", String.format(Locale.ROOT, "%.2f" , Double.valueOf(dec)));
 		return map;
 	}
 	
@@ -196,14 +240,48 @@ public class LogMetric {
 		return slewPointing;
 	}
 
+	public FitsHeader getFrameHeader() {
+		return frameHeader;
+	}
+
+	public void setFrameHeader(FitsHeader frameHeader) {
+		this.frameHeader = frameHeader;
+	}
+
+	public String getFrameFilter() {
+		return (frameHeader == null) ? "" : frameHeader.getFilter();
+	}
+
+	public String getFrameExposure() {
+		return (frameHeader == null) ? "" : frameHeader.getExposure();
+	}
+
+	public String getFrameCcdTemp() {
+		return (frameHeader == null) ? "" : frameHeader.getCcdTemp();
+	}
+
+	public String getAnomaly() {
+		return anomaly;
+	}
+
+	public boolean isAnomaly() {
+		return !anomaly.isEmpty();
+	}
+
+	public void setAnomaly(String anomaly) {
+		this.anomaly = anomaly;
+	}
+
 	// compiles a comma-delimted string to save to csv file format
 	@Override
 	public String toString() {
-		var s = String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s",
+		var s = String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s",
 				timeStamp,
 				focusFilter , focusHfd, focusTemperature, focusPos, focusTime, 
 				guidingRa, guidingDec,
-				slewPointing);
+				slewPointing,
+				getFrameFilter(), getFrameExposure(), getFrameCcdTemp(),
+				anomaly);
 		return s;
 	}
 
@@ -218,7 +296,7 @@ public class LogMetric {
 		
 		vp.updateLogPaths(metricsFile);
 		
-		extractor.getTableExtractsFromFiles(vp);
+		extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
 		var selectedMetricExtracts = extractor.getSelectedMetricExtracts();
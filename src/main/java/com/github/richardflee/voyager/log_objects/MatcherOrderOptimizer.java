@@ -0,0 +1,67 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reorders VoyagerLogViewer.csv matchers so that frequently hit matchers are tested first.
+ *
+ * <p>Log lines are attributed to the first matching matcher in csv order, so moving matcher b ahead of matcher
+ * a re-attributes any line matched by both. Adjacent matchers swap places only if no log line can match both,
+ * see LogMatcher.isDisjoint. Sub string and regex matchers can always occur in the same line, e.g. 'Plate
+ * Solving' and 'Solving Error', so only field matchers on the same field with non-intersecting value ranges,
+ * e.g. 'HFD &gt; 8' and 'HFD &lt; 3', are reordered. The new order is then safe to save for all sessions.</p>
+ */
+public class MatcherOrderOptimizer {
+
+	/**
+	 * Compiles a new matcher order sorted by descending hit count from the last log extraction. Adjacent 
+	 * matchers are swapped only if they are disjoint, so that every log line is attributed to the same matcher
+	 * as in the current order. The comment matcher remains at the top of the list.
+	 *
+	 * @param matchers matchers list in current csv order
+	 * @return new list of the same matchers in optimised order
+	 */
+	public List<LogMatcher> optimise(List<LogMatcher> matchers) {
+		var ordered = new ArrayList<LogMatcher>(matchers);
+
+		// insertion sort, each step swaps one adjacent pair after checking the pair can be reordered
+		for (int i = 1; i < ordered.size(); i++) {
+			int j = i;
+			while (j > 0 && canMoveAhead(ordered.get(j), ordered.get(j - 1))) {
+				Collections.swap(ordered, j, j - 1);
+				j--;
+			}
+		}
+		return ordered;
+	}
+
+	/*
+	 * True if matcher has more hits than its predecessor and no log line matches both
+	 */
+	boolean canMoveAhead(LogMatcher matcher, LogMatcher predecessor) {
+		if (predecessor.isCommentMatcher() || matcher.isCommentMatcher()) {
+			return false;
+		}
+		if (matcher.getHitCount() <= predecessor.getHitCount()) {
+			return false;
+		}
+		return matcher.isDisjoint(predecessor);
+	}
+
+	public static void main(String[] args) {
+		var m1 = new LogMatcher("1,HFD > 8,,WARNING,FIELD");
+		var m2 = new LogMatcher("1,Plate Solving,,INFO,TEXT");
+		var m3 = new LogMatcher("1,HFD <= 8,,METRIC_F,FIELD");
+		for (int i = 0; i < 10; i++) {
+			m2.addHit();
+			m3.addHit();
+		}
+		m1.addHit();
+
+		// m3 moves ahead of m1, disjoint HFD ranges; m2 may share a line with either, so stays put
+		var optimizer = new MatcherOrderOptimizer();
+		optimizer.optimise(List.of(m1, m3, m2)).stream().forEach(p -> System.out.println(p.toString()));
+	}
+}
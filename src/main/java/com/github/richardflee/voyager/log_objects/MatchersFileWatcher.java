@@ -0,0 +1,121 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Watches VoyagerLogViewer.csv and recompiles matchers on a background thread when the file changes.
+ *
+ * <p>The csv folder is watched, as editors often replace the file rather than write to it. Change events are
+ * collected until the folder is quiet for SETTLE_MILLIS, then the file is read and compiled if its content has
+ * changed. The new matchers list, with comment matcher at top, is passed to the reload listener on the watcher
+ * thread with any compile errors; the listener swaps it in.</p>
+ */
+public class MatchersFileWatcher {
+
+	// quiet time after last change event before file is read, editors may write file in several steps
+	static final long SETTLE_MILLIS = 250;
+
+	private final Path csvPath;
+	private final BiConsumer<List<LogMatcher>, List<String>> reloadListener;
+	private WatchService watchService = null;
+
+	// csv content of last compiled or initial file
+	private byte[] csvBytes = new byte[0];
+
+	/**
+	 * @param csvPath path to VoyagerLogViewer.csv
+	 * @param reloadListener receives recompiled matchers list and compile errors, called on watcher thread
+	 */
+	public MatchersFileWatcher(Path csvPath, BiConsumer<List<LogMatcher>, List<String>> reloadListener) {
+		this.csvPath = csvPath.toAbsolutePath();
+		this.reloadListener = reloadListener;
+	}
+
+	/**
+	 * Starts watching csv file on a daemon thread, current file content is not reloaded
+	 *
+	 * @throws IOException if csv folder cannot be watched
+	 */
+	public void start() throws IOException {
+		if (Files.exists(csvPath)) {
+			this.csvBytes = Files.readAllBytes(csvPath);
+		}
+		this.watchService = FileSystems.getDefault().newWatchService();
+		csvPath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		var thread = new Thread(() -> watch(), "matchers-file-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops watching csv file
+	 */
+	public void stop() {
+		try {
+			if (watchService != null) {
+				watchService.close();
+			}
+		} catch (IOException e) {
+			// watcher thread exits on closed watch service
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				var key = watchService.take();
+				boolean isChanged = isCsvEvent(key.pollEvents());
+				key.reset();
+
+				// collects further events until folder is quiet
+				while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					isChanged = isCsvEvent(key.pollEvents()) || isChanged;
+					key.reset();
+				}
+				if (isChanged) {
+					reload();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// watcher stopped
+		}
+	}
+
+	private boolean isCsvEvent(List<WatchEvent<?>> events) {
+		return events.stream().anyMatch(p -> csvPath.getFileName().equals(p.context()));
+	}
+
+	/*
+	 * Reads and compiles csv file if content has changed since last compile, returns true if reload listener
+	 * was called. An unreadable file, e.g. part way through a save, is skipped until its next change event.
+	 */
+	boolean reload() {
+		byte[] csvBytes = null;
+		try {
+			csvBytes = Files.readAllBytes(csvPath);
+		} catch (IOException e) {
+			return false;
+		}
+		if (csvBytes.length == 0 || Arrays.equals(csvBytes, this.csvBytes)) {
+			return false;
+		}
+		this.csvBytes = csvBytes;
+		var errors = new ArrayList<String>();
+		var matchers = VoyagerLogMatchers.withCommentMatcher(VoyagerLogMatchers.compileMatchers(csvBytes, errors));
+		reloadListener.accept(matchers, errors);
+		return true;
+	}
+}
@@ -0,0 +1,117 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Online anomaly detector over guiding RA / DEC rms errors and focus HFD.
+ *
+ * <p>Each series keeps an exponentially weighted mean and variance, so that metrics are tested one at a time in
+ * time order with constant state per series. A value more than jlogviewer.anomaly.sigma standard deviations,
+ * default 3, above the series mean is flagged; lower values are improvements and are not flagged. Flagged
+ * values are clipped to the threshold before updating the series, so a bad stretch does not hide itself by
+ * raising the baseline. Focus HFD is tracked per filter.</p>
+ */
+public class MetricAnomalyDetector {
+
+	public static final String SIGMA_PROPERTY = "jlogviewer.anomaly.sigma";
+
+	// EWMA weight, about the last 20 values
+	static final double ALPHA = 0.1;
+
+	// values tested after series warm-up
+	static final int WARMUP = 5;
+
+	// standard deviation floor, fraction of series mean, so that a steady series does not flag small changes
+	static final double MIN_RELATIVE_SIGMA = 0.05;
+
+	private final double nSigma;
+	private final Map<String, Series> series = new HashMap<>();
+
+	public MetricAnomalyDetector() {
+		this(getSigmaProperty());
+	}
+
+	public MetricAnomalyDetector(double nSigma) {
+		this.nSigma = nSigma;
+	}
+
+	/**
+	 * Flags anomalous metrics in extracts, testing metrics in list order with a new detector
+	 *
+	 * @param extracts session extracts in time order
+	 */
+	public static void detect(List<LogExtract> extracts) {
+		var detector = new MetricAnomalyDetector();
+		for (var extract : extracts) {
+			if (extract.getMetric() != null) {
+				detector.accept(extract.getMetric());
+			}
+		}
+	}
+
+	/**
+	 * Tests metric guiding and focus values against their series, sets metric anomaly to the flagged field names,
+	 * e.g. 'RA DEC', blank if none, then updates series
+	 *
+	 * @param metric next metric in time order
+	 * @return true if any metric value is anomalous
+	 */
+	public boolean accept(LogMetric metric) {
+		var anomaly = new StringJoiner(" ");
+		test("RA", "RA", metric.getGuidingRa(), anomaly);
+		test("DEC", "DEC", metric.getGuidingDec(), anomaly);
+		test("HFD " + metric.getFocusFilter(), "HFD", metric.getFocusHfd(), anomaly);
+		metric.setAnomaly(anomaly.toString());
+		return anomaly.length() > 0;
+	}
+
+	private void test(String key, String field, String value, StringJoiner anomaly) {
+		if (value.isEmpty()) {
+			return;
+		}
+		try {
+			if (series.computeIfAbsent(key, k -> new Series()).update(Double.parseDouble(value), nSigma)) {
+				anomaly.add(field);
+			}
+		} catch (NumberFormatException e) {
+			// malformed value, not tested
+		}
+	}
+
+	private static double getSigmaProperty() {
+		try {
+			return Double.parseDouble(System.getProperty(SIGMA_PROPERTY, "3.0"));
+		} catch (NumberFormatException e) {
+			return 3.0;
+		}
+	}
+
+	/*
+	 * Exponentially weighted mean and variance. Weight is 1/(n+1) until it falls to ALPHA, so early values are
+	 * averaged evenly.
+	 */
+	private static class Series {
+		private int n = 0;
+		private double mean = 0.0;
+		private double variance = 0.0;
+
+		private boolean update(double x, double nSigma) {
+			boolean isAnomaly = false;
+			if (n >= WARMUP) {
+				double sigma = Math.max(Math.sqrt(variance), MIN_RELATIVE_SIGMA * Math.abs(mean));
+				double limit = mean + nSigma * sigma;
+				isAnomaly = x > limit;
+				x = Math.min(x, limit);
+			}
+			double alpha = Math.max(ALPHA, 1.0 / (n + 1));
+			double delta = x - mean;
+			mean += alpha * delta;
+			variance = (1.0 - alpha) * (variance + alpha * delta * delta);
+			n++;
+			return isAnomaly;
+		}
+	}
+}
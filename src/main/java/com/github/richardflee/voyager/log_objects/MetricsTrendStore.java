@@ -0,0 +1,364 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.github.richardflee.voyager.enums.TrendFieldEnum;
+import com.github.richardflee.voyager.enums.TrendStatEnum;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+/**
+ * Append-only store of metrics from imported sessions, answers night-over-night trend queries.
+ *
+ * <p>Each append writes one block of metric records for a single night to the end of the data file, then
+ * one entry to the end of the block index file. Queries read only the blocks for nights in the query range.
+ * Re-importing a night appends a new block which supersedes earlier blocks for the same night.</p>
+ *
+ * <p>Block layout: magic, block length, night epoch day, record count (ints), filter names table, then
+ * fixed length records. Record layout: session millis (int), metric type and filter index (bytes), then
+ * HFD, temperature, focuser position, RA rms, DEC rms and pointing error (floats, NaN if absent).</p>
+ *
+ * <p>Index entry layout: night epoch day (int), block offset (long), block length (int). The index is
+ * rebuilt from the data file if it is missing or out of step, e.g. after an interrupted append.</p>
+ */
+public class MetricsTrendStore {
+
+	// block identifier, increment if block or record layout changes
+	private static final int MAGIC = 0x4A4C5631;	// "JLV1"
+	private static final int HEADER_BYTES = 4 * Integer.BYTES;
+	private static final int RECORD_BYTES = Integer.BYTES + 2 + TrendFieldEnum.values().length * Float.BYTES;
+	private static final int INDEX_ENTRY_BYTES = 2 * Integer.BYTES + Long.BYTES;
+
+	// record metric type codes
+	private static final byte FOCUS = 0;
+	private static final byte GUIDING = 1;
+	private static final byte POINTING = 2;
+
+	private Path dataPath = null;
+	private Path indexPath = null;
+
+	// night epoch day => {offset, length} of latest block for night
+	private TreeMap<Long, long[]> index = null;
+
+	/**
+	 * Opens store, reading or rebuilding block index
+	 *
+	 * @param dataPath path to trend store data file, created on first append
+	 */
+	public MetricsTrendStore(Path dataPath) throws IOException {
+		this.dataPath = dataPath;
+		this.indexPath = dataPath.resolveSibling(dataPath.getFileName().toString() + ".idx");
+		this.index = new TreeMap<>();
+		loadIndex();
+	}
+
+	/**
+	 * Appends metrics for one night as a new block
+	 *
+	 * @param night session start date
+	 * @param metrics session metrics list
+	 */
+	public synchronized void append(LocalDate night, List<LogMetric> metrics) throws IOException {
+		// filter names table
+		var filters = new ArrayList<String>();
+		metrics.stream().map(p -> p.getFocusFilter()).filter(p -> !p.isEmpty() && !filters.contains(p))
+				.forEach(p -> filters.add(p));
+		var namesBytes = filters.stream().map(p -> p.getBytes(StandardCharsets.UTF_8))
+				.collect(Collectors.toList());
+		int namesLength = Short.BYTES + namesBytes.stream().mapToInt(p -> Short.BYTES + p.length).sum();
+
+		int length = HEADER_BYTES + namesLength + metrics.size() * RECORD_BYTES;
+		var buffer = ByteBuffer.allocate(length);
+		buffer.putInt(MAGIC).putInt(length).putInt((int) night.toEpochDay()).putInt(metrics.size());
+		buffer.putShort((short) namesBytes.size());
+		for (var name : namesBytes) {
+			buffer.putShort((short) name.length).put(name);
+		}
+		for (var metric : metrics) {
+			putRecord(buffer, metric, filters);
+		}
+		buffer.flip();
+
+		long offset = 0;
+		try (var channel = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			offset = channel.size();
+			writeFully(channel, buffer, offset);
+			channel.force(false);
+		}
+		var entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES).putInt((int) night.toEpochDay()).putLong(offset)
+				.putInt(length).flip();
+		try (var channel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			writeFully(channel, entry, channel.size());
+		}
+		index.put(night.toEpochDay(), new long[] { offset, length });
+	}
+
+	/**
+	 * Returns nights with metrics in store, in date order
+	 */
+	public synchronized List<LocalDate> getNights() {
+		return index.keySet().stream().map(p -> LocalDate.ofEpochDay(p)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Aggregates a metric field over time buckets, e.g. nightly median RA rms or weekly median HFD per filter
+	 *
+	 * @param fromNight first night, or null for no lower limit
+	 * @param toNight last night, or null for no upper limit
+	 * @param field metric field
+	 * @param bucket DAYS, WEEKS (starting Monday), MONTHS or YEARS
+	 * @param stat statistic computed over field values in each bucket
+	 * @param byFilter true to compute statistic per focus filter
+	 * @return one row per bucket and filter with at least one field value, in date then filter order
+	 */
+	public synchronized List<TrendRow> query(LocalDate fromNight, LocalDate toNight, TrendFieldEnum field,
+			ChronoUnit bucket, TrendStatEnum stat, boolean byFilter) throws IOException {
+		var from = (fromNight == null) ? Long.MIN_VALUE : fromNight.toEpochDay();
+		var to = (toNight == null) ? Long.MAX_VALUE : toNight.toEpochDay();
+		var blocks = index.subMap(from, true, to, true);
+		if (blocks.isEmpty()) {
+			return List.of();
+		}
+
+		// bucket start date => filter => field values
+		var buckets = new TreeMap<LocalDate, Map<String, Values>>();
+		try (var channel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+			for (var block : blocks.entrySet()) {
+				var bucketStart = bucketStart(LocalDate.ofEpochDay(block.getKey()), bucket);
+				var filterValues = buckets.computeIfAbsent(bucketStart, k -> new TreeMap<>());
+				readBlock(channel, block.getValue(), field, byFilter, filterValues);
+			}
+		}
+
+		var rows = new ArrayList<TrendRow>();
+		for (var b : buckets.entrySet()) {
+			for (var f : b.getValue().entrySet()) {
+				var values = f.getValue();
+				rows.add(new TrendRow(b.getKey(), f.getKey(), values.size, stat.apply(values.data, values.size)));
+			}
+		}
+		return rows;
+	}
+
+	/*
+	 * Reads block field values into filter => values map
+	 */
+	private void readBlock(FileChannel channel, long[] block, TrendFieldEnum field, boolean byFilter,
+			Map<String, Values> filterValues) throws IOException {
+		var buffer = ByteBuffer.allocate((int) block[1]);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, block[0] + buffer.position()) < 0) {
+				throw new IOException("Truncated trend store block");
+			}
+		}
+		buffer.flip();
+		buffer.position(3 * Integer.BYTES);
+		int nRecords = buffer.getInt();
+
+		var filters = new String[buffer.getShort()];
+		for (int i = 0; i < filters.length; i++) {
+			var name = new byte[buffer.getShort()];
+			buffer.get(name);
+			filters[i] = new String(name, StandardCharsets.UTF_8);
+		}
+
+		int fieldOffset = Integer.BYTES + 2 + field.ordinal() * Float.BYTES;
+		for (int i = 0; i < nRecords; i++) {
+			int recordStart = buffer.position();
+			var value = buffer.getFloat(recordStart + fieldOffset);
+			if (!Float.isNaN(value)) {
+				int filterIdx = buffer.get(recordStart + Integer.BYTES + 1);
+				var filter = (byFilter && filterIdx >= 0) ? filters[filterIdx] : "";
+				filterValues.computeIfAbsent(filter, k -> new Values()).add(value);
+			}
+			buffer.position(recordStart + RECORD_BYTES);
+		}
+	}
+
+	/*
+	 * Writes metric record, fields absent from metric type are written as NaN
+	 */
+	private void putRecord(ByteBuffer buffer, LogMetric metric, List<String> filters) {
+		long millis = 0;
+		try {
+			millis = VoyagerDateTimes.extractsTimeStampToSessionMillis(metric.getTimeStamp());
+		} catch (IndexOutOfBoundsException e) {
+			// malformed time stamp, recorded at session start
+		}
+		byte type = !metric.getFocusHfd().isEmpty() ? FOCUS : !metric.getGuidingRa().isEmpty() ? GUIDING : POINTING;
+		buffer.putInt((int) millis).put(type).put((byte) filters.indexOf(metric.getFocusFilter()));
+		buffer.putFloat(toFloat(metric.getFocusHfd()));
+		buffer.putFloat(toFloat(metric.getFocusTemperature()));
+		buffer.putFloat(toFloat(metric.getFocusPos()));
+		buffer.putFloat(toFloat(metric.getGuidingRa()));
+		buffer.putFloat(toFloat(metric.getGuidingDec()));
+		buffer.putFloat(pointingArcSecs(metric.getSlewPointing()));
+	}
+
+	/*
+	 * Reads index file, rebuilds index from data file if index is missing or does not cover data file
+	 */
+	private void loadIndex() throws IOException {
+		if (!Files.exists(dataPath)) {
+			return;
+		}
+		long dataSize = Files.size(dataPath);
+		long indexedSize = 0;
+		if (Files.exists(indexPath) && Files.size(indexPath) % INDEX_ENTRY_BYTES == 0) {
+			var buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+			while (buffer.hasRemaining()) {
+				long night = buffer.getInt();
+				long offset = buffer.getLong();
+				long length = buffer.getInt();
+				index.put(night, new long[] { offset, length });
+				indexedSize = Math.max(indexedSize, offset + length);
+			}
+		}
+		if (indexedSize != dataSize) {
+			rebuildIndex();
+		}
+	}
+
+	/*
+	 * Scans data file block headers, truncates any partial block at end of file and rewrites index file
+	 */
+	private void rebuildIndex() throws IOException {
+		index.clear();
+		var entries = ByteBuffer.allocate(0);
+		try (var channel = FileChannel.open(dataPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			var header = ByteBuffer.allocate(HEADER_BYTES);
+			var entryList = new ArrayList<long[]>();
+			long offset = 0;
+			long size = channel.size();
+			while (offset + HEADER_BYTES <= size) {
+				header.clear();
+				channel.read(header, offset);
+				header.flip();
+				int magic = header.getInt();
+				int length = header.getInt();
+				long night = header.getInt();
+				if (magic != MAGIC || length < HEADER_BYTES || offset + length > size) {
+					break;
+				}
+				index.put(night, new long[] { offset, length });
+				entryList.add(new long[] { night, offset, length });
+				offset += length;
+			}
+			channel.truncate(offset);
+
+			entries = ByteBuffer.allocate(entryList.size() * INDEX_ENTRY_BYTES);
+			for (var e : entryList) {
+				entries.putInt((int) e[0]).putLong(e[1]).putInt((int) e[2]);
+			}
+			entries.flip();
+		}
+		Files.write(indexPath, Arrays.copyOf(entries.array(), entries.limit()));
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+		while (buffer.hasRemaining()) {
+			offset += channel.write(buffer, offset);
+		}
+	}
+
+	// returns first night of bucket containing night
+	private static LocalDate bucketStart(LocalDate night, ChronoUnit bucket) {
+		switch (bucket) {
+		case DAYS:
+			return night;
+		case WEEKS:
+			return night.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		case MONTHS:
+			return night.withDayOfMonth(1);
+		case YEARS:
+			return night.withDayOfYear(1);
+		default:
+			throw new IllegalArgumentException(String.format("Unsupported trend bucket: %s", bucket));
+		}
+	}
+
+	// parses metric field text, NaN if blank or not a number
+	private static float toFloat(String text) {
+		try {
+			return text.isBlank() ? Float.NaN : Float.parseFloat(text.trim().replace(',', '.'));
+		} catch (NumberFormatException e) {
+			return Float.NaN;
+		}
+	}
+
+	// converts pointing error text 00° 00' 02" to arc-secs, NaN if blank
+	private static float pointingArcSecs(String text) {
+		var dms = Arrays.stream(text.split("\\D+")).filter(p -> !p.isEmpty()).mapToInt(p -> Integer.parseInt(p))
+				.toArray();
+		return (dms.length == 3) ? dms[0] * 3600f + dms[1] * 60f + dms[2] : Float.NaN;
+	}
+
+	/*
+	 * Growable list of field values in one bucket
+	 */
+	private static class Values {
+		private float[] data = new float[16];
+		private int size = 0;
+
+		private void add(float value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = value;
+		}
+	}
+
+	/**
+	 * Trend query result: statistic over field values in one time bucket, optionally for one focus filter
+	 */
+	public static class TrendRow {
+		private LocalDate bucketStart = null;
+		private String filter = "";
+		private int count = 0;
+		private double value = 0.0;
+
+		TrendRow(LocalDate bucketStart, String filter, int count, double value) {
+			this.bucketStart = bucketStart;
+			this.filter = filter;
+			this.count = count;
+			this.value = value;
+		}
+
+		public LocalDate getBucketStart() {
+			return bucketStart;
+		}
+
+		public String getFilter() {
+			return filter;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public double getValue() {
+			return value;
+		}
+
+		// comma-delimited bucket start, filter, count, value
+		@Override
+		public String toString() {
+			return String.format("%s,%s,%d,%.3f", bucketStart, filter, count, value);
+		}
+	}
+}
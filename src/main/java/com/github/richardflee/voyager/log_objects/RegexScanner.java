@@ -0,0 +1,88 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive regular expression scanner. Pattern is compiled once when the matcher is created.
+ *
+ * <p>Java regex backtracks, so a badly formed pattern can take exponential time on a long log line. Each
+ * match is bounded by a character read budget proportional to line length; a line exceeding the budget is
+ * treated as not matching.</p>
+ */
+public class RegexScanner implements LineScanner {
+
+	// character reads allowed per line character before match is abandoned
+	private static final int READS_PER_CHAR = 64;
+	private static final int MIN_READS = 4096;
+
+	private Pattern pattern = null;
+
+	/**
+	 * @param regex regular expression
+	 * @throws java.util.regex.PatternSyntaxException if regex is invalid
+	 */
+	public RegexScanner(String regex) {
+		this.pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+	}
+
+	@Override
+	public boolean matches(String logLine) {
+		var budget = Math.max(MIN_READS, (long) logLine.length() * READS_PER_CHAR);
+		try {
+			return pattern.matcher(new BoundedCharSequence(logLine, budget)).find();
+		} catch (BudgetExceededException e) {
+			return false;
+		}
+	}
+
+	/*
+	 * Char sequence throwing BudgetExceededException after budget character reads
+	 */
+	private static class BoundedCharSequence implements CharSequence {
+		private final String text;
+		private final long[] reads;
+		private final long budget;
+
+		private BoundedCharSequence(String text, long budget) {
+			this(text, budget, new long[1]);
+		}
+
+		private BoundedCharSequence(String text, long budget, long[] reads) {
+			this.text = text;
+			this.budget = budget;
+			this.reads = reads;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (++reads[0] > budget) {
+				throw new BudgetExceededException();
+			}
+			return text.charAt(index);
+		}
+
+		@Override
+		public int length() {
+			return text.length();
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			// shares read count with parent sequence
+			return new BoundedCharSequence(text.substring(start, end), budget, reads);
+		}
+
+		@Override
+		public String toString() {
+			return text;
+		}
+	}
+
+	private static class BudgetExceededException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private BudgetExceededException() {
+			super(null, null, false, false);
+		}
+	}
+}
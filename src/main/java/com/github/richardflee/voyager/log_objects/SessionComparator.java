@@ -0,0 +1,246 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.github.richardflee.voyager.fileio.Session;
+import com.github.richardflee.voyager.fileio.VoyagerPaths;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+/**
+ * Compares two Voyager sessions, e.g. a good night and a bad night.
+ *
+ * <p>Both sessions are read and extracted concurrently, each with its own matcher copies. Events are aligned by
+ * session time, milli-secs since noon, and by matcher list position, so the same matchers list must be used for
+ * both sessions. Each session's extracts are indexed per matcher in time order. A single merge pass then pairs
+ * A and B events within ALIGN_WINDOW_MILLIS, and a merge over sorted metric values gives distribution
+ * differences.</p>
+ */
+public class SessionComparator {
+
+	// A and B events of the same matcher within this session time are aligned
+	static final long ALIGN_WINDOW_MILLIS = 10 * 60 * 1000L;
+
+	private static final String[] METRIC_FIELDS = { "RA", "DEC", "HFD" };
+
+	private List<LogMatcher> matchers = null;
+
+	/**
+	 * @param matchers matchers list, copied for each session
+	 */
+	public SessionComparator(List<LogMatcher> matchers) {
+		this.matchers = matchers;
+	}
+
+	/**
+	 * Reads and extracts two sessions concurrently and compares their extracts
+	 *
+	 * @param logA session A Voyager log file
+	 * @param logB session B Voyager log file
+	 * @return session differences, B relative to A
+	 * @throws IOException if a log file is invalid or cannot be read
+	 * @throws InterruptedException if interrupted while waiting for sessions
+	 */
+	public SessionDiff compare(Path logA, Path logB) throws IOException, InterruptedException {
+		var sessionA = getSession(logA);
+		var sessionB = getSession(logB);
+		var tasks = new ArrayList<Callable<VoyagerLogExtractor>>();
+		tasks.add(() -> VoyagerBatchImporter.extractSession(sessionA));
+		tasks.add(() -> VoyagerBatchImporter.extractSession(sessionB));
+
+		var executor = Executors.newFixedThreadPool(tasks.size());
+		try {
+			var futures = executor.invokeAll(tasks);
+			var extractsA = getExtracts(futures.get(0));
+			var extractsB = getExtracts(futures.get(1));
+			return diff(sessionA.getStartDate(), extractsA, sessionA.getMatchers(), sessionB.getStartDate(),
+					extractsB, sessionB.getMatchers());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Compares an already extracted session A with session B, read and extracted with copies of session A matchers
+	 *
+	 * @param dateA session A start date
+	 * @param extractsA session A extracts in time order
+	 * @param matchersA session A matchers list, in the order used to extract session A
+	 * @param logB session B Voyager log file
+	 * @return session differences, B relative to A
+	 * @throws IOException if session B log file is invalid or cannot be read
+	 */
+	public static SessionDiff compare(LocalDate dateA, List<LogExtract> extractsA, List<LogMatcher> matchersA,
+			Path logB) throws IOException {
+		var sessionB = new SessionComparator(matchersA).getSession(logB);
+		var extractsB = VoyagerBatchImporter.extractSession(sessionB).getAllExtracts();
+		return diff(dateA, extractsA, matchersA, sessionB.getStartDate(), extractsB, sessionB.getMatchers());
+	}
+
+	private Session getSession(Path logPath) throws IOException {
+		var filePaths = new VoyagerPaths();
+		if (!filePaths.updateLogPaths(logPath.toString())) {
+			throw new IOException(String.format("Not a Voyager log file: %s", logPath.toString()));
+		}
+		return Session.of(filePaths, matchers).withMatcherCopies();
+	}
+
+	private static List<LogExtract> getExtracts(Future<VoyagerLogExtractor> future) throws IOException {
+		try {
+			return future.get().getAllExtracts();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause().toString());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Session compare interrupted");
+		}
+	}
+
+	/**
+	 * Compares extracts of two sessions extracted with matchers lists of the same order and definitions
+	 *
+	 * @param dateA session A start date
+	 * @param extractsA session A extracts in time order
+	 * @param matchersA session A matchers list
+	 * @param dateB session B start date
+	 * @param extractsB session B extracts in time order
+	 * @param matchersB session B matchers list
+	 * @return session differences, B relative to A
+	 */
+	public static SessionDiff diff(LocalDate dateA, List<LogExtract> extractsA, List<LogMatcher> matchersA,
+			LocalDate dateB, List<LogExtract> extractsB, List<LogMatcher> matchersB) {
+		var diff = new SessionDiff(dateA, dateB);
+		var timesA = indexByMatcher(extractsA, matchersA);
+		var timesB = indexByMatcher(extractsB, matchersB);
+		for (int idx = 0; idx < matchersA.size(); idx++) {
+			var a = timesA[idx];
+			var b = timesB[idx];
+			if (a.length > 0 || b.length > 0) {
+				diff.add(new SessionDiff.MatcherDiff(matchersA.get(idx).getMatchText(), a.length, b.length,
+						alignedCount(a, b), (a.length > 0) ? a[0] : -1, (b.length > 0) ? b[0] : -1));
+			}
+		}
+		for (var field : METRIC_FIELDS) {
+			var a = sortedValues(extractsA, field);
+			var b = sortedValues(extractsB, field);
+			if (a.length > 0 || b.length > 0) {
+				diff.add(new SessionDiff.MetricDiff(field, a, b, ksDistance(a, b)));
+			}
+		}
+		return diff;
+	}
+
+	/*
+	 * Session times of extracts for each matcher list position, in time order. Comments are not indexed.
+	 */
+	private static long[][] indexByMatcher(List<LogExtract> extracts, List<LogMatcher> matchers) {
+		var positions = new IdentityHashMap<LogMatcher, Integer>();
+		for (int idx = 0; idx < matchers.size(); idx++) {
+			positions.put(matchers.get(idx), idx);
+		}
+		var counts = new int[matchers.size()];
+		var positionOf = new int[extracts.size()];
+		for (int pos = 0; pos < extracts.size(); pos++) {
+			var extract = extracts.get(pos);
+			var idx = extract.isExtractType() ? positions.get(extract.getMatcher()) : null;
+			positionOf[pos] = (idx == null) ? -1 : idx;
+			if (idx != null) {
+				counts[idx]++;
+			}
+		}
+		var times = new long[matchers.size()][];
+		for (int idx = 0; idx < matchers.size(); idx++) {
+			times[idx] = new long[counts[idx]];
+			counts[idx] = 0;
+		}
+		for (int pos = 0; pos < extracts.size(); pos++) {
+			int idx = positionOf[pos];
+			if (idx >= 0) {
+				var timeStamp = extracts.get(pos).getTimeStamp();
+				times[idx][counts[idx]++] = VoyagerDateTimes.extractsTimeStampToSessionMillis(timeStamp);
+			}
+		}
+		return times;
+	}
+
+	/*
+	 * Number of A and B event pairs within ALIGN_WINDOW_MILLIS, paired in time order in a single merge pass
+	 */
+	static int alignedCount(long[] a, long[] b) {
+		int aligned = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (Math.abs(a[i] - b[j]) <= ALIGN_WINDOW_MILLIS) {
+				aligned++;
+				i++;
+				j++;
+			} else if (a[i] < b[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return aligned;
+	}
+
+	/*
+	 * Largest difference between empirical distribution functions of sorted a and b, 0 if either is empty
+	 */
+	static double ksDistance(double[] a, double[] b) {
+		if (a.length == 0 || b.length == 0) {
+			return 0.0;
+		}
+		double distance = 0.0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			double x = Math.min(a[i], b[j]);
+			while (i < a.length && a[i] <= x) {
+				i++;
+			}
+			while (j < b.length && b[j] <= x) {
+				j++;
+			}
+			distance = Math.max(distance, Math.abs((double) i / a.length - (double) j / b.length));
+		}
+		return distance;
+	}
+
+	// sorted values of metric field RA, DEC or HFD
+	private static double[] sortedValues(List<LogExtract> extracts, String field) {
+		var values = new double[extracts.size()];
+		int n = 0;
+		for (var extract : extracts) {
+			var metric = extract.getMetric();
+			if (metric == null) {
+				continue;
+			}
+			var value = field.equals("RA") ? metric.getGuidingRa()
+					: field.equals("DEC") ? metric.getGuidingDec() : metric.getFocusHfd();
+			if (!value.isEmpty()) {
+				try {
+					values[n] = Double.parseDouble(value);
+					n++;
+				} catch (NumberFormatException e) {
+					// malformed value, not compared
+				}
+			}
+		}
+		values = Arrays.copyOf(values, n);
+		Arrays.sort(values);
+		return values;
+	}
+}
@@ -0,0 +1,207 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+/**
+ * Differences between two Voyager sessions: per-matcher event counts and alignment, and guiding and focus
+ * metric distributions. Created by SessionComparator.
+ */
+public class SessionDiff {
+
+	private final LocalDate dateA;
+	private final LocalDate dateB;
+	private final List<MatcherDiff> matcherDiffs = new ArrayList<>();
+	private final List<MetricDiff> metricDiffs = new ArrayList<>();
+
+	SessionDiff(LocalDate dateA, LocalDate dateB) {
+		this.dateA = dateA;
+		this.dateB = dateB;
+	}
+
+	void add(MatcherDiff matcherDiff) {
+		matcherDiffs.add(matcherDiff);
+	}
+
+	void add(MetricDiff metricDiff) {
+		metricDiffs.add(metricDiff);
+	}
+
+	public LocalDate getDateA() {
+		return dateA;
+	}
+
+	public LocalDate getDateB() {
+		return dateB;
+	}
+
+	/**
+	 * @return matchers with events in either session, in matchers list order
+	 */
+	public List<MatcherDiff> getMatcherDiffs() {
+		return matcherDiffs;
+	}
+
+	public List<MetricDiff> getMetricDiffs() {
+		return metricDiffs;
+	}
+
+	/**
+	 * Compiles text report, matcher differences with largest count changes first
+	 */
+	public List<String> getReportLines() {
+		var lines = new ArrayList<String>();
+		lines.add(String.format("Session A %s, session B %s", dateA, dateB));
+		lines.add("");
+		lines.add(String.format("%-40s %6s %6s %6s %8s %6s %6s", "Matcher", "A", "B", "B-A", "Aligned", "First A",
+				"First B"));
+		var sorted = new ArrayList<>(matcherDiffs);
+		sorted.sort((p, q) -> Integer.compare(Math.abs(q.getDelta()), Math.abs(p.getDelta())));
+		for (var diff : sorted) {
+			lines.add(String.format("%-40.40s %6d %6d %+6d %8d %6s %6s", diff.matchText, diff.countA, diff.countB,
+					diff.getDelta(), diff.aligned, formatTime(diff.firstA), formatTime(diff.firstB)));
+		}
+		lines.add("");
+		lines.add(String.format("%-8s %6s %6s %8s %8s %8s %8s %6s", "Metric", "n A", "n B", "Med A", "Med B",
+				"P90 A", "P90 B", "KS D"));
+		for (var diff : metricDiffs) {
+			lines.add(String.format("%-8s %6d %6d %8.2f %8.2f %8.2f %8.2f %6.2f", diff.field, diff.countA,
+					diff.countB, diff.medianA, diff.medianB, diff.p90A, diff.p90B, diff.ksDistance));
+		}
+		return lines;
+	}
+
+	// session milli-secs to HH:mm, blank if no event
+	private static String formatTime(long sessionMillis) {
+		if (sessionMillis < 0) {
+			return "";
+		}
+		return VoyagerDateTimes.NOON.plusNanos(sessionMillis * 1_000_000L).toString().substring(0, 5);
+	}
+
+	/**
+	 * Event counts of a single matcher in each session. Aligned events are pairs of A and B events within
+	 * SessionComparator.ALIGN_WINDOW_MILLIS of each other in session time.
+	 */
+	public static class MatcherDiff {
+		private final String matchText;
+		private final int countA;
+		private final int countB;
+		private final int aligned;
+		private final long firstA;
+		private final long firstB;
+
+		MatcherDiff(String matchText, int countA, int countB, int aligned, long firstA, long firstB) {
+			this.matchText = matchText;
+			this.countA = countA;
+			this.countB = countB;
+			this.aligned = aligned;
+			this.firstA = firstA;
+			this.firstB = firstB;
+		}
+
+		public String getMatchText() {
+			return matchText;
+		}
+
+		public int getCountA() {
+			return countA;
+		}
+
+		public int getCountB() {
+			return countB;
+		}
+
+		public int getDelta() {
+			return countB - countA;
+		}
+
+		public int getAligned() {
+			return aligned;
+		}
+
+		/**
+		 * @return session milli-secs of first A event, -1 if none
+		 */
+		public long getFirstA() {
+			return firstA;
+		}
+
+		/**
+		 * @return session milli-secs of first B event, -1 if none
+		 */
+		public long getFirstB() {
+			return firstB;
+		}
+	}
+
+	/**
+	 * Distribution of a metric field in each session, NaN statistics for a session with no values. KS distance
+	 * is the largest difference between the two empirical distribution functions, 0 to 1.
+	 */
+	public static class MetricDiff {
+		private final String field;
+		private final int countA;
+		private final int countB;
+		private final double medianA;
+		private final double medianB;
+		private final double p90A;
+		private final double p90B;
+		private final double ksDistance;
+
+		MetricDiff(String field, double[] sortedA, double[] sortedB, double ksDistance) {
+			this.field = field;
+			this.countA = sortedA.length;
+			this.countB = sortedB.length;
+			this.medianA = percentile(sortedA, 0.5);
+			this.medianB = percentile(sortedB, 0.5);
+			this.p90A = percentile(sortedA, 0.9);
+			this.p90B = percentile(sortedB, 0.9);
+			this.ksDistance = ksDistance;
+		}
+
+		// nearest rank percentile of sorted values
+		private static double percentile(double[] sorted, double p) {
+			if (sorted.length == 0) {
+				return Double.NaN;
+			}
+			int rank = (int) Math.ceil(p * sorted.length);
+			return sorted[Math.max(0, rank - 1)];
+		}
+
+		public String getField() {
+			return field;
+		}
+
+		public int getCountA() {
+			return countA;
+		}
+
+		public int getCountB() {
+			return countB;
+		}
+
+		public double getMedianA() {
+			return medianA;
+		}
+
+		public double getMedianB() {
+			return medianB;
+		}
+
+		public double getP90A() {
+			return p90A;
+		}
+
+		public double getP90B() {
+			return p90B;
+		}
+
+		public double getKsDistance() {
+			return ksDistance;
+		}
+	}
+}
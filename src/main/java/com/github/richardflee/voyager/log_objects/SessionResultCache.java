@@ -0,0 +1,160 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.richardflee.voyager.fileio.LogLines;
+
+/**
+ * In-memory least recently used cache of log extraction results, bounded by an estimated byte budget.
+ *
+ * <p>Results are keyed on the Voyager log file paths, sizes and last modified times and a hash of the matcher
+ * definitions in evaluation order, so that revisiting a night is served from memory unless a log file or
+ * matcher has changed. Matcher select flags do not affect the key.</p>
+ *
+ * <p>System property jlogviewer.cache.mb sets the budget, default 64 MB; 0 disables the cache.</p>
+ */
+public class SessionResultCache {
+
+	public static final String BUDGET_PROPERTY = "jlogviewer.cache.mb";
+	private static final long DEFAULT_BUDGET_MB = 64;
+
+	// estimated heap bytes per cached LogExtract object, excluding character data
+	private static final long EXTRACT_OVERHEAD = 120;
+
+	private long budgetBytes = 0;
+	private long totalBytes = 0;
+
+	// access ordered, eldest entry is least recently used
+	private Map<String, Entry> entries = null;
+
+	public SessionResultCache() {
+		this(Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MB) * 1024 * 1024);
+	}
+
+	public SessionResultCache(long budgetBytes) {
+		this.budgetBytes = budgetBytes;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Compiles cache key from log file identities and matcher definitions
+	 *
+	 * @param logPaths Voyager log or extracts file paths in read order
+	 * @param matchers matchers list in evaluation order
+	 * @return cache key, or empty if a log file attribute cannot be read
+	 */
+	public static Optional<String> key(List<Path> logPaths, List<LogMatcher> matchers) {
+		var sb = new StringBuilder();
+		try {
+			for (var path : logPaths) {
+				sb.append(path.toAbsolutePath().toString()).append('|').append(Files.size(path)).append('|')
+						.append(Files.getLastModifiedTime(path).toMillis()).append('\n');
+			}
+		} catch (IOException e) {
+			return Optional.empty();
+		}
+		sb.append(matchersHash(matchers));
+		return Optional.of(sb.toString());
+	}
+
+	/**
+	 * Returns hex SHA-256 hash of matcher definitions in evaluation order, ignoring select flags
+	 */
+	public static String matchersHash(List<LogMatcher> matchers) {
+		var sb = new StringBuilder();
+		for (var matcher : matchers) {
+			sb.append(matcher.getMatchText()).append('\u0000').append(matcher.getPresetText()).append('\u0000')
+					.append(matcher.getMessageType()).append('\u0000').append(matcher.getMatchMode()).append('\n');
+		}
+		try {
+			var digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is required in all java platforms
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns cached result and marks it most recently used
+	 */
+	public Optional<Entry> get(String key) {
+		return Optional.ofNullable(entries.get(key));
+	}
+
+	/**
+	 * Adds extraction result, evicting least recently used results to keep within byte budget. Results larger
+	 * than the budget are not cached.
+	 */
+	public void put(String key, Entry entry) {
+		var old = entries.remove(key);
+		if (old != null) {
+			totalBytes -= old.bytes;
+		}
+		if (entry.bytes > budgetBytes) {
+			return;
+		}
+		entries.put(key, entry);
+		totalBytes += entry.bytes;
+		var it = entries.values().iterator();
+		while (totalBytes > budgetBytes && it.hasNext()) {
+			totalBytes -= it.next().bytes;
+			it.remove();
+		}
+	}
+
+	public void clear() {
+		entries.clear();
+		totalBytes = 0;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * Cached extraction result: in-window lines, extract attributed to each line and matcher statistics. Extracts 
+	 * are copies, so frame headers and anomaly flags set on a session's extracts after extraction are not cached.
+	 */
+	public static class Entry {
+		final LogLines windowLines;
+		final LogExtract[] lineExtracts;
+		final List<LogMatcher> matchers;
+		final long[] matchNanos;
+		final long bytes;
+
+		Entry(LogLines windowLines, LogExtract[] lineExtracts, List<LogMatcher> matchers) {
+			this.windowLines = windowLines;
+			this.lineExtracts = new LogExtract[lineExtracts.length];
+			for (int lineIdx = 0; lineIdx < lineExtracts.length; lineIdx++) {
+				var extract = lineExtracts[lineIdx];
+				this.lineExtracts[lineIdx] = (extract == null) ? null : new LogExtract(extract, extract.getMatcher());
+			}
+			this.matchers = new ArrayList<>(matchers);
+			this.matchNanos = matchers.stream().mapToLong(p -> p.getMatchNanos()).toArray();
+
+			long bytes = windowLines.getHeapBytes();
+			for (var extract : lineExtracts) {
+				if (extract != null) {
+					bytes += EXTRACT_OVERHEAD + 2L * (extract.getMessageLine().length() + extract.getTimeStamp().length());
+				}
+			}
+			this.bytes = bytes + 8L * lineExtracts.length;
+		}
+	}
+}
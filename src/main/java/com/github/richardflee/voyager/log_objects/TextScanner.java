@@ -0,0 +1,26 @@
+package com.github.richardflee.voyager.log_objects;
+
+/**
+ * Case-insensitive sub string scanner, default matcher mode
+ * 
+ * <p>ASCII log lines are searched without lower casing the line, see AsciiFoldSearch.</p>
+ */
+public class TextScanner implements LineScanner {
+	
+	// lower case match text search
+	private AsciiFoldSearch search = null;
+	
+	public TextScanner(String matchText) {
+		this.search = new AsciiFoldSearch(matchText);
+	}
+
+	@Override
+	public boolean matches(String logLine) {
+		return search.contains(logLine);
+	}
+
+	@Override
+	public boolean matches(byte[] logLine, int start, int end) {
+		return search.contains(logLine, start, end);
+	}
+}
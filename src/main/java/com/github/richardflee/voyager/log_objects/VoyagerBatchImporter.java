@@ -0,0 +1,212 @@
+package com.github.richardflee.voyager.log_objects;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.github.richardflee.voyager.fileio.LogLines;
+import com.github.richardflee.voyager.fileio.Session;
+import com.github.richardflee.voyager.fileio.VoyagerFileReadWriter;
+import com.github.richardflee.voyager.fileio.VoyagerPaths;
+import com.github.richardflee.voyager.models.MetricsTableModel;
+
+/**
+ * Imports a range of Voyager sessions concurrently, one session per task on a bounded thread pool.
+ *
+ * <p>Each session is extracted from its own immutable Session, with its own matcher copies and
+ * VoyagerLogExtractor, so that tasks share no mutable state. Selected extracts and metrics are written to per-session extracts and metrics files,
+ * all session metrics to a combined season metrics file, and each session's metrics to the metrics trend store.</p>
+ *
+ * <p>System property jlogviewer.batch.threads sets the pool size, default number of processors.</p>
+ */
+public class VoyagerBatchImporter {
+
+	public static final String THREADS_PROPERTY = "jlogviewer.batch.threads";
+
+	private List<LogMatcher> matchers = null;
+	private int nThreads = 0;
+
+	/**
+	 * @param matchers matchers list, copied for each session task
+	 */
+	public VoyagerBatchImporter(List<LogMatcher> matchers) {
+		this.matchers = matchers;
+		this.nThreads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Lists Voyager log files yyyy_mm_dd_Voyager.log in folder with session dates in range
+	 *
+	 * @param folder folder containing Voyager log files
+	 * @param fromDate first session date, or null for no lower limit
+	 * @param toDate last session date, or null for no upper limit
+	 * @return session start log files in date order
+	 */
+	public static List<Path> findSessions(Path folder, LocalDate fromDate, LocalDate toDate) throws IOException {
+		try (var paths = Files.list(folder)) {
+			return paths.filter(p -> VoyagerPaths.isVoyagerLogFile(p))
+					.filter(p -> fromDate == null || !VoyagerPaths.getFileDate(p).isBefore(fromDate))
+					.filter(p -> toDate == null || !VoyagerPaths.getFileDate(p).isAfter(toDate))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Imports sessions concurrently and writes per-session extracts and metrics files and season metrics file
+	 *
+	 * @param sessionPaths session start log files
+	 * @return session results in input order
+	 */
+	public List<SessionResult> importSessions(List<Path> sessionPaths) throws InterruptedException {
+		var results = new ArrayList<SessionResult>();
+		if (sessionPaths.isEmpty()) {
+			return results;
+		}
+		var tasks = new ArrayList<Callable<SessionResult>>();
+		sessionPaths.stream().forEach(p -> tasks.add(() -> importSession(p)));
+
+		var executor = Executors.newFixedThreadPool(Math.max(1, Math.min(nThreads, tasks.size())));
+		try {
+			for (var future : executor.invokeAll(tasks)) {
+				try {
+					results.add(future.get());
+				} catch (ExecutionException e) {
+					// unchecked exception in task, e.g. malformed metrics line
+					results.add(new SessionResult(null, e.getCause().toString()));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+		writeSeasonMetrics(results);
+		appendTrendStore(results);
+		return results;
+	}
+
+	/*
+	 * Extracts single session and writes session extracts and metrics files
+	 */
+	private SessionResult importSession(Path startPath) {
+		var filePaths = new VoyagerPaths();
+		filePaths.updateLogPaths(startPath.toString());
+		var session = Session.of(filePaths, matchers).withMatcherCopies();
+		var result = new SessionResult(session.getStartDate(), null);
+		try {
+			var extractor = extractSession(session);
+			var extractLines = extractor.getSelectedExtracts().stream().map(p -> p.getLogLine())
+					.collect(Collectors.toList());
+			VoyagerFileReadWriter.writeLinesFile(extractLines, session.getExtractsPath());
+
+			result.metrics = LogMetric.getSelectedMetrics(extractor.getSelectedMetricExtracts());
+			VoyagerFileReadWriter.writeLinesFile(LogMetric.getCsvLines(result.metrics), session.getMetricsPath());
+
+			result.lines = extractor.getWindowLineCount();
+			result.extracts = extractLines.size();
+		} catch (IOException e) {
+			result.error = e.getMessage();
+		}
+		return result;
+	}
+
+	/*
+	 * Reads and extracts session log files on the calling thread, session must have its own matcher copies
+	 */
+	static VoyagerLogExtractor extractSession(Session session) throws IOException {
+		var parts = new ArrayList<LogLines>();
+		for (int idx = 0; idx < session.getLogPaths().size(); idx++) {
+			parts.add(VoyagerFileReadWriter.readVoyagerLogLines(session.getLogPaths().get(idx),
+					session.getStartDate(), session.getLogSources().get(idx)));
+		}
+		var allLines = VoyagerFileReadWriter.mergeLogLines(parts, session);
+		var extractor = new VoyagerLogExtractor(new VoyagerLogMatchers(session.getMatchers()));
+		extractor.compileAllExtracts(allLines, session.getMatchers());
+		return extractor;
+	}
+
+	/*
+	 * Writes metrics from all sessions to season metrics file, prefixed with session start date
+	 */
+	private void writeSeasonMetrics(List<SessionResult> results) {
+		var sessions = results.stream().filter(p -> p.date != null && p.error == null).collect(Collectors.toList());
+		if (sessions.isEmpty()) {
+			return;
+		}
+		var lines = new ArrayList<String>();
+		lines.add("Session," + String.join(",", MetricsTableModel.HEADERS));
+		for (var session : sessions) {
+			session.metrics.stream().forEach(p -> lines.add(session.date.toString() + "," + p.toString()));
+		}
+		var seasonPath = VoyagerPaths.getPathToSeasonMetricsFile(sessions.get(0).date,
+				sessions.get(sessions.size() - 1).date);
+		try {
+			VoyagerFileReadWriter.writeLinesFile(lines, seasonPath);
+		} catch (IOException e) {
+			System.err.println(String.format("Error writing season metrics file: %s", seasonPath.toString()));
+		}
+	}
+
+	/*
+	 * Appends metrics from each session to trend store, one block per session night
+	 */
+	private void appendTrendStore(List<SessionResult> results) {
+		var storePath = VoyagerPaths.getPathToTrendStoreFile();
+		try {
+			var store = new MetricsTrendStore(storePath);
+			for (var result : results) {
+				if (result.date != null && result.error == null) {
+					store.append(result.date, result.metrics);
+				}
+			}
+		} catch (IOException e) {
+			System.err.println(String.format("Error writing metrics trend store: %s", storePath.toString()));
+		}
+	}
+
+	/**
+	 * Summary of a single session import
+	 */
+	public static class SessionResult {
+		private LocalDate date = null;
+		private String error = null;
+		private int lines = 0;
+		private int extracts = 0;
+		private List<LogMetric> metrics = List.of();
+
+		private SessionResult(LocalDate date, String error) {
+			this.date = date;
+			this.error = error;
+		}
+
+		public LocalDate getDate() {
+			return date;
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		public int getExtracts() {
+			return extracts;
+		}
+
+		public List<LogMetric> getMetrics() {
+			return metrics;
+		}
+
+		@Override
+		public String toString() {
+			if (error != null) {
+				return String.format("%s failed: %s", date, error);
+			}
+			return String.format("%s lines=%d extracts=%d metrics=%d", date, lines, extracts, metrics.size());
+		}
+	}
+}
@@ -1,15 +1,25 @@
 package com.github.richardflee.voyager.log_objects;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.swing.JOptionPane;
 
+import com.github.richardflee.voyager.fileio.LogLines;
+import com.github.richardflee.voyager.fileio.Session;
 import com.github.richardflee.voyager.fileio.VoyagerFileReadWriter;
 import com.github.richardflee.voyager.fileio.VoyagerPaths;
+import com.github.richardflee.voyager.jfr.MatchEvent;
+import com.github.richardflee.voyager.jfr.MatcherHitsEvent;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
 
 /**
  * Handles file Voyager log operations and updating selected log records
@@ -17,54 +27,256 @@ import com.github.richardflee.voyager.fileio.VoyagerPaths;
  */
 public class VoyagerLogExtractor {
 
+	// matcher tests are timed on one line in MATCH_SAMPLE_INTERVAL, power of 2, and scaled to estimate match times
+	static final int MATCH_SAMPLE_INTERVAL = 64;
+
 	private VoyagerLogMatchers logMatchers = null;
 
 	// lists comments selected and de-selected log extracts
 	private List<LogExtract> allExtracts = null;
+	
+	// full text index over allExtracts message lines
+	private ExtractsSearchIndex searchIndex = null;
+	
+	// session time index over allExtracts, and optional log table time range in session milli-secs
+	private ExtractsTimeIndex timeIndex = null;
+	private long[] timeRange = null;
+	
+	// runs of consecutive extracts with the same matcher, optionally listed as single log table rows;
+	// expanded runs are keyed on run start list position
+	private ExtractsRunIndex runIndex = null;
+	private boolean collapseRuns = false;
+	private Set<Integer> expandedRuns = null;
+	
+	// in-window lines from last file read and extract attributed to each line, null if no matcher hit, 
+	// cached for incremental re-extraction when matchers change
+	private LogLines windowLines = null;
+	private LogExtract[] lineExtracts = null;
+	
+	// matchers list in evaluation order used to compile lineExtracts
+	private List<LogMatcher> extractedMatchers = null;
+	
+	// user comments added since last file read
+	private List<LogExtract> userComments = null;
+	
+	// recent extraction results keyed on log files and matchers
+	private SessionResultCache resultCache = null;
 
 	public VoyagerLogExtractor(VoyagerLogMatchers logMatchers) {
 		this.logMatchers = logMatchers;
 		this.allExtracts = new ArrayList<>();
+		this.searchIndex = new ExtractsSearchIndex();
+		this.timeIndex = new ExtractsTimeIndex(allExtracts);
+		this.runIndex = new ExtractsRunIndex(allExtracts);
+		this.expandedRuns = new HashSet<>();
+		this.windowLines = new LogLines();
+		this.lineExtracts = new LogExtract[0];
+		this.extractedMatchers = List.of();
+		this.userComments = new ArrayList<>();
+		this.resultCache = new SessionResultCache();
 	}
 
 	/**
 	 * Compiles list of all lines extracted from Voyager log file(s) with a valid
 	 * format time date stamp between noon on start date and next day noon
 	 * 
-	 * @param filePaths encapsulates start, end and extract file attributes
+	 * @param session session start date, file paths and matchers
 	 * @return list of time stamped text lines between noon on start date and next
 	 *         day noon
 	 */
-	public List<LogExtract> getTableExtractsFromFiles(VoyagerPaths filePaths) {
-		compileAllExtractsFromFile(filePaths);
+	public List<LogExtract> getTableExtractsFromFiles(Session session) {
+		// serves recently extracted sessions from memory if log files and matchers are unchanged
+		var key = SessionResultCache.key(session.getLogPaths(), session.getMatchers());
+		var cached = key.flatMap(p -> resultCache.get(p));
+		if (!cached.isPresent() || !restoreExtracts(cached.get(), session.getMatchers())) {
+			compileAllExtractsFromFile(session);
+			key.ifPresent(p -> resultCache.put(p, getCacheEntry()));
+		}
 		var tableExtracts = getTableExtracts();
 		return tableExtracts;
 	}
+	
+	// cache entry for last extraction from log files
+	SessionResultCache.Entry getCacheEntry() {
+		return new SessionResultCache.Entry(windowLines, lineExtracts, extractedMatchers);
+	}
+	
+	/*
+	 * Restores allExtracts and matcher statistics from a cached extraction result. Cached matchers have the same 
+	 * definitions as current matchers, mapped by list position. Extracts are copied from the cache entry, so that 
+	 * frame headers and anomaly flags are set again for this session and never written to cached extracts.
+	 * 
+	 * @return false if cached and current matchers lists differ in size, nothing is restored
+	 */
+	boolean restoreExtracts(SessionResultCache.Entry entry, List<LogMatcher> matchers) {
+		if (entry.matchers.size() != matchers.size()) {
+			return false;
+		}
+		var mapped = new IdentityHashMap<LogMatcher, LogMatcher>();
+		for (int idx = 0; idx < matchers.size(); idx++) {
+			mapped.put(entry.matchers.get(idx), matchers.get(idx));
+			matchers.get(idx).resetStatistics();
+			matchers.get(idx).addMatchNanos(entry.matchNanos[idx]);
+		}
+		
+		var lineExtracts = new LogExtract[entry.lineExtracts.length];
+		var allExtracts = new ArrayList<LogExtract>();
+		for (int lineIdx = 0; lineIdx < lineExtracts.length; lineIdx++) {
+			var cachedExtract = entry.lineExtracts[lineIdx];
+			if (cachedExtract != null) {
+				var matcher = mapped.get(cachedExtract.getMatcher());
+				lineExtracts[lineIdx] = new LogExtract(cachedExtract, matcher);
+				matcher.addHit();
+				allExtracts.add(lineExtracts[lineIdx]);
+			}
+		}
+		this.allExtracts = allExtracts;
+		this.searchIndex = new ExtractsSearchIndex(allExtracts);
+		this.timeIndex = new ExtractsTimeIndex(allExtracts);
+		compileRuns();
+		MetricAnomalyDetector.detect(allExtracts);
+		this.windowLines = entry.windowLines;
+		this.lineExtracts = lineExtracts;
+		this.extractedMatchers = new ArrayList<>(matchers);
+		this.userComments.clear();
+		return true;
+	}
+	
+	public SessionResultCache getResultCache() {
+		return resultCache;
+	}
 
 
 	/**
 	 * Saves comment lines and log lines listed in Logs table listing to
 	 * Voyager.comments.log and Voyager.extracts.log files
 	 * 
-	 * @param filePaths encapsulates start, end and extract file attributes
+	 * @param session encapsulates start, end and extract file paths
 	 */
-	public void saveLogExtractsToFiles(VoyagerPaths filePaths) {
-		saveCommentExtracts(filePaths);
-		saveLogExtracts(filePaths);
+	public void saveLogExtractsToFiles(Session session) {
+		saveCommentExtracts(session);
+		saveLogExtracts(session);
 	}
 
 	/**
-	 * Compiles a list of current log table data
+	 * Compiles a list of current log table data. Rows are listed as extract list positions and read on demand, 
+	 * see ExtractsTableRows.
 	 * 
-	 * @return list of log table comments and selected log extracts
+	 * @return list of log table comments and selected log extracts, limited to time range if set; runs of 
+	 *         consecutive extracts with the same matcher listed as single rows if collapse mode is set
 	 */
 	public List<LogExtract> getTableExtracts() {
-		Predicate<LogExtract> pComment = p -> p.isCommentType();
-		Predicate<LogExtract> pSelected = p -> p.getMatcher().isSelected();
-		var tableExtracts = this.allExtracts.stream()
-				.filter(pComment.or(pSelected))
-				.collect(Collectors.toList());
-		return tableExtracts;
+		var positions = new int[allExtracts.size()];
+		int n = 0;
+		if (this.timeRange == null) {
+			for (int pos = 0; pos < allExtracts.size(); pos++) {
+				var extract = allExtracts.get(pos);
+				if (extract.isCommentType() || extract.getMatcher().isSelected()) {
+					positions[n++] = pos;
+				}
+			}
+			return compileTableRows(positions, n, 0);
+		}
+		
+		// comments listed at top of table are always shown, followed by selected extracts in time range
+		for (int pos = 0; pos < allExtracts.size(); pos++) {
+			if (allExtracts.get(pos).isCommentType()) {
+				positions[n++] = pos;
+			}
+		}
+		int nComments = n;
+		for (var pos : timeIndex.positionsInRange(timeRange[0], timeRange[1])) {
+			var extract = allExtracts.get(pos);
+			if (extract.isExtractType() && extract.getMatcher().isSelected()) {
+				positions[n++] = pos;
+			}
+		}
+		return compileTableRows(positions, n, nComments);
+	}
+	
+	/*
+	 * Returns table rows for first n extract list positions, ascending after the first nComments comment 
+	 * positions. In collapse mode, consecutive positions in the same run are listed as a single run row unless 
+	 * the run has been expanded.
+	 */
+	private List<LogExtract> compileTableRows(int[] positions, int n, int nComments) {
+		var rowOffsets = new int[n + 1];
+		int nRows = 0;
+		int i = 0;
+		while (i < n) {
+			int j = i + 1;
+			if (collapseRuns && i >= nComments) {
+				while (j < n && runIndex.isSameRun(positions[i], positions[j])) {
+					j++;
+				}
+				if (expandedRuns.contains(runIndex.runStart(positions[i]))) {
+					j = i + 1;
+				}
+			}
+			rowOffsets[nRows++] = i;
+			i = j;
+		}
+		rowOffsets[nRows] = n;
+		return new ExtractsTableRows(allExtracts, positions, rowOffsets, nRows, runIndex);
+	}
+	
+	/**
+	 * Sets log table collapse mode, listing runs of consecutive extracts with the same matcher as single rows. 
+	 * Expanded runs are collapsed again.
+	 * 
+	 * @param collapseRuns true to collapse runs
+	 */
+	public void setCollapseRuns(boolean collapseRuns) {
+		this.collapseRuns = collapseRuns;
+		this.expandedRuns.clear();
+	}
+	
+	public boolean isCollapseRuns() {
+		return collapseRuns;
+	}
+	
+	/**
+	 * Expands a collapsed run row, so that run extracts are listed as individual log table rows
+	 * 
+	 * @param row log table row
+	 * @return true if row is a collapsed run, false otherwise
+	 */
+	public boolean expandRun(LogExtract row) {
+		if (!row.isRun()) {
+			return false;
+		}
+		expandedRuns.add(row.getRunStart());
+		return true;
+	}
+	
+	/*
+	 * Compiles run index over allExtracts, expanded runs are cleared as extract list positions may have changed
+	 */
+	private void compileRuns() {
+		this.runIndex = new ExtractsRunIndex(allExtracts);
+		this.expandedRuns.clear();
+	}
+	
+	/**
+	 * Limits log table extracts to time stamps between from and to inclusive. Session runs noon to noon, 
+	 * so a range may span midnight, e.g. 22:00 to 02:30 
+	 * 
+	 * @param from range start time
+	 * @param to range end time
+	 */
+	public void setTimeRange(LocalTime from, LocalTime to) {
+		this.timeRange = new long[] { VoyagerDateTimes.sessionMillis(from), VoyagerDateTimes.sessionMillis(to) };
+	}
+	
+	/**
+	 * Clears log table time range, table lists extracts over the full session
+	 */
+	public void clearTimeRange() {
+		this.timeRange = null;
+	}
+	
+	public boolean hasTimeRange() {
+		return this.timeRange != null;
 	}
 	
 	public List<LogExtract> getSelectedMetricExtracts() {
@@ -79,15 +291,33 @@ public class VoyagerLogExtractor {
 	/**
 	 * Opens an input dialog for user to input a session-based comment. No comment is added if
 	 * cancel pressed or empty comment line. 
+	 * 
+	 * @param startDate session start date
 	 */
-	public void getUserComment() {
+	public void getUserComment(LocalDate startDate) {
 		var message = JOptionPane.showInputDialog(null, "Enter comment:");
 		if ((message != null) && (message.trim().length() > 0)) {
-			var pos = getCommentExtracts().size();
-			allExtracts.add(pos, new LogExtract(message));
+			addUserComment(message, startDate);
 		}
 	}
 	
+	// adds user comment after comments at top of list
+	void addUserComment(String message, LocalDate startDate) {
+		var pos = getCommentExtracts().size();
+		var commentExtract = new LogExtract(message, startDate);
+		
+		// new list, current table rows hold positions into the previous list
+		var extracts = new ArrayList<LogExtract>(allExtracts);
+		extracts.add(pos, commentExtract);
+		this.allExtracts = extracts;
+		userComments.add(commentExtract);
+		searchIndex.add(commentExtract);
+		
+		// comment shifts extract positions
+		timeIndex = new ExtractsTimeIndex(allExtracts);
+		compileRuns();
+	}
+	
 	/*
 	 * Compiles a list of extract objects from input file lines containing matcher text. Input files:
 	 * 
@@ -95,57 +325,310 @@ public class VoyagerLogExtractor {
 	 * <p>Voyager.comments.log + Voyager.extracts.log files, containing user comments and 
 	 * filtered Voyager log files respectively</p>
 	 *  
-	 * @param filePaths paths to start + end or comments + extracts files
+	 * @param session paths to start + end or comments + extracts files and matchers list
 	 */
-	private void compileAllExtractsFromFile(VoyagerPaths filePaths) {
-		var allExtracts = new ArrayList<LogExtract>();
-
+	private void compileAllExtractsFromFile(Session session) {
 		// reads entire file(s)
-		var allLines = VoyagerFileReadWriter.readVoyagerLogFiles(filePaths);
+		var allLines = VoyagerFileReadWriter.readVoyagerLogFiles(session);
+		compileAllExtracts(allLines, session.getMatchers());
+	}
+	
+	// compiles allExtracts from in-window log lines using current matchers list
+	void compileAllExtracts(List<String> allLines) {
+		compileAllExtracts(allLines, logMatchers.getMatchers());
+	}
+	
+	/**
+	 * Compiles allExtracts from in-window log lines, each line is tested against matchers in list order
+	 * and attributed to the first matching matcher
+	 * 
+	 * @param allLines in-window Voyager log lines
+	 * @param matchers matchers list in evaluation order
+	 */
+	public void compileAllExtracts(List<String> allLines, List<LogMatcher> matchers) {
+		var lines = LogLines.of(allLines);
+		var data = lines.getData();
+		var allExtracts = new ArrayList<LogExtract>();
+		var lineExtracts = new LogExtract[lines.size()];
 		
-		// text matchers array
+		// clears previous match statistics
+		matchers.stream().forEach(p -> p.resetStatistics());
+		
+		var matchEvent = new MatchEvent();
+		matchEvent.begin();
+		
+		// lines containing matcher matchText added to allExtracts array, first matcher wins
+		// match times are accumulated on sampled lines only, see MATCH_SAMPLE_INTERVAL
+		for (int lineIdx = 0; lineIdx < lines.size(); lineIdx++) {
+			int start = lines.start(lineIdx);
+			int end = lines.end(lineIdx);
+			var isSampled = isSampledLine(lineIdx);
+			long t0 = isSampled ? System.nanoTime() : 0;
+			for (int idx = 0; idx < matchers.size(); idx++) {
+				var matcher = matchers.get(idx);
+				var isMatch = matcher.matches(data, start, end);
+				if (isSampled) {
+					long t1 = System.nanoTime();
+					matcher.addMatchNanos((t1 - t0) * MATCH_SAMPLE_INTERVAL);
+					t0 = t1;
+				}
+				if (isMatch) {
+					// only matched lines are decoded
+					var line = lines.get(lineIdx);
+					lineExtracts[lineIdx] = new LogExtract(line, matcher, lines.getSource(lineIdx));
+					allExtracts.add(lineExtracts[lineIdx]);
+					matcher.addHit();
+					break;
+				}
+			}
+		}
+		this.allExtracts = allExtracts;
+		this.searchIndex = new ExtractsSearchIndex(allExtracts);
+		this.timeIndex = new ExtractsTimeIndex(allExtracts);
+		compileRuns();
+		MetricAnomalyDetector.detect(allExtracts);
+		this.windowLines = lines;
+		this.lineExtracts = lineExtracts;
+		this.extractedMatchers = new ArrayList<>(matchers);
+		this.userComments.clear();
+		
+		matchEvent.end();
+		if (matchEvent.shouldCommit()) {
+			matchEvent.linesTested = lines.size();
+			matchEvent.matchers = matchers.size();
+			matchEvent.hits = allExtracts.size();
+			matchEvent.commit();
+		}
+		commitMatcherHitsEvents(matchers);
+	}
+	
+	/**
+	 * Updates allExtracts after matchers are added, removed or edited, without re-reading log files.
+	 * 
+	 * <p>Matchers with the same definition as a matcher in the last extraction are retained. Lines with no
+	 * previous hit are tested only against added matchers; lines attributed to a retained matcher are tested 
+	 * only against added matchers placed ahead of it; lines attributed to a removed matcher are re-tested 
+	 * against the full list. Unchanged extracts are reused. If retained matchers change relative order, all 
+	 * cached lines are re-matched.</p>
+	 * 
+	 * @return list of log table comments and selected log extracts
+	 */
+	public List<LogExtract> updateExtractsForMatchers() {
 		var matchers = logMatchers.getMatchers();
 		
-		// lines containing matcher matchText added to allExtracts array
-		for (var line : allLines) {
-			Optional<LogMatcher> optMatcher = matchers.stream()
-					.filter(p -> p.matches(line))
-					.findFirst();
-			if (optMatcher.isPresent()) {
-				var matcher = optMatcher.get();
-				allExtracts.add(new LogExtract(line, matcher));
+		// maps retained matchers in last extraction to matchers in new list
+		var retained = new IdentityHashMap<LogMatcher, LogMatcher>();
+		var newIndex = new IdentityHashMap<LogMatcher, Integer>();
+		var lastOldIdx = -1;
+		var isOrdered = true;
+		for (int idx = 0; idx < matchers.size(); idx++) {
+			var matcher = matchers.get(idx);
+			newIndex.put(matcher, idx);
+			for (int oldIdx = 0; oldIdx < extractedMatchers.size(); oldIdx++) {
+				var oldMatcher = extractedMatchers.get(oldIdx);
+				if (!retained.containsKey(oldMatcher) && oldMatcher.isSameDefinition(matcher)) {
+					retained.put(oldMatcher, matcher);
+					isOrdered = isOrdered && oldIdx > lastOldIdx;
+					lastOldIdx = oldIdx;
+					break;
+				}
 			}
 		}
+		if (!isOrdered) {
+			// full re-compile clears user comments, re-inserted after comments at top of list
+			var comments = new ArrayList<LogExtract>(userComments);
+			compileAllExtracts(windowLines);
+			if (!comments.isEmpty()) {
+				var pos = (int) allExtracts.stream().filter(p -> p.isCommentType()).count();
+				allExtracts.addAll(pos, comments);
+				userComments.addAll(comments);
+				this.searchIndex = new ExtractsSearchIndex(allExtracts);
+				this.timeIndex = new ExtractsTimeIndex(allExtracts);
+				compileRuns();
+			}
+			return getTableExtracts();
+		}
+		
+		// added matchers in evaluation order
+		var added = new ArrayList<Integer>();
+		for (int idx = 0; idx < matchers.size(); idx++) {
+			if (!retained.containsValue(matchers.get(idx))) {
+				added.add(idx);
+			}
+		}
+		
+		// carry forward match times for retained matchers, hit counts re-compiled below
+		var matchNanos = new long[matchers.size()];
+		for (var entry : retained.entrySet()) {
+			matchNanos[newIndex.get(entry.getValue())] = entry.getKey().getMatchNanos();
+		}
+		matchers.stream().forEach(p -> p.resetStatistics());
+		
+		var data = windowLines.getData();
+		for (int lineIdx = 0; lineIdx < windowLines.size(); lineIdx++) {
+			int start = windowLines.start(lineIdx);
+			int end = windowLines.end(lineIdx);
+			var extract = lineExtracts[lineIdx];
+			var oldMatcher = (extract == null) ? null : extract.getMatcher();
+			
+			if (oldMatcher != null && !retained.containsKey(oldMatcher)) {
+				// attributed matcher removed or edited, re-test full list
+				lineExtracts[lineIdx] = matchLine(lineIdx, matchers, matchNanos);
+				continue;
+			}
+			
+			// test added matchers ahead of retained matcher, or all added matchers if no previous hit
+			var retainedIdx = (oldMatcher == null) ? matchers.size() : newIndex.get(retained.get(oldMatcher));
+			LogExtract newExtract = null;
+			for (var idx : added) {
+				var matcher = matchers.get(idx);
+				if (idx > retainedIdx) {
+					break;
+				}
+				var isSampled = isSampledLine(lineIdx);
+				long t0 = isSampled ? System.nanoTime() : 0;
+				var isMatch = matcher.matches(data, start, end);
+				if (isSampled) {
+					matchNanos[idx] += (System.nanoTime() - t0) * MATCH_SAMPLE_INTERVAL;
+				}
+				if (isMatch) {
+					var line = windowLines.get(lineIdx);
+					newExtract = new LogExtract(line, matcher, windowLines.getSource(lineIdx));
+					break;
+				}
+			}
+			if (newExtract == null && oldMatcher != null) {
+				// unchanged attribution, new extract only if matcher re-compiled
+				var matcher = retained.get(oldMatcher);
+				newExtract = (matcher == oldMatcher) ? extract
+						: new LogExtract(windowLines.get(lineIdx), matcher, windowLines.getSource(lineIdx));
+			}
+			lineExtracts[lineIdx] = newExtract;
+		}
+		
+		// compile allExtracts in line order, user comments follow comments at top of list
+		var allExtracts = new ArrayList<LogExtract>();
+		for (var extract : lineExtracts) {
+			if (extract != null) {
+				allExtracts.add(extract);
+				extract.getMatcher().addHit();
+			}
+		}
+		var pos = (int) allExtracts.stream().filter(p -> p.isCommentType()).count();
+		allExtracts.addAll(pos, userComments);
+		for (int idx = 0; idx < matchers.size(); idx++) {
+			matchers.get(idx).addMatchNanos(matchNanos[idx]);
+		}
+		
 		this.allExtracts = allExtracts;
+		this.searchIndex = new ExtractsSearchIndex(allExtracts);
+		this.timeIndex = new ExtractsTimeIndex(allExtracts);
+		compileRuns();
+		MetricAnomalyDetector.detect(allExtracts);
+		this.extractedMatchers = new ArrayList<>(matchers);
+		commitMatcherHitsEvents(matchers);
+		return getTableExtracts();
+	}
+	
+	/*
+	 * Tests window line against matchers in list order, returns extract for first matching matcher or null
+	 */
+	private LogExtract matchLine(int lineIdx, List<LogMatcher> matchers, long[] matchNanos) {
+		var data = windowLines.getData();
+		int start = windowLines.start(lineIdx);
+		int end = windowLines.end(lineIdx);
+		var isSampled = isSampledLine(lineIdx);
+		long t0 = isSampled ? System.nanoTime() : 0;
+		for (int idx = 0; idx < matchers.size(); idx++) {
+			var isMatch = matchers.get(idx).matches(data, start, end);
+			if (isSampled) {
+				long t1 = System.nanoTime();
+				matchNanos[idx] += (t1 - t0) * MATCH_SAMPLE_INTERVAL;
+				t0 = t1;
+			}
+			if (isMatch) {
+				return new LogExtract(windowLines.get(lineIdx), matchers.get(idx), windowLines.getSource(lineIdx));
+			}
+		}
+		return null;
+	}
+	
+	// true if matcher tests on line are timed
+	private static boolean isSampledLine(int lineIdx) {
+		return (lineIdx & (MATCH_SAMPLE_INTERVAL - 1)) == 0;
+	}
+	
+	/*
+	 * Records one JFR instant event per matcher with the number of log lines attributed to it and estimated 
+	 * match time, only if a recording has the event enabled
+	 */
+	private void commitMatcherHitsEvents(List<LogMatcher> matchers) {
+		if (!new MatcherHitsEvent().isEnabled()) {
+			return;
+		}
+		for (var matcher : matchers) {
+			var hitsEvent = new MatcherHitsEvent();
+			if (hitsEvent.shouldCommit()) {
+				hitsEvent.matchText = matcher.getMatchText();
+				hitsEvent.messageType = matcher.getMessageType();
+				hitsEvent.hits = matcher.getHitCount();
+				hitsEvent.matchNanos = matcher.getMatchNanos();
+				hitsEvent.commit();
+			}
+		}
 	}
 	
 	/*
 	 * Saves log table comment lines to yyyy_mm_dd_Voyager.comments.log file in
 	 * extracts sub folder
 	 * 
-	 * @param filePaths encapsulates file path data
+	 * @param session encapsulates file path data
 	 */
-	private void saveCommentExtracts(VoyagerPaths filePaths) {
+	private void saveCommentExtracts(Session session) {
 		var commentExtracts = getCommentExtracts();
 		var lines = commentExtracts.stream().map(p -> p.getLogLine()).collect(Collectors.toList());
-		VoyagerFileReadWriter.writeCommentExtractsFile(lines, filePaths);
+		VoyagerFileReadWriter.writeCommentExtractsFile(lines, session);
 	}
 
 	/*
 	 * Saves user selected log extracts to yyyy_mm_dd_Voyager.extracts.log file in
 	 * extracts sub folder
 	 * 
-	 * @param filePaths encapsulates file path data
+	 * @param session encapsulates file path data
 	 */
-	private void saveLogExtracts(VoyagerPaths filePaths) {
+	private void saveLogExtracts(Session session) {
 		var selectedExtracts = getSelectedExtracts();
 		var lines = selectedExtracts.stream().map(p -> p.getLogLine()).collect(Collectors.toList());
-		VoyagerFileReadWriter.writeLogExtractsFile(lines, filePaths);
+		VoyagerFileReadWriter.writeLogExtractsFile(lines, session);
+	}
+
+	/**
+	 * Returns extracts with message lines containing query text, case-insensitive
+	 * 
+	 * @param query search text
+	 * @return set of all extracts containing query text, including de-selected extracts
+	 */
+	public Set<LogExtract> searchExtracts(String query) {
+		return searchIndex.search(query);
 	}
 
 	public List<LogExtract> getAllExtracts() {
 		return allExtracts;
 	}
+	
+	/**
+	 * Returns matchers list in the evaluation order used to compile current extracts
+	 */
+	public List<LogMatcher> getExtractedMatchers() {
+		return List.copyOf(extractedMatchers);
+	}
+
+	/**
+	 * Returns number of in-window log lines in last compiled session
+	 */
+	public int getWindowLineCount() {
+		return windowLines.size();
+	}
 
 	public List<LogExtract> getSelectedExtracts() {
 		var selectedExtracts = this.allExtracts.stream().filter(p -> p.isExtractType())
@@ -182,7 +665,7 @@ public class VoyagerLogExtractor {
 		// start: 2021_12_11_Voyager.log
 		// reads start and end log files
 		filePaths.updateLogPaths(startFile);
-		allLines = VoyagerFileReadWriter.readVoyagerLogFiles(filePaths);
+		allLines = VoyagerFileReadWriter.readVoyagerLogFiles(Session.of(filePaths, logMatchers.getMatchers()));
 
 		int n = 2;
 		System.out.println(String.format("\nStart file lines: %d", allLines.size()));
@@ -205,7 +688,7 @@ public class VoyagerLogExtractor {
 		System.out.println();
 		allExtracts.stream().skip(allExtracts.size() - n).forEach(p -> System.out.println(p.toString()));
 
-		extractor.getTableExtractsFromFiles(filePaths);
+		extractor.getTableExtractsFromFiles(Session.of(filePaths, logMatchers.getMatchers()));
 		System.out.println(String.format("\nextractor allExtracts: %d", extractor.allExtracts.size()));
 		extractor.allExtracts.stream().limit(n).forEach(p -> System.out.println(p.toString()));
 		System.out.println();
@@ -234,7 +717,7 @@ public class VoyagerLogExtractor {
 		// Extracts 2021_Voyager.extracts.log, 2021_12_11_Voyager.comments.log
 		// reads comments and extracts files
 		filePaths.updateExtractsPaths(extractsFile);
-		allLines = VoyagerFileReadWriter.readVoyagerLogFiles(filePaths);
+		allLines = VoyagerFileReadWriter.readVoyagerLogFiles(Session.of(filePaths, logMatchers.getMatchers()));
 
 		System.out.println(String.format("\nExtracts & comments file lines: %d", allLines.size()));
 		allLines.stream().limit(n).forEach(p -> System.out.println(p));
@@ -242,7 +725,7 @@ public class VoyagerLogExtractor {
 		allLines.stream().skip(allLines.size() - n).forEach(p -> System.out.println(p));
 
 		// compile allExtracts = comments + log extracts
-		extractor.getTableExtractsFromFiles(filePaths);
+		extractor.getTableExtractsFromFiles(Session.of(filePaths, logMatchers.getMatchers()));
 		System.out.println(String.format("\nextractor allExtracts: %d", extractor.allExtracts.size()));
 		extractor.allExtracts.stream().limit(n).forEach(p -> System.out.println(p.toString()));
 		System.out.println();
@@ -282,8 +765,8 @@ public class VoyagerLogExtractor {
 		System.out.println("\nComment lines:");
 		commentLines.stream().forEach(p -> System.out.println(p.toString()));
 
-		extractor.saveLogExtracts(filePaths);
-		extractor.saveCommentExtracts(filePaths);
+		extractor.saveLogExtracts(Session.of(filePaths, logMatchers.getMatchers()));
+		extractor.saveCommentExtracts(Session.of(filePaths, logMatchers.getMatchers()));
 		
 		// status extracts and comments before adding new comment *********************************************
 //		commentExtracts = extractor.getCommentExtracts();
@@ -304,7 +787,7 @@ public class VoyagerLogExtractor {
 		// metrics ***********************************************************************************************
 		var metricsFile = "C:\\Users\\rlee1\\eclipse-workspace\\voyager\\jlogviewer\\log\\2022_02_02_Voyager.log";
 		filePaths.updateLogPaths(metricsFile);
-		extractor.compileAllExtractsFromFile(filePaths);
+		extractor.compileAllExtractsFromFile(Session.of(filePaths, logMatchers.getMatchers()));
 
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
 		var selectedMetricExtracts = extractor.getSelectedMetricExtracts();
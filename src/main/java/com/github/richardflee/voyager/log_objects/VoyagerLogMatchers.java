@@ -1,7 +1,11 @@
 package com.github.richardflee.voyager.log_objects;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.swing.JOptionPane;
 
 import com.github.richardflee.voyager.enums.MatchersTypeEnum;
 import com.github.richardflee.voyager.fileio.VoyagerFileReadWriter;
@@ -12,15 +16,22 @@ import com.github.richardflee.voyager.fileio.VoyagerFileReadWriter;
 public class VoyagerLogMatchers {
 
 	private static final int NFIELDS = 4;
-	private static final String CSV_HEADER = String.format("%s, %s, %s, %s", "Select", "Match Message",
-			"Preset Message", "Type");
+	private static final String CSV_HEADER = String.format("%s, %s, %s, %s, %s", "Select", "Match Message",
+			"Preset Message", "Type", "Mode");
 
-	private List<LogMatcher> matchers = null;
+	// list replaced as a whole when matchers are edited, reordered or reloaded from VoyagerLogViewer.csv
+	private volatile List<LogMatcher> matchers = null;
 
 	public VoyagerLogMatchers() {
-		this.matchers = compileMatchersFromFile();
 		// add comment matcher top of matchers list
-		matchers.add(0, new LogMatcher(true, LogMatcher.COMMENT_MATCH_TEXT, "", MatchersTypeEnum.COMMENT.toString()));
+		this.matchers = withCommentMatcher(compileMatchersFromFile());
+	}
+	
+	/**
+	 * @param matchers matchers compiled elsewhere, e.g. from an edited csv file, including comment matcher 
+	 */
+	public VoyagerLogMatchers(List<LogMatcher> matchers) {
+		this.matchers = matchers;
 	}
 	
 	/**
@@ -47,24 +58,64 @@ public class VoyagerLogMatchers {
 	// imports comma-delim text list from VoyagerLog.csv file and converts to
 	// a list of log matcher objects
 	private List<LogMatcher> compileMatchersFromFile() {
+		var csvBytes = VoyagerFileReadWriter.readLogMatchersBytes();
 		
+		// matchers with invalid regex or field expressions are skipped and listed in a single message
+		var errors = new ArrayList<String>();
+		var matchers = compileMatchers(csvBytes, errors);
+		if (errors.size() > 0) {
+			JOptionPane.showMessageDialog(null, getErrorsMessage(errors), "File Read", JOptionPane.INFORMATION_MESSAGE);
+		}
+		return matchers;
+	}
+	
+	/**
+	 * Compiles matchers list from VoyagerLogViewer.csv content, without comment matcher. Does not show dialogs,
+	 * so can be called on a background thread.
+	 * 
+	 * @param csvBytes VoyagerLogViewer.csv content, first line is header line
+	 * @param errors list to which invalid matcher lines and compile errors are added
+	 * @return compiled matchers, invalid matchers skipped
+	 */
+	public static List<LogMatcher> compileMatchers(byte[] csvBytes, List<String> errors) {
 		// import Voyager csv into allLines list
 		// remove CSV_HEADER line at top of list  
-		var allLines = VoyagerFileReadWriter.readLogMatchersFile();
-		
-		allLines.remove(0);
+		var allLines = new String(csvBytes, StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+		if (allLines.size() > 0) {
+			allLines.remove(0);
+		}
 		
-		// split lines and compile matchers list. First line is header line
+		// split lines and compile matchers list
 		var matchers = new ArrayList<LogMatcher>();
 		for (var line : allLines) {
-			var tokens = line.split(LogMatcher.CSV_DELIMITER);
-			if (tokens.length >= NFIELDS) {
-				matchers.add(new LogMatcher(line));
+			var tokens = LogMatcher.splitCsvLine(line);
+			if (tokens.size() >= NFIELDS) {
+				try {
+					matchers.add(new LogMatcher(line));
+				} catch (IllegalArgumentException e) {
+					errors.add(String.format("%s\n   %s", line, e.getMessage().lines().findFirst().orElse("")));
+				}
 			}
 		}
 		return matchers;
 	}
 	
+	/**
+	 * Adds comment matcher to top of compiled matchers list
+	 */
+	public static List<LogMatcher> withCommentMatcher(List<LogMatcher> matchers) {
+		matchers.add(0, new LogMatcher(true, LogMatcher.COMMENT_MATCH_TEXT, "", MatchersTypeEnum.COMMENT.toString()));
+		return matchers;
+	}
+	
+	/**
+	 * Compiles skipped matchers message from compileMatchers errors
+	 */
+	public static String getErrorsMessage(List<String> errors) {
+		return String.format("Skipped invalid matchers in VoyagerLogViewer.csv:\n%s",
+				errors.stream().collect(Collectors.joining("\n")));
+	}
+	
 	public List<LogMatcher> getMatchers() {
 		return matchers;
 	}
@@ -0,0 +1,21 @@
+package com.github.richardflee.voyager.models;
+
+import java.util.List;
+
+import com.github.richardflee.voyager.log_objects.LogExtract;
+
+/**
+ * Source of log extracts table rows, read on demand in pages by ExtractsTableModel
+ */
+public interface ExtractsStore {
+	
+	/**
+	 * @return total number of table rows
+	 */
+	public int size();
+	
+	/**
+	 * Returns table rows fromIndex (inclusive) to toIndex (exclusive)
+	 */
+	public List<LogExtract> getRows(int fromIndex, int toIndex);
+}
@@ -1,90 +1,164 @@
 package com.github.richardflee.voyager.models;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import javax.swing.table.AbstractTableModel;
 
+import com.github.richardflee.voyager.jfr.TableRefreshEvent;
 import com.github.richardflee.voyager.log_objects.LogExtract;
 
 /**
  * Model for displaying Voyager log data in log table tab; the table is a non-editable text table.
- * 
+ *
+ * <p>Rows are read on demand from an ExtractsStore. A window of rows around the last requested row is
+ * cached, so that only rows in the window are compiled from the extractor's table row positions and
+ * repainting does not re-compile collapsed run rows.</p>
  */
 
 public class ExtractsTableModel extends AbstractTableModel implements ExtractsTableListener {
 	private static final long serialVersionUID = 1L;
 
-	private List<LogExtract> tableRows;
+	// number of rows cached around last requested row
+	private static final int WINDOW_SIZE = 512;
+
+	private ExtractsStore store = null;
+
+	// cached rows windowStart to windowStart + window.size()
+	private List<LogExtract> window = null;
+	private int windowStart = 0;
+	
+	// extracts containing current search text
+	private Set<LogExtract> searchHits = null;
 
 	// header column names
-	private final static String headers[] = { "Time Stamp", "Log Message", "Type" };
+	private final static String headers[] = { "Time Stamp", "Log Message", "Type", "Source" };
 
 	public ExtractsTableModel() {
-		tableRows = new ArrayList<>();
+		this.store = new ListExtractsStore(null);
+		this.window = List.of();
+		this.searchHits = Set.of();
 	}
-	
+
 
 	/**
 	 * Returns true is log table is not empty, false otherwise
-	 * 
+	 *
 	 * @return true is log table is not empty, false otherwise
 	 */
 	public boolean isPopulated() {
-		return tableRows.size() > 0;
+		return store.size() > 0;
 	}
 
 	// updates table model data with new LogExtracts list
 	@Override
 	public void updateTable(List<LogExtract> currentTableRows) {
-		// repeat delete top row (index 0) until table is empty
-		// and fire RowsDeleted notification
-		int LastRow = tableRows.size();
-		while (tableRows.size() > 0) {
-			tableRows.remove(0);
+		updateTable(new ListExtractsStore(currentTableRows));
+	}
+
+	/**
+	 * Replaces table rows with rows read on demand from store and fires a single table changed notification
+	 *
+	 * @param currentStore source of log extracts table rows
+	 */
+	public void updateTable(ExtractsStore currentStore) {
+		var refreshEvent = new TableRefreshEvent();
+		refreshEvent.begin();
+
+		this.store = currentStore;
+		this.window = List.of();
+		this.windowStart = 0;
+		fireTableDataChanged();
+
+		refreshEvent.end();
+		if (refreshEvent.shouldCommit()) {
+			refreshEvent.model = getClass().getSimpleName();
+			refreshEvent.rows = store.size();
+			refreshEvent.commit();
 		}
-		fireTableRowsDeleted(0, LastRow);
-
-		// refill table rows, fire RowsInserted notification after each addition
-		if (currentTableRows != null) {
-			int idx = 0;
-			for (var tableRow : currentTableRows) {
-				addItem(idx, tableRow);
-				idx++;
-			}
+	}
+
+	/**
+	 * Returns log extract at table row, reloading cached window if row is outside current window
+	 *
+	 * @param rowIndex table row index
+	 * @return log extract at rowIndex
+	 */
+	public LogExtract getRow(int rowIndex) {
+		if (rowIndex < windowStart || rowIndex >= windowStart + window.size()) {
+			// centre new window on requested row
+			windowStart = Math.max(0, rowIndex - WINDOW_SIZE / 2);
+			var windowEnd = Math.min(store.size(), windowStart + WINDOW_SIZE);
+			window = store.getRows(windowStart, windowEnd);
 		}
+		return window.get(rowIndex - windowStart);
+	}
+
+	/**
+	 * Sets extracts to highlight as search hits and repaints table
+	 * 
+	 * @param hits extracts containing current search text 
+	 */
+	public void setSearchHits(Set<LogExtract> hits) {
+		this.searchHits = hits;
+		fireTableRowsUpdated(0, Math.max(0, getRowCount() - 1));
 	}
 	
-	private void addItem(int idx, LogExtract tableRow) {
-		tableRows.add(idx, tableRow);
-		fireTableRowsInserted(idx, idx);
+	/**
+	 * Returns true if extract at table row, or any extract in a collapsed run row, contains current search text
+	 */
+	public boolean isSearchHit(int rowIndex) {
+		return !searchHits.isEmpty() && getRow(rowIndex).getRunExtracts().stream().anyMatch(p -> searchHits.contains(p));
 	}
 	
+	/**
+	 * Returns index of next table row after fromRow containing search text, wrapping to top of table 
+	 * 
+	 * @param fromRow current selected row or -1
+	 * @return table row index of next search hit, or -1 if no hits
+	 */
+	public int nextSearchHit(int fromRow) {
+		int nRows = getRowCount();
+		for (int i = 1; i <= nRows && !searchHits.isEmpty(); i++) {
+			int row = (fromRow + i) % nRows;
+			if (row >= 0 && isSearchHit(row)) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
 	@Override
 	public int getRowCount() {
-		return  tableRows.size();
+		return  store.size();
 	}
 
 	@Override
 	public int getColumnCount() {
 		return headers.length;
 	}
-	
+
 	@Override
 	public Object getValueAt(int rowIndex, int columnIndex) {
 
-		var objectRow = tableRows.get(rowIndex);
+		var objectRow = getRow(rowIndex);
 		Object data = null;
 		switch (columnIndex) {
 		case 0:
 			data = (String) objectRow.getTimeStamp();
 			break;
 		case 1:
-			data = (String) objectRow.getMessageLine();
+			// saved frame header summary follows 'File FIT Saved' message
+			var header = objectRow.getFitsHeader();
+			data = (header == null) ? objectRow.getMessageLine()
+					: String.format("%s  [%s]", objectRow.getMessageLine(), header.getSummary());
 			break;
 		case 2:
 			data = (String) objectRow.getMessageType();
 			break;
+		case 3:
+			data = (String) objectRow.getSource();
+			break;
 		}
 		return data;
 	}
@@ -93,7 +167,7 @@ public class ExtractsTableModel extends AbstractTableModel implements ExtractsTa
 //	public void setValueAt(Object value, int rowIndex, int columnIndex) {
 //		// placeholder => data model not editable
 //	}
-	
+
 	@Override
 	public String getColumnName(int column) {
 		return headers[column];
@@ -110,4 +184,3 @@ public class ExtractsTableModel extends AbstractTableModel implements ExtractsTa
 	}
 
 }
-
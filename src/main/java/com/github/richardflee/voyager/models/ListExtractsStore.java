@@ -0,0 +1,29 @@
+package com.github.richardflee.voyager.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.richardflee.voyager.log_objects.LogExtract;
+
+/**
+ * Extracts table store backed by a list of log extracts. Lists returned by VoyagerLogExtractor.getTableExtracts 
+ * hold extract list positions and compile rows on demand, so a page of rows is copied once when read.
+ */
+public class ListExtractsStore implements ExtractsStore {
+	
+	private List<LogExtract> extracts = null;
+	
+	public ListExtractsStore(List<LogExtract> extracts) {
+		this.extracts = (extracts != null) ? extracts : List.of();
+	}
+
+	@Override
+	public int size() {
+		return extracts.size();
+	}
+
+	@Override
+	public List<LogExtract> getRows(int fromIndex, int toIndex) {
+		return new ArrayList<>(extracts.subList(fromIndex, toIndex));
+	}
+}
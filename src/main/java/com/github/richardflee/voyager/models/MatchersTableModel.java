@@ -5,6 +5,7 @@ import java.util.List;
 
 import javax.swing.table.AbstractTableModel;
 
+import com.github.richardflee.voyager.jfr.TableRefreshEvent;
 import com.github.richardflee.voyager.log_objects.LogMatcher;
 
 /**
@@ -12,15 +13,24 @@ import com.github.richardflee.voyager.log_objects.LogMatcher;
  * view of list of matchers table data.
  * 
  *  <p>Column 0 is boolean with check boxes to select / de-select individual matcher text lines</p>
+ *  <p>Column 4 lists match mode TEXT, REGEX or FIELD</p>
+ *  <p>Columns 5 and 6 list hit count and cumulative match time compiled in the last log extraction</p>
  */
 public class MatchersTableModel extends AbstractTableModel {
 	private static final long serialVersionUID = 1L;
 
 	// dataset
 	private List<LogMatcher> tableRows;
+	
+	// true after first log extraction compiles matcher statistics
+	private boolean hasStatistics = false;
+	
+	// matchers with match time above this multiple of the mean are flagged as expensive
+	private static final double EXPENSIVE_FACTOR = 2.0;
 
 	// header column names
-	private final static String headers[] = { "Use", "Matching Text", "Preset Message", "Message Type" };
+	private final static String headers[] = { "Use", "Matching Text", "Preset Message", "Message Type", 
+			"Mode", "Hits", "Match Time (ms)" };
 
 	public MatchersTableModel() {
 		tableRows = new ArrayList<>();
@@ -28,6 +38,9 @@ public class MatchersTableModel extends AbstractTableModel {
 
 	// updates table model data with new matchers list
 	public void updateTable(List<LogMatcher> currentTableRows) {
+		var refreshEvent = new TableRefreshEvent();
+		refreshEvent.begin();
+
 		// clears table and fires RowsDeleted notification
 		int LastRow = tableRows.size();
 		while (tableRows.size() > 0) {
@@ -43,6 +56,13 @@ public class MatchersTableModel extends AbstractTableModel {
 				idx++;
 			}
 		}
+		
+		refreshEvent.end();
+		if (refreshEvent.shouldCommit()) {
+			refreshEvent.model = getClass().getSimpleName();
+			refreshEvent.rows = tableRows.size();
+			refreshEvent.commit();
+		}
 	}
 	
 	private void addItem(int idx, LogMatcher tableRow) {
@@ -79,10 +99,49 @@ public class MatchersTableModel extends AbstractTableModel {
 			break;
 		case 3:		// message type, IFO, CRITICAL etc
 			data = (String) objectRow.getMessageType();
+			break;
+		case 4:		// match mode, sub string, regex or field expression
+			data = (String) objectRow.getMatchMode().toString();
+			break;
+		case 5:		// number of log lines attributed to this matcher
+			data = String.format("%d", objectRow.getHitCount());
+			break;
+		case 6:		// cumulative time testing log lines against this matcher
+			data = String.format("%.1f", objectRow.getMatchNanos() * 1e-6);
+			break;
 		}
 		return data;
 	}
 
+	/**
+	 * Notifies table that hit count and match time columns have changed following a log extraction
+	 */
+	public void updateStatistics() {
+		// statistics available once any matcher has been timed, i.e. import dialog not cancelled
+		this.hasStatistics = tableRows.stream().anyMatch(p -> p.getMatchNanos() > 0);
+		if (tableRows.size() > 0) {
+			fireTableRowsUpdated(0, tableRows.size() - 1);
+		}
+	}
+
+	/**
+	 * Returns true if no log lines were attributed to matcher in table row in the last log extraction
+	 */
+	public boolean isUnusedMatcher(int rowIndex) {
+		return hasStatistics && tableRows.get(rowIndex).getHitCount() == 0;
+	}
+	
+	/**
+	 * Returns true if matcher in table row match time exceeds EXPENSIVE_FACTOR x mean matcher time
+	 */
+	public boolean isExpensiveMatcher(int rowIndex) {
+		if (!hasStatistics || tableRows.size() == 0) {
+			return false;
+		}
+		var meanNanos = tableRows.stream().mapToLong(p -> p.getMatchNanos()).average().orElse(0.0);
+		return tableRows.get(rowIndex).getMatchNanos() > EXPENSIVE_FACTOR * meanNanos;
+	}
+
 	// user can select or de-select column 0 boolean check box
 	@Override
 	public void setValueAt(Object value, int rowIndex, int columnIndex) {
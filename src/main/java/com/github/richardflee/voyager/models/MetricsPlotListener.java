@@ -0,0 +1,18 @@
+package com.github.richardflee.voyager.models;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.github.richardflee.voyager.log_objects.GuideFrames;
+import com.github.richardflee.voyager.log_objects.LogMetric;
+
+@FunctionalInterface
+public interface MetricsPlotListener {
+	public void updatePlot(List<LogMetric> metrics, LocalDate startDate);
+
+	/**
+	 * Updates per-frame guiding plot with downsampled PHD2 guide frames
+	 */
+	public default void updateGuidePlot(GuideFrames frames, LocalDate startDate) {
+	}
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 import javax.swing.table.AbstractTableModel;
 
+import com.github.richardflee.voyager.jfr.TableRefreshEvent;
 import com.github.richardflee.voyager.log_objects.LogMetric;
 
 /**
@@ -21,7 +22,9 @@ public class MetricsTableModel extends AbstractTableModel implements MetricsTabl
 			"Time Stamp",
 			"Filter", "HFD", "Temp", "Pos", "Time",
 			"Ra", "Dec",
-			"Pointing"
+			"Pointing",
+			"Frame Filter", "Exp", "CCD Temp",
+			"Anomaly"
 	};
 	
 	public MetricsTableModel() {
@@ -38,6 +41,9 @@ public class MetricsTableModel extends AbstractTableModel implements MetricsTabl
 	// updates table model data with new LogMetrics list
 	@Override
 	public void updateTable(List<LogMetric> currentTableRows) {
+		var refreshEvent = new TableRefreshEvent();
+		refreshEvent.begin();
+
 		// repeat delete top row (index 0) until table is empty
 		// and fire RowsDeleted notification
 		int LastRow = tableRows.size();
@@ -54,6 +60,13 @@ public class MetricsTableModel extends AbstractTableModel implements MetricsTabl
 				idx++;
 			}
 		}
+		
+		refreshEvent.end();
+		if (refreshEvent.shouldCommit()) {
+			refreshEvent.model = getClass().getSimpleName();
+			refreshEvent.rows = tableRows.size();
+			refreshEvent.commit();
+		}
 	}
 	
 	private void addItem(int idx, LogMetric tableRow) {
@@ -61,6 +74,13 @@ public class MetricsTableModel extends AbstractTableModel implements MetricsTabl
 		fireTableRowsInserted(idx, idx);
 	}
 	
+	/**
+	 * Returns true if metric in table row has an anomalous value
+	 */
+	public boolean isAnomaly(int rowIndex) {
+		return tableRows.get(rowIndex).isAnomaly();
+	}
+	
 	@Override
 	public int getRowCount() {
 		return  tableRows.size();
@@ -103,7 +123,19 @@ public class MetricsTableModel extends AbstractTableModel implements MetricsTabl
 			break;
 		case 8:
 			data = (String) objectRow.getSlewPointing();
-			break;			
+			break;
+		case 9:
+			data = (String) objectRow.getFrameFilter();
+			break;
+		case 10:
+			data = (String) objectRow.getFrameExposure();
+			break;
+		case 11:
+			data = (String) objectRow.getFrameCcdTemp();
+			break;
+		case 12:
+			data = (String) objectRow.getAnomaly();
+			break;
 		}
 		return data;
 	}
@@ -0,0 +1,84 @@
+package com.github.richardflee.voyager.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Start-up benchmark for the shaded jar. Launches the viewer repeatedly in a child JVM with and
+ * without a CDS archive and reports min / median / max time from Main.main to first paint.
+ *
+ * <p>Usage: StartupBenchmark jar-path [runs] [archive-path]</p>
+ * <p>Run from a working folder containing VoyagerLogViewer.csv and log\extracts folder.</p>
+ */
+public class StartupBenchmark {
+
+	private static final int DEFAULT_RUNS = 5;
+
+	/**
+	 * Launches viewer jar runs times, each run exits after first paint
+	 *
+	 * @param jarPath path to shaded jar
+	 * @param archivePath path to CDS archive, or null for default JDK archive
+	 * @param runs number of launches
+	 * @return start-up times in ms, main to first paint
+	 */
+	public static List<Double> measure(Path jarPath, Path archivePath, int runs) throws IOException, InterruptedException {
+		var javaPath = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+		var times = new ArrayList<Double>();
+		for (int i = 0; i < runs; i++) {
+			var command = new ArrayList<String>();
+			command.add(javaPath);
+			if (archivePath != null) {
+				command.add("-XX:SharedArchiveFile=" + archivePath.toString());
+			}
+			command.add("-D" + StartupTimer.EXIT_PROPERTY + "=true");
+			command.add("-jar");
+			command.add(jarPath.toString());
+
+			var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+				String line = null;
+				while ((line = reader.readLine()) != null) {
+					if (line.startsWith(StartupTimer.REPORT_PREFIX)) {
+						var token = line.substring(StartupTimer.REPORT_PREFIX.length()).split(" ")[0];
+						times.add(Double.valueOf(token));
+					}
+				}
+			}
+			process.waitFor();
+		}
+		return times;
+	}
+
+	private static String summary(String label, List<Double> times) {
+		if (times.isEmpty()) {
+			return String.format("%-12s no start-up times reported", label);
+		}
+		var sorted = new ArrayList<Double>(times);
+		Collections.sort(sorted);
+		return String.format("%-12s runs=%d min=%.1f ms median=%.1f ms max=%.1f ms", label, sorted.size(),
+				sorted.get(0), sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.out.println("Usage: StartupBenchmark jar-path [runs] [archive-path]");
+			return;
+		}
+		var jarPath = Paths.get(args[0]);
+		var runs = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_RUNS;
+		var archivePath = (args.length > 2) ? Paths.get(args[2]) : null;
+
+		System.out.println(summary("default CDS", measure(jarPath, null, runs)));
+		if (archivePath != null && Files.exists(archivePath)) {
+			System.out.println(summary("AppCDS", measure(jarPath, archivePath, runs)));
+		}
+	}
+}
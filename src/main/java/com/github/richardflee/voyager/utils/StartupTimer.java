@@ -0,0 +1,79 @@
+package com.github.richardflee.voyager.utils;
+
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Measures start-up time from Main.main to first paint of the viewer window.
+ *
+ * <p>System properties:</p>
+ * <p>jlogviewer.startup.report=true prints start-up time and appends it to startup.csv in the working folder</p>
+ * <p>jlogviewer.startup.exit=true reports start-up time and exits after first paint; used for CDS training
+ * and start-up benchmark runs</p>
+ */
+public class StartupTimer {
+
+	public static final String REPORT_PROPERTY = "jlogviewer.startup.report";
+	public static final String EXIT_PROPERTY = "jlogviewer.startup.exit";
+
+	// line prefix parsed by StartupBenchmark
+	public static final String REPORT_PREFIX = "startup-ms=";
+
+	private static final String STARTUP_CSV_FILENAME = "startup.csv";
+
+	private static long mainNanos = 0;
+	private static long mainUptimeMillis = 0;
+	private static boolean painted = false;
+
+	/**
+	 * Marks entry to Main.main
+	 */
+	public static void start() {
+		mainNanos = System.nanoTime();
+		mainUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+
+	/**
+	 * Marks first paint of the viewer window, subsequent calls are ignored
+	 */
+	public static void firstPaint() {
+		if (painted || mainNanos == 0) {
+			return;
+		}
+		painted = true;
+		var startupMillis = (System.nanoTime() - mainNanos) * 1e-6;
+
+		var exit = Boolean.getBoolean(EXIT_PROPERTY);
+		if (exit || Boolean.getBoolean(REPORT_PROPERTY)) {
+			System.out.println(String.format("%s%.1f jvm-ms=%d", REPORT_PREFIX, startupMillis, mainUptimeMillis));
+			appendStartupCsv(startupMillis);
+		}
+		if (exit) {
+			// exit after current paint completes so that CDS archive dump includes paint classes
+			EventQueue.invokeLater(() -> System.exit(0));
+		}
+	}
+
+	/*
+	 * Appends time stamp, start-up time, jvm boot time and CDS archive state to startup.csv
+	 */
+	private static void appendStartupCsv(double startupMillis) {
+		var csvPath = Paths.get(System.getProperty("user.dir"), STARTUP_CSV_FILENAME);
+		var sharedArchive = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+				.anyMatch(p -> p.startsWith("-XX:SharedArchiveFile"));
+		var line = String.format("%s,%.1f,%d,%b", LocalDateTime.now().toString(), startupMillis, mainUptimeMillis,
+				sharedArchive);
+		try (var pw = new PrintWriter(Files.newBufferedWriter(csvPath, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND))) {
+			pw.println(line);
+		} catch (IOException e) {
+			System.err.println(String.format("Failed to write start-up times: %s", csvPath.toString()));
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.github.richardflee.voyager.utils;
 
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -14,6 +15,7 @@ import com.github.richardflee.voyager.log_objects.LogExtract;
 public class VoyagerDateTimes {
 	// start end session time
 	public static final LocalTime NOON = LocalTime.of(12, 0, 0, 0);
+	public static final long SESSION_MILLIS = 24 * 3600 * 1000L;
 	
 	// datetime patterns
 	public static final String FILE_PREFIXDATE_PATTERN = "yyyy_MM_dd";
@@ -45,6 +47,43 @@ public class VoyagerDateTimes {
 		return LocalTime.parse(s, VoyagerDateTimes.EXTRACTS_TIMESTAMP_FORMATTER);
 	}
 	
+	/**
+	 * Converts LogExtracts time stamp to date time in session starting at noon on startDate; 
+	 * times before noon are on the next day
+	 */
+	public static LocalDateTime extractsTimeStampToSessionDateTime(String timeStamp, LocalDate startDate) {
+		var time = extractsTimeStampToLocalDate(timeStamp);
+		var date = (time.isBefore(NOON)) ? startDate.plusDays(1) : startDate;
+		return LocalDateTime.of(date, time);
+	}
+	
+	/**
+	 * Converts time of day to milli-secs elapsed since session start at noon; times before noon are on the next day
+	 */
+	public static long sessionMillis(LocalTime time) {
+		var ms = (time.toNanoOfDay() - NOON.toNanoOfDay()) / 1_000_000L;
+		return (ms < 0) ? ms + SESSION_MILLIS : ms;
+	}
+	
+	/**
+	 * Converts LogExtracts time stamp format 'HH:mm:ss.SSS =>' to milli-secs elapsed since session start at noon.
+	 * Parses fixed digit positions, used to build time index over all extracts 
+	 */
+	public static long extractsTimeStampToSessionMillis(String timeStamp) {
+		var ms = digits(timeStamp, 0, 2) * 3_600_000L + digits(timeStamp, 3, 2) * 60_000L
+				+ digits(timeStamp, 6, 2) * 1000L + digits(timeStamp, 9, 3) - NOON.toSecondOfDay() * 1000L;
+		return (ms < 0) ? ms + SESSION_MILLIS : ms;
+	}
+	
+	// parses n decimal digits starting at idx
+	private static long digits(String s, int idx, int n) {
+		long value = 0;
+		for (int i = idx; i < idx + n; i++) {
+			value = value * 10 + (s.charAt(i) - '0');
+		}
+		return value;
+	}
+	
 	public static void main(String[] args) {
 		LocalDateTime localDateTime = LocalDateTime.parse("2019-11-15T13:15:30");
 		System.out.println(localDateTime.toString());
@@ -54,6 +93,8 @@ public class VoyagerDateTimes {
 		var timeStamp = "12:34:56.789 =>";
 		System.out.println(timeStamp);
 		System.out.println(VoyagerDateTimes.extractsTimeStampToLocalDate(timeStamp).toString());
+		System.out.println(VoyagerDateTimes.extractsTimeStampToSessionMillis(timeStamp));
+		System.out.println(VoyagerDateTimes.extractsTimeStampToSessionMillis("03:00:00.000 =>"));
 		
 	}
 }
@@ -1,12 +1,41 @@
 package com.github.richardflee.voyager.viewer;
 
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+
+import com.github.richardflee.voyager.fileio.GuideLogReader;
+import com.github.richardflee.voyager.fileio.Session;
 import com.github.richardflee.voyager.fileio.VoyagerPaths;
+import com.github.richardflee.voyager.log_objects.FitsHeaderScanner;
+import com.github.richardflee.voyager.log_objects.GuideFrames;
+import com.github.richardflee.voyager.log_objects.LogExtract;
+import com.github.richardflee.voyager.log_objects.LogMatcher;
 import com.github.richardflee.voyager.log_objects.LogMetric;
+import com.github.richardflee.voyager.log_objects.MatcherOrderOptimizer;
+import com.github.richardflee.voyager.log_objects.MatchersFileWatcher;
+import com.github.richardflee.voyager.log_objects.MetricsTrendStore;
+import com.github.richardflee.voyager.log_objects.SessionComparator;
 import com.github.richardflee.voyager.log_objects.VoyagerLogExtractor;
 import com.github.richardflee.voyager.log_objects.VoyagerLogMatchers;
 import com.github.richardflee.voyager.models.ExtractsTableListener;
+import com.github.richardflee.voyager.models.ExtractsTableModel;
 import com.github.richardflee.voyager.models.MatchersTableModel;
+import com.github.richardflee.voyager.models.MetricsPlotListener;
 import com.github.richardflee.voyager.models.MetricsTableListener;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
 
 /**
  * This class handles button click and other events fired in viewer ui
@@ -14,9 +43,12 @@ import com.github.richardflee.voyager.models.MetricsTableListener;
 
 public class ActionHandler {
 
-	// Voyager log file paths
+	// Voyager log file paths, derived from user-selected file
 	private VoyagerPaths voyagerFilePaths = null;
 	
+	// current session dates, paths and matchers, replaced on each import
+	private Session session = null;
+	
 	// encapsulates log matching lines listed in VoyagerLogViewer.csv
 	private VoyagerLogMatchers logsMatcher = null;
 	
@@ -26,6 +58,20 @@ public class ActionHandler {
 	// reference to listener to update log table events
 	private ExtractsTableListener extractsTableListener = null;
 	private MetricsTableListener metricsTableListener = null;
+	private MetricsPlotListener metricsPlotListener = null;
+	
+	// reads headers of frames saved in session, on a background thread after each import
+	private FitsHeaderScanner fitsScanner = null;
+	
+	// recompiles matchers when VoyagerLogViewer.csv changes, null until started
+	private MatchersFileWatcher matchersWatcher = null;
+	
+	// PHD2 guide frames for session start date guideFramesDate, read in background on first plot of a session
+	private GuideFrames guideFrames = null;
+	private LocalDate guideFramesDate = null;
+	
+	// session start date of guide logs being read on a background thread, null if none
+	private LocalDate guideLoadDate = null;
 	
 
 	// create file and log objects
@@ -33,6 +79,8 @@ public class ActionHandler {
 		this.voyagerFilePaths = new VoyagerPaths();
 		this.logsMatcher = logsMatcher;
 		this.extractor = new VoyagerLogExtractor(logsMatcher);
+		this.session = Session.of(voyagerFilePaths, logsMatcher.getMatchers());
+		this.fitsScanner = new FitsHeaderScanner();
 	}
 
 	public void setTableListeners(ExtractsTableListener extractsTableListener, MetricsTableListener metricsTableListener) {
@@ -40,6 +88,13 @@ public class ActionHandler {
 		this.metricsTableListener = metricsTableListener;
 	}
 
+	/**
+	 * Sets listener to metrics plot update events; the plot is created on first selection of the plot tab
+	 */
+	public void setPlotListener(MetricsPlotListener metricsPlotListener) {
+		this.metricsPlotListener = metricsPlotListener;
+	}
+
 	/**
 	 * Populates log table with time-stamped log lines from user-selected Voyager log file , taken 
 	 * over 24 hrs from start date noon to next day noon. 
@@ -48,8 +103,10 @@ public class ActionHandler {
 	public void doImportFromVoyagerLogFile(String dialogFile) {
 		// populates log table if valid log filename selected
 		if (this.voyagerFilePaths.updateLogPaths(dialogFile)) {
-			var tableExtracts = this.extractor.getTableExtractsFromFiles(this.voyagerFilePaths);
+			this.session = Session.of(this.voyagerFilePaths, this.logsMatcher.getMatchers());
+			var tableExtracts = this.extractor.getTableExtractsFromFiles(this.session);
 			this.extractsTableListener.updateTable(tableExtracts);
+			startFitsScan();
 		}
 	}
 	
@@ -59,17 +116,89 @@ public class ActionHandler {
 	public void doImportFromExtractsFiles(String dialogFile) {
 		// populates log table if valid extracts filename selected
 		if (this.voyagerFilePaths.updateExtractsPaths(dialogFile)) {
-			var tableExtracts = this.extractor.getTableExtractsFromFiles(this.voyagerFilePaths);
+			this.session = Session.of(this.voyagerFilePaths, this.logsMatcher.getMatchers());
+			var tableExtracts = this.extractor.getTableExtractsFromFiles(this.session);
 			this.extractsTableListener.updateTable(tableExtracts);
+			startFitsScan();
+		}
+	}
+	
+	
+	/**
+	 * Highlights log table rows containing search text
+	 * 
+	 * @param query search text, blank query clears highlights
+	 * @param model log table model
+	 * @return number of extracts containing search text
+	 */
+	public int doSearchExtracts(String query, ExtractsTableModel model) {
+		var hits = this.extractor.searchExtracts(query);
+		model.setSearchHits(hits);
+		return hits.size();
+	}
+	
+	/**
+	 * Limits log table to extracts with time stamps in range from - to, e.g. 22:00 - 23:30. Blank from and to 
+	 * fields clear the range; a single blank field defaults to session start or end at noon.
+	 * 
+	 * @param from range start time HH:mm or HH:mm:ss
+	 * @param to range end time HH:mm or HH:mm:ss
+	 * @return true if range updated, false if input time is invalid
+	 */
+	public boolean doSetTimeRange(String from, String to) {
+		if (from.isBlank() && to.isBlank()) {
+			this.extractor.clearTimeRange();
+		} else {
+			try {
+				var fromTime = from.isBlank() ? VoyagerDateTimes.NOON : LocalTime.parse(from.trim());
+				var toTime = to.isBlank() ? VoyagerDateTimes.NOON.minusNanos(1) : LocalTime.parse(to.trim());
+				this.extractor.setTimeRange(fromTime, toTime);
+			} catch (DateTimeParseException e) {
+				var message = String.format("Invalid time range '%s' - '%s', enter times as HH:mm or HH:mm:ss", from, to);
+				JOptionPane.showMessageDialog(null, message, "Time Range", JOptionPane.INFORMATION_MESSAGE);
+				return false;
+			}
+		}
+		doHandleTabChange(0);
+		return true;
+	}
+	
+	/**
+	 * Sets log table collapse mode, runs of consecutive extracts from the same matcher are listed as single rows
+	 * 
+	 * @param collapseRuns true to collapse runs, false to list every extract
+	 */
+	public void doSetCollapseRuns(boolean collapseRuns) {
+		this.extractor.setCollapseRuns(collapseRuns);
+		doHandleTabChange(0);
+	}
+	
+	/**
+	 * Expands a collapsed run row to list the individual run extracts
+	 * 
+	 * @param row selected log table row
+	 * @return true if table updated, false if row is not a collapsed run
+	 */
+	public boolean doExpandRun(LogExtract row) {
+		if (!this.extractor.expandRun(row)) {
+			return false;
 		}
+		doHandleTabChange(0);
+		return true;
 	}
 	
+	/**
+	 * Returns current session log file name(s) 
+	 */
+	public String getLogFilesNames() {
+		return this.session.getLogFilesNames();
+	}
 	
 	/**
 	 * Adds a single user comment 
 	 */
 	public void doAddCommentLine() {
-		extractor.getUserComment();
+		extractor.getUserComment(session.getStartDate());
 		doHandleTabChange(0); 
 	}
 	
@@ -77,13 +206,22 @@ public class ActionHandler {
 	 * Saves current log table data to extracts file
 	 */
 	public void doSaveLogExtractsToFile() {
-		extractor.saveLogExtractsToFiles(voyagerFilePaths);
+		extractor.saveLogExtractsToFiles(session);
 	}
 	
 	public void doSaveMetricsToFile() {
 		var metricExtracts = extractor.getSelectedMetricExtracts();
 		var selectedMetrics = LogMetric.getSelectedMetrics(metricExtracts);
-		LogMetric.saveSelectedMetrics(selectedMetrics, voyagerFilePaths);
+		LogMetric.saveSelectedMetrics(selectedMetrics, session);
+		
+		// session metrics replace any earlier metrics for the same night in trend store
+		var storePath = VoyagerPaths.getPathToTrendStoreFile();
+		try {
+			new MetricsTrendStore(storePath).append(session.getStartDate(), selectedMetrics);
+		} catch (IOException e) {
+			var message = String.format("Error writing metrics trend store: %s", storePath.toString());
+			JOptionPane.showMessageDialog(null, message, "Metrics Trend Store", JOptionPane.ERROR_MESSAGE);
+		}
 	}
 	
 
@@ -102,6 +240,9 @@ public class ActionHandler {
 			var metricExtracts = extractor.getSelectedMetricExtracts();
 			var metrics = LogMetric.getSelectedMetrics(metricExtracts);
 			this.metricsTableListener.updateTable(metrics);
+		// metrics plot tab
+		} else if (selectedIndex == 3) {
+			doPlotMetrics();
 		}
 	}
 
@@ -148,12 +289,203 @@ public class ActionHandler {
 		this.logsMatcher.saveMatchersToFile();
 	}
 	
+	/**
+	 * Compares current Voyager log session with user-selected session, report lists per-matcher event count 
+	 * changes and guiding and focus metric distribution changes. Current session extracts are compared as
+	 * session A; session B is read and extracted in the background, and the report shown when complete.
+	 * 
+	 * @param dialogFile full path to session B Voyager log file, blank if dialog cancelled
+	 */
+	public void doCompareSessions(String dialogFile) {
+		if (dialogFile.isBlank()) {
+			return;
+		}
+		if (this.session.getCommentsPath() != null || this.session.getLogPaths().isEmpty()) {
+			var message = "Open a Voyager log file to compare with another session";
+			JOptionPane.showMessageDialog(null, message, "Compare Sessions", JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+		var dateA = this.session.getStartDate();
+		var extractsA = List.copyOf(this.extractor.getAllExtracts());
+		var matchersA = this.extractor.getExtractedMatchers();
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return SessionComparator.compare(dateA, extractsA, matchersA, Paths.get(dialogFile));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).whenComplete((diff, e) -> EventQueue.invokeLater(() -> {
+			if (e != null) {
+				// unwrap CompletionException and UncheckedIOException
+				var cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+				cause = (cause instanceof UncheckedIOException) ? cause.getCause() : cause;
+				var message = String.format("Error comparing sessions: %s", cause.getMessage());
+				JOptionPane.showMessageDialog(null, message, "Compare Sessions", JOptionPane.ERROR_MESSAGE);
+				return;
+			}
+			var textArea = new JTextArea(String.join("\n", diff.getReportLines()), 30, 100);
+			textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+			textArea.setEditable(false);
+			JOptionPane.showMessageDialog(null, new JScrollPane(textArea), "Compare Sessions",
+					JOptionPane.PLAIN_MESSAGE);
+		}));
+	}
+	
+	/**
+	 * Reorders matchers so that frequently hit matchers are tested first and saves new order to 
+	 * VoyagerLogViewer.csv. Hit counts from the last log import rank matchers; only matchers that no log line 
+	 * can match together are reordered, so line attribution is unchanged for every session.
+	 */
+	public void doOptimiseMatcherOrder(MatchersTableModel model) {
+		var matchers = this.logsMatcher.getMatchers();
+		if (matchers.stream().allMatch(p -> p.getHitCount() == 0)) {
+			var message = "Import a Voyager log file to compile matcher hit counts";
+			JOptionPane.showMessageDialog(null, message, "Optimise Matchers", JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+		var optimisedMatchers = new MatcherOrderOptimizer().optimise(matchers);
+		if (optimisedMatchers.equals(matchers)) {
+			var message = "No matchers can be reordered without changing which matcher a log line is attributed to";
+			JOptionPane.showMessageDialog(null, message, "Optimise Matchers", JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+		this.logsMatcher.setMatchers(optimisedMatchers);
+		model.updateTable(optimisedMatchers);
+		this.logsMatcher.saveMatchersToFile();
+	}
+	
+	/**
+	 * Replaces matchers list after matchers are added, removed or edited. Current session extracts are 
+	 * updated incrementally from cached log lines, without re-reading Voyager log files.
+	 * 
+	 * @param matchers new matchers list including comment matcher
+	 * @param model matchers table model
+	 */
+	public void doUpdateMatchers(List<LogMatcher> matchers, MatchersTableModel model) {
+		this.logsMatcher.setMatchers(matchers);
+		model.updateTable(matchers);
+		var tableExtracts = this.extractor.updateExtractsForMatchers();
+		this.extractsTableListener.updateTable(tableExtracts);
+		model.updateStatistics();
+		startFitsScan();
+	}
+	
+	/**
+	 * Watches VoyagerLogViewer.csv for changes made outside the matchers table, e.g. in a text editor. Matchers 
+	 * are recompiled on a background thread and swapped in on the EDT, then current session extracts are 
+	 * updated for changed matchers only.
+	 * 
+	 * @param model matchers table model
+	 */
+	public void startMatchersWatcher(MatchersTableModel model) {
+		this.matchersWatcher = new MatchersFileWatcher(VoyagerPaths.getPathToMatchersFile(),
+				(matchers, errors) -> EventQueue.invokeLater(() -> doReloadMatchers(matchers, errors, model)));
+		try {
+			this.matchersWatcher.start();
+		} catch (IOException e) {
+			var message = String.format("Error watching matchers file: %s\nEdits to %s are not reloaded until restart",
+					e.getMessage(), VoyagerPaths.getPathToMatchersFile().getFileName());
+			JOptionPane.showMessageDialog(null, message, "File Read", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+	
+	/*
+	 * Swaps in matchers recompiled from VoyagerLogViewer.csv, unless unchanged e.g. after a matchers table save
+	 */
+	private void doReloadMatchers(List<LogMatcher> matchers, List<String> errors, MatchersTableModel model) {
+		if (!errors.isEmpty()) {
+			var message = VoyagerLogMatchers.getErrorsMessage(errors);
+			JOptionPane.showMessageDialog(null, message, "File Read", JOptionPane.INFORMATION_MESSAGE);
+		}
+		if (!matchers.equals(this.logsMatcher.getMatchers())) {
+			doUpdateMatchers(matchers, model);
+		}
+	}
+	
+	/*
+	 * Reads headers of frames named in session 'File FIT Saved' extracts on a background thread, then refreshes
+	 * log and metrics tables if the session is unchanged
+	 */
+	private void startFitsScan() {
+		var extracts = List.copyOf(this.extractor.getAllExtracts());
+		if (extracts.stream().noneMatch(p -> p.getLogLine().contains(FitsHeaderScanner.FIT_SAVED_TEXT))) {
+			return;
+		}
+		var scanSession = this.session;
+		CompletableFuture.runAsync(() -> {
+			try {
+				this.fitsScanner.scan(extracts);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			EventQueue.invokeLater(() -> {
+				if (scanSession == this.session) {
+					this.extractsTableListener.updateTable(this.extractor.getTableExtracts());
+					if (this.metricsTableListener != null) {
+						var metrics = LogMetric.getSelectedMetrics(this.extractor.getSelectedMetricExtracts());
+						this.metricsTableListener.updateTable(metrics);
+					}
+				}
+			});
+		});
+	}
+	
+	/**
+	 * Updates metrics plot with current selected metrics data, PHD2 guide frames are plotted when loaded
+	 */
 	public void doPlotMetrics() {
-		System.out.println("Metrics plotter!!");
-		
-		// TTDO plotter
-		
-		
+		if (this.metricsPlotListener != null) {
+			var metricExtracts = extractor.getSelectedMetricExtracts();
+			var metrics = LogMetric.getSelectedMetrics(metricExtracts);
+			this.metricsPlotListener.updatePlot(metrics, session.getStartDate());
+			startGuideFramesLoad();
+		}
+	}
+	
+	/*
+	 * Plots PHD2 guide frames for current session. Guide logs are read on a background thread on first plot of a 
+	 * session start date, then plotted if the session is unchanged
+	 */
+	private void startGuideFramesLoad() {
+		var startDate = session.getStartDate();
+		if (startDate.equals(guideFramesDate)) {
+			this.metricsPlotListener.updateGuidePlot(guideFrames, startDate);
+			return;
+		}
+		// clear previous session frames while loading
+		this.metricsPlotListener.updateGuidePlot(new GuideFrames(), startDate);
+		if (startDate.equals(guideLoadDate)) {
+			return;
+		}
+		this.guideLoadDate = startDate;
+		var loadSession = this.session;
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return GuideLogReader.readGuideLogs(VoyagerPaths.getGuideLogPaths(startDate), startDate);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).whenComplete((frames, e) -> EventQueue.invokeLater(() -> {
+			if (startDate.equals(this.guideLoadDate)) {
+				this.guideLoadDate = null;
+			}
+			if (loadSession != this.session) {
+				return;
+			}
+			if (e != null) {
+				// unwrap CompletionException and UncheckedIOException
+				var cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+				cause = (cause instanceof UncheckedIOException) ? cause.getCause() : cause;
+				var message = String.format("Error reading PHD2 guide logs:\n %s", cause.getMessage());
+				JOptionPane.showMessageDialog(null, message, "File Read", JOptionPane.INFORMATION_MESSAGE);
+			}
+			this.guideFrames = (e == null) ? frames : new GuideFrames();
+			this.guideFramesDate = startDate;
+			if (this.metricsPlotListener != null) {
+				this.metricsPlotListener.updateGuidePlot(this.guideFrames, startDate);
+			}
+		}));
 	}
 
 }
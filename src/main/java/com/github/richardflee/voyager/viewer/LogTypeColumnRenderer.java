@@ -1,5 +1,6 @@
 package com.github.richardflee.voyager.viewer;
 
+import java.awt.Color;
 import java.awt.Component;
 
 import javax.swing.JTable;
@@ -11,6 +12,9 @@ import com.github.richardflee.voyager.models.ExtractsTableModel;
 public class LogTypeColumnRenderer extends DefaultTableCellRenderer {
 	private static final long serialVersionUID = 1L;
 	
+	// background colour for rows containing current search text
+	public static final Color SEARCH_HIGHLIGHT = new Color(90, 75, 20);
+	
 	private ExtractsTableModel model = null;
 
 	public LogTypeColumnRenderer(ExtractsTableModel model) {
@@ -27,6 +31,12 @@ public class LogTypeColumnRenderer extends DefaultTableCellRenderer {
 		var color = en.getColor();
 		cellComponent.setForeground(color);
 		
+		// highlights search hits, renderer is shared by all rows so background is always reset
+		if (!isSelected) {
+			var background = model.isSearchHit(row) ? SEARCH_HIGHLIGHT : table.getBackground();
+			cellComponent.setBackground(background);
+		}
+		
 		return cellComponent;
 	}
 }
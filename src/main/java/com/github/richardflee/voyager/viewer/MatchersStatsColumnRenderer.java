@@ -0,0 +1,41 @@
+package com.github.richardflee.voyager.viewer;
+
+import java.awt.Color;
+import java.awt.Component;
+
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import com.github.richardflee.voyager.models.MatchersTableModel;
+
+/**
+ * Formats matchesTable hit count and match time columns. Matchers with no hits in the last 
+ * log extraction are greyed out, expensive matchers are shown in red.
+ */
+public class MatchersStatsColumnRenderer extends DefaultTableCellRenderer {
+	private static final long serialVersionUID = 1L;
+
+	private MatchersTableModel model = null;
+
+	public MatchersStatsColumnRenderer(MatchersTableModel model) {
+		this.model = model;
+	}
+
+	@Override
+	public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus,
+			int row, int column) {
+		var cellComponent = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+
+		setHorizontalAlignment(SwingConstants.CENTER);
+
+		var color = Color.LIGHT_GRAY;
+		if (model.isExpensiveMatcher(row)) {
+			color = MetricsColumnRenderer.LIGHT_RED;
+		} else if (model.isUnusedMatcher(row)) {
+			color = Color.GRAY;
+		}
+		cellComponent.setForeground(color);
+		return cellComponent;
+	}
+}
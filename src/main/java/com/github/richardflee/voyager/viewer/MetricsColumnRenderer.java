@@ -14,17 +14,27 @@ public class MetricsColumnRenderer extends DefaultTableCellRenderer {
 	
 	public static final Color LIGHT_BLUE = new Color(51, 204, 255);
 	public static final Color LIGHT_RED = new Color(255, 102, 102);
+	public static final Color ANOMALY_ORANGE = new Color(255, 170, 0);
+	private static final Color ANOMALY_BACKGROUND = new Color(90, 30, 30);
+	
+	// anomaly column, flagged field names
+	private static final int ANOMALY_COL = 12;
 
+	private MetricsTableModel model = null;
+	
 	// current table column number 
 	private int col = 0;
 	
 	public MetricsColumnRenderer(MetricsTableModel model, int col) {
+		this.model = model;
 		this.col = col;
 	}
 	
 	@Override
 	public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus,
 			int row, int column) {
+		// clears anomaly background set for previous cell
+		setBackground(null);
 		var cellComponent = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
 		
 		// field columns text centred
@@ -36,11 +46,15 @@ public class MetricsColumnRenderer extends DefaultTableCellRenderer {
 			color = LIGHT_BLUE;
 		} else if (col == 7) {
 			color = LIGHT_RED;
+		} else if (col == ANOMALY_COL) {
+			color = ANOMALY_ORANGE;
 		}
 		cellComponent.setForeground(color);
+		
+		// anomalous metric rows highlighted
+		if (!isSelected && model.isAnomaly(table.convertRowIndexToModel(row))) {
+			setBackground(ANOMALY_BACKGROUND);
+		}
 		return cellComponent;
 	}
-
-	
-
 }
@@ -0,0 +1,169 @@
+package com.github.richardflee.voyager.viewer;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.swing.JPanel;
+
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.DateAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.CombinedDomainXYPlot;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.time.FixedMillisecond;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+
+import com.github.richardflee.voyager.log_objects.GuideFrames;
+import com.github.richardflee.voyager.log_objects.LogMetric;
+import com.github.richardflee.voyager.models.MetricsPlotListener;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+/**
+ * Plots session guiding RA / DEC rms errors, PHD2 per-frame guiding errors and focus HFD against time of night.
+ * Anomalous guiding and focus values are marked by points in separate anomaly series.
+ *
+ * <p>Panel is constructed on first selection of the plot tab so that JFreeChart classes are loaded
+ * only when needed.</p>
+ */
+public class MetricsPlotPanel extends JPanel implements MetricsPlotListener {
+	private static final long serialVersionUID = 1L;
+
+	private static final Color PLOT_BACKGROUND = new Color(30, 30, 30);
+
+	// guide frames are downsampled to at most one point per plot pixel column
+	private static final int MAX_FRAME_POINTS = 1500;
+
+	private TimeSeries raSeries = null;
+	private TimeSeries decSeries = null;
+	private TimeSeries hfdSeries = null;
+	private TimeSeries guidingAnomalySeries = null;
+	private TimeSeries hfdAnomalySeries = null;
+
+	// PHD2 guide frames RMS, per downsampled time bucket
+	private TimeSeries raFramesSeries = null;
+	private TimeSeries decFramesSeries = null;
+	private NumberAxis framesAxis = null;
+
+	public MetricsPlotPanel() {
+		this.raSeries = new TimeSeries("RA rms");
+		this.decSeries = new TimeSeries("DEC rms");
+		this.hfdSeries = new TimeSeries("HFD");
+		this.guidingAnomalySeries = new TimeSeries("Guiding anomaly");
+		this.hfdAnomalySeries = new TimeSeries("HFD anomaly");
+
+		var guidingData = new TimeSeriesCollection();
+		guidingData.addSeries(raSeries);
+		guidingData.addSeries(decSeries);
+		guidingData.addSeries(guidingAnomalySeries);
+		var guidingPlot = createPlot(guidingData, "Guiding rms", MetricsColumnRenderer.LIGHT_BLUE,
+				MetricsColumnRenderer.LIGHT_RED, MetricsColumnRenderer.ANOMALY_ORANGE);
+		((XYLineAndShapeRenderer) guidingPlot.getRenderer()).setSeriesLinesVisible(2, false);
+
+		var focusData = new TimeSeriesCollection(hfdSeries);
+		focusData.addSeries(hfdAnomalySeries);
+		var focusPlot = createPlot(focusData, "HFD", Color.CYAN, MetricsColumnRenderer.ANOMALY_ORANGE);
+		((XYLineAndShapeRenderer) focusPlot.getRenderer()).setSeriesLinesVisible(1, false);
+
+		this.raFramesSeries = new TimeSeries("RA frames");
+		this.decFramesSeries = new TimeSeries("DEC frames");
+		var framesData = new TimeSeriesCollection();
+		framesData.addSeries(raFramesSeries);
+		framesData.addSeries(decFramesSeries);
+		var framesPlot = createPlot(framesData, "PHD2 rms", MetricsColumnRenderer.LIGHT_BLUE,
+				MetricsColumnRenderer.LIGHT_RED);
+		((XYLineAndShapeRenderer) framesPlot.getRenderer()).setDefaultShapesVisible(false);
+		this.framesAxis = (NumberAxis) framesPlot.getRangeAxis();
+
+		var timeAxis = new DateAxis("Time");
+		timeAxis.setTickLabelPaint(Color.LIGHT_GRAY);
+		timeAxis.setLabelPaint(Color.LIGHT_GRAY);
+		var plot = new CombinedDomainXYPlot(timeAxis);
+		plot.add(guidingPlot, 2);
+		plot.add(framesPlot, 2);
+		plot.add(focusPlot, 1);
+
+		var chart = new JFreeChart(null, JFreeChart.DEFAULT_TITLE_FONT, plot, true);
+		chart.setBackgroundPaint(getBackground());
+		chart.getLegend().setBackgroundPaint(getBackground());
+		chart.getLegend().setItemPaint(Color.LIGHT_GRAY);
+
+		setLayout(new BorderLayout());
+		add(new ChartPanel(chart), BorderLayout.CENTER);
+	}
+
+	/**
+	 * Replaces plotted series with guiding and focus data from current selected metrics
+	 */
+	@Override
+	public void updatePlot(List<LogMetric> metrics, LocalDate startDate) {
+		raSeries.clear();
+		decSeries.clear();
+		hfdSeries.clear();
+		guidingAnomalySeries.clear();
+		hfdAnomalySeries.clear();
+
+		for (var metric : metrics) {
+			var ldt = VoyagerDateTimes.extractsTimeStampToSessionDateTime(metric.getTimeStamp(), startDate);
+			var period = new FixedMillisecond(VoyagerDateTimes.localDateTimeToDate(ldt));
+			if (metric.getGuidingRa().length() > 0) {
+				double ra = Double.valueOf(metric.getGuidingRa());
+				double dec = Double.valueOf(metric.getGuidingDec());
+				raSeries.addOrUpdate(period, ra);
+				decSeries.addOrUpdate(period, dec);
+				if (metric.isAnomaly()) {
+					guidingAnomalySeries.addOrUpdate(period, Math.max(ra, dec));
+				}
+			}
+			if (metric.getFocusHfd().length() > 0) {
+				hfdSeries.addOrUpdate(period, Double.valueOf(metric.getFocusHfd()));
+				if (metric.isAnomaly()) {
+					hfdAnomalySeries.addOrUpdate(period, Double.valueOf(metric.getFocusHfd()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces plotted PHD2 guide frames, range axis label shows RMS over all session frames
+	 */
+	@Override
+	public void updateGuidePlot(GuideFrames frames, LocalDate startDate) {
+		raFramesSeries.clear();
+		decFramesSeries.clear();
+		var sessionStart = LocalDateTime.of(startDate, VoyagerDateTimes.NOON);
+		var sampled = frames.downsample(MAX_FRAME_POINTS);
+		for (int i = 0; i < sampled.size(); i++) {
+			var ldt = sessionStart.plusNanos(sampled.getTime(i) * 1_000_000L);
+			var period = new FixedMillisecond(VoyagerDateTimes.localDateTimeToDate(ldt));
+			raFramesSeries.addOrUpdate(period, sampled.getRa(i));
+			decFramesSeries.addOrUpdate(period, sampled.getDec(i));
+		}
+		var label = (frames.size() == 0) ? "PHD2 rms"
+				: String.format("PHD2 rms %.2f\" (%d frames)", frames.getRmsTotal(), frames.size());
+		framesAxis.setLabel(label);
+	}
+
+	private XYPlot createPlot(TimeSeriesCollection data, String rangeLabel, Color... colors) {
+		var rangeAxis = new NumberAxis(rangeLabel);
+		rangeAxis.setAutoRangeIncludesZero(false);
+		rangeAxis.setTickLabelPaint(Color.LIGHT_GRAY);
+		rangeAxis.setLabelPaint(Color.LIGHT_GRAY);
+
+		var renderer = new XYLineAndShapeRenderer(true, true);
+		for (int i = 0; i < colors.length; i++) {
+			renderer.setSeriesPaint(i, colors[i]);
+		}
+
+		var plot = new XYPlot(data, null, rangeAxis, renderer);
+		plot.setBackgroundPaint(PLOT_BACKGROUND);
+		plot.setDomainGridlinePaint(Color.DARK_GRAY);
+		plot.setRangeGridlinePaint(Color.DARK_GRAY);
+		return plot;
+	}
+}
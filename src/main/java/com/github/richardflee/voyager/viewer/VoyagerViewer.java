@@ -2,13 +2,21 @@ package com.github.richardflee.voyager.viewer;
 
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.Graphics;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 import javax.swing.*;
 
 import javax.swing.GroupLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
@@ -23,6 +31,7 @@ import com.github.richardflee.voyager.fileio.VoyagerPaths;
 import com.github.richardflee.voyager.models.ExtractsTableModel;
 import com.github.richardflee.voyager.models.MatchersTableModel;
 import com.github.richardflee.voyager.models.MetricsTableModel;
+import com.github.richardflee.voyager.utils.StartupTimer;
 
 public class VoyagerViewer extends JFrame {
 	private static final long serialVersionUID = 1L;
@@ -30,8 +39,8 @@ public class VoyagerViewer extends JFrame {
 	private static final int FRAME_WIDTH = 1000;
 	private static final int FRAME_HEIGHT = 600;
 
-	private static final Integer[] EXTRACTS_COLUMN_WIDTHS = { 12, 88, 0 };
-	private static final Integer[] MATCHER_COLUMN_WIDTHS = { 8, 40, 40, 12 };
+	private static final Integer[] EXTRACTS_COLUMN_WIDTHS = { 12, 80, 0, 8 };
+	private static final Integer[] MATCHER_COLUMN_WIDTHS = { 6, 32, 30, 10, 6, 6, 10 };
 	
 	private static final String[] SELECTED_STATES = {"Select All", "Deselect All"};
 	private static final String[] WARNINGS_METRIC_STATES = {"Select WARNINGS", "Select METRICS"};
@@ -49,6 +58,38 @@ public class VoyagerViewer extends JFrame {
 	protected MetricsTableModel metricsTableModel = null;
 	private JTable metricsTable = null;
 	
+	// log table search controls, added in code above JFormDesigner extracts table layout
+	private JTextField searchTextField = null;
+	private JLabel searchHitsLabel = null;
+	private String currentQuery = "";
+	
+	// log table time range controls
+	private JTextField fromTimeTextField = null;
+	private JTextField toTimeTextField = null;
+	private JButton clearTimeRangeButton = null;
+	private JButton compareSessionsButton = null;
+	
+	// lists runs of repeated messages as single rows, double-click expands a run
+	private JCheckBox collapseRunsCheckBox = null;
+	
+	private JPanel plotTabPanel = null;
+	private MetricsPlotPanel metricsPlotPanel = null;
+	
+	// classes loaded on a background thread once the viewer window is shown
+	private static final String[] PRELOAD_CLASSES = {
+			"org.jfree.chart.JFreeChart",
+			"org.jfree.chart.ChartPanel",
+			"org.jfree.chart.axis.DateAxis",
+			"org.jfree.chart.axis.NumberAxis",
+			"org.jfree.chart.plot.CombinedDomainXYPlot",
+			"org.jfree.chart.plot.XYPlot",
+			"org.jfree.chart.renderer.xy.XYLineAndShapeRenderer",
+			"org.jfree.data.time.FixedMillisecond",
+			"org.jfree.data.time.TimeSeriesCollection",
+			"com.github.richardflee.voyager.viewer.MetricsPlotPanel",
+			"com.github.richardflee.voyager.viewer.MetricsColumnRenderer"
+	};
+	
 	
 	public VoyagerViewer(ActionHandler handler, 
 			MatchersTableModel matchersTableModel, 
@@ -68,17 +109,115 @@ public class VoyagerViewer extends JFrame {
 		this.extractsTable = new JTable(extractsTableModel);
 		this.extractsTableScrollPane.setViewportView(extractsTable);
 
+		// metrics table and plot constructed on first selection of their tabs
 		this.metricsTableModel = metricsTableModel;
-		this.metricsTable = new JTable(metricsTableModel);
-		this.metricsTableScrollPane.setViewportView(metricsTable);
+		this.plotTabPanel = new JPanel(new BorderLayout());
+		this.viewerTabbedPane.addTab("Metrics Plot", plotTabPanel);
 
+		buildExtractsToolPanel();
 		configureTables();
 		setupActionHandlers();
 
 		saveExtractsFileButton.setEnabled(false);
 		addCommentButton.setEnabled(false);
+		
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowOpened(WindowEvent e) {
+				preloadClasses();
+			}
+		});
+	}
+	
+
+	// reports start-up time at first paint
+	@Override
+	public void paint(Graphics g) {
+		super.paint(g);
+		StartupTimer.firstPaint();
+	}
+
+	/*
+	 * Wraps extracts table scroll pane in a panel with search and time range controls above the table
+	 */
+	private void buildExtractsToolPanel() {
+		this.searchTextField = new JTextField(24);
+		this.searchTextField.setToolTipText("Search log messages, press Enter for next match");
+		this.searchHitsLabel = new JLabel("");
+		
+		this.fromTimeTextField = new JTextField(6);
+		this.fromTimeTextField.setToolTipText("Range start HH:mm, press Enter to apply");
+		this.toTimeTextField = new JTextField(6);
+		this.toTimeTextField.setToolTipText("Range end HH:mm, press Enter to apply");
+		this.clearTimeRangeButton = new JButton("Clear");
+		
+		this.collapseRunsCheckBox = new JCheckBox("Collapse repeats");
+		this.collapseRunsCheckBox.setToolTipText("List consecutive messages from the same matcher as one row, double-click a row to expand");
+		
+		this.compareSessionsButton = new JButton("Compare...");
+		this.compareSessionsButton.setToolTipText("Compare current log session with another night");
+
+		var toolPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		toolPanel.add(new JLabel("Search:"));
+		toolPanel.add(searchTextField);
+		toolPanel.add(searchHitsLabel);
+		toolPanel.add(Box.createHorizontalStrut(20));
+		toolPanel.add(new JLabel("Time from:"));
+		toolPanel.add(fromTimeTextField);
+		toolPanel.add(new JLabel("to:"));
+		toolPanel.add(toTimeTextField);
+		toolPanel.add(clearTimeRangeButton);
+		toolPanel.add(Box.createHorizontalStrut(20));
+		toolPanel.add(collapseRunsCheckBox);
+		toolPanel.add(Box.createHorizontalStrut(20));
+		toolPanel.add(compareSessionsButton);
+
+		var wrapperPanel = new JPanel(new BorderLayout());
+		var layout = (GroupLayout) logViewerPanel.getLayout();
+		layout.replace(extractsTableScrollPane, wrapperPanel);
+		wrapperPanel.add(toolPanel, BorderLayout.NORTH);
+		wrapperPanel.add(extractsTableScrollPane, BorderLayout.CENTER);
+	}
+	
+	/*
+	 * Highlights log table rows containing search text and selects next matching row 
+	 */
+	private void doSearch() {
+		var query = searchTextField.getText().trim();
+		if (!query.equals(currentQuery)) {
+			refreshSearch(query);
+		}
+		var row = extractsTableModel.nextSearchHit(extractsTable.getSelectedRow());
+		if (row >= 0) {
+			extractsTable.setRowSelectionInterval(row, row);
+			extractsTable.scrollRectToVisible(extractsTable.getCellRect(row, 0, true));
+		}
+	}
+	
+	/*
+	 * Expands collapsed run at table row, run extracts are listed from the same row
+	 */
+	private void doExpandRun(int row) {
+		if (row >= 0 && this.handler.doExpandRun(extractsTableModel.getRow(row))) {
+			updateExtractTableControls();
+			extractsTable.setRowSelectionInterval(row, row);
+		}
+	}
+	
+	/*
+	 * Applies time range fields to log table, blank fields clear the range
+	 */
+	private void doTimeRange() {
+		if (this.handler.doSetTimeRange(fromTimeTextField.getText(), toTimeTextField.getText())) {
+			updateExtractTableControls();
+		}
 	}
 	
+	private void refreshSearch(String query) {
+		this.currentQuery = query;
+		var nHits = this.handler.doSearchExtracts(query, extractsTableModel);
+		this.searchHitsLabel.setText((query.length() > 0) ? String.format("%d matches", nHits) : "");
+	}
 
 	/*
 	 * Sets up relative column widths and renderers 
@@ -86,13 +225,61 @@ public class VoyagerViewer extends JFrame {
 	private void configureTables() {
 		configureMatchersTable();
 		configureExtractsTable();
-		configureMetricsTable();		
+	}
+	
+	/*
+	 * Builds metrics table on first selection of metrics tab
+	 */
+	private void ensureMetricsTable() {
+		if (this.metricsTable == null) {
+			this.metricsTable = new JTable(metricsTableModel);
+			this.metricsTableScrollPane.setViewportView(metricsTable);
+			configureMetricsTable();
+		}
+	}
+	
+	/*
+	 * Builds metrics plot on first selection of plot tab
+	 */
+	private void ensureMetricsPlot() {
+		if (this.metricsPlotPanel == null) {
+			this.metricsPlotPanel = new MetricsPlotPanel();
+			this.plotTabPanel.add(metricsPlotPanel, BorderLayout.CENTER);
+			this.plotTabPanel.revalidate();
+			this.handler.setPlotListener(metricsPlotPanel);
+		}
+	}
+	
+	/*
+	 * Loads heavier classes used by metrics table and plot tabs on a low priority background thread 
+	 * after the viewer window is shown. Classes are loaded but not initialised, static initialisers 
+	 * run on the EDT when the tabs are built.
+	 */
+	private void preloadClasses() {
+		var preloader = new Thread(() -> {
+			var loader = VoyagerViewer.class.getClassLoader();
+			for (var className : PRELOAD_CLASSES) {
+				try {
+					Class.forName(className, false, loader);
+				} catch (ClassNotFoundException | LinkageError e) {
+					// preload is an optimisation only, class is loaded on first use
+				}
+			}
+		}, "class-preloader");
+		preloader.setDaemon(true);
+		preloader.setPriority(Thread.MIN_PRIORITY);
+		preloader.start();
 	}
 	
 	private void configureMatchersTable() {
 		this.matchersTable.setFillsViewportHeight(true);
 		setColumnWidths(this.matchersTable, MATCHER_COLUMN_WIDTHS);
 		this.matchersTable.getColumnModel().getColumn(3).setCellRenderer(new MatchersTypeColumnRenderer(matchersTableModel));
+		
+		// hit count and match time columns
+		var statsRenderer = new MatchersStatsColumnRenderer(matchersTableModel);
+		this.matchersTable.getColumnModel().getColumn(5).setCellRenderer(statsRenderer);
+		this.matchersTable.getColumnModel().getColumn(6).setCellRenderer(statsRenderer);
 	}
 	
 	private void configureExtractsTable() {
@@ -125,16 +312,41 @@ public class VoyagerViewer extends JFrame {
 	
 
 	private void setupActionHandlers() {
+		
+		searchTextField.addActionListener(e -> doSearch());
+		fromTimeTextField.addActionListener(e -> doTimeRange());
+		toTimeTextField.addActionListener(e -> doTimeRange());
+		clearTimeRangeButton.addActionListener(e -> {
+			fromTimeTextField.setText("");
+			toTimeTextField.setText("");
+			doTimeRange();
+		});
+		collapseRunsCheckBox.addActionListener(e -> {
+			this.handler.doSetCollapseRuns(collapseRunsCheckBox.isSelected());
+			updateExtractTableControls();
+		});
+		extractsTable.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getClickCount() == 2) {
+					doExpandRun(extractsTable.rowAtPoint(e.getPoint()));
+				}
+			}
+		});
 
 		openLogFileButton.addActionListener(e -> {
 			var dialogFile = VoyagerPaths.openLogFileDialog();
 			this.handler.doImportFromVoyagerLogFile(dialogFile);
+			this.matchersTableModel.updateStatistics();
 			this.updateExtractTableControls();
 		});
 
+		compareSessionsButton.addActionListener(e -> this.handler.doCompareSessions(VoyagerPaths.openLogFileDialog()));
+
 		openExtractsFileButton.addActionListener(e -> {
 			var dialogFile = VoyagerPaths.openExtractsFileDialog();
 			handler.doImportFromExtractsFiles(dialogFile);
+			this.matchersTableModel.updateStatistics();
 			this.updateExtractTableControls();
 		});
 
@@ -167,22 +379,34 @@ public class VoyagerViewer extends JFrame {
 			}
 		});
 		
-		plotMetricsFileButton.addActionListener(e -> this.handler.doPlotMetrics());
+		// selects plot tab, plot is updated in tab change listener
+		plotMetricsFileButton.addActionListener(e -> viewerTabbedPane.setSelectedIndex(3));
 		
 
 		// file save
 		saveExtractsFileButton.addActionListener(e -> this.handler.doSaveLogExtractsToFile());
 		saveTableDataButton.addActionListener(e -> this.handler.doSaveMatcherTableToFile());
+		optimiseOrderButton.addActionListener(e -> this.handler.doOptimiseMatcherOrder(matchersTableModel));
 		saveMetricsFileButton.addActionListener(e -> this.handler.doSaveMetricsToFile());
 
 		viewerTabbedPane.addChangeListener(e -> {
-			this.handler.doHandleTabChange(viewerTabbedPane.getSelectedIndex());
+			var selectedIndex = viewerTabbedPane.getSelectedIndex();
+			if (selectedIndex == 2) {
+				ensureMetricsTable();
+			} else if (selectedIndex == 3) {
+				ensureMetricsPlot();
+			}
+			this.handler.doHandleTabChange(selectedIndex);
 			updateExtractTableControls();
 		});
 	}
 	
 	private void updateExtractTableControls() {
-		this.logFilesTextField.setText(VoyagerPaths.getLogFilesNames());
+		// re-apply search to current log table extracts
+		if (this.currentQuery.length() > 0) {
+			refreshSearch(this.currentQuery);
+		}
+		this.logFilesTextField.setText(this.handler.getLogFilesNames());
 		var enabled = extractsTableModel.isPopulated();
 		this.saveExtractsFileButton.setEnabled(enabled);
 		this.addCommentButton.setEnabled(enabled);
@@ -212,6 +436,7 @@ public class VoyagerViewer extends JFrame {
 		toggleSelectButton = new JButton();
 		toggleWarningsButton = new JButton();
 		saveTableDataButton = new JButton();
+		optimiseOrderButton = new JButton();
 		matchersTableScrollPane = new JScrollPane();
 		metricsTablePanel = new JPanel();
 		panel6 = new JPanel();
@@ -334,6 +559,9 @@ public class VoyagerViewer extends JFrame {
 							//---- saveTableDataButton ----
 							saveTableDataButton.setText("Save Table Data");
 
+							//---- optimiseOrderButton ----
+							optimiseOrderButton.setText("Optimise Order");
+
 							GroupLayout panel2Layout = new GroupLayout(panel2);
 							panel2.setLayout(panel2Layout);
 							panel2Layout.setHorizontalGroup(
@@ -344,9 +572,11 @@ public class VoyagerViewer extends JFrame {
 										.addComponent(toggleWarningsButton, GroupLayout.PREFERRED_SIZE, 150, GroupLayout.PREFERRED_SIZE)
 										.addPreferredGap(LayoutStyle.ComponentPlacement.UNRELATED)
 										.addComponent(saveTableDataButton, GroupLayout.PREFERRED_SIZE, 120, GroupLayout.PREFERRED_SIZE)
-										.addContainerGap(454, Short.MAX_VALUE))
+										.addPreferredGap(LayoutStyle.ComponentPlacement.UNRELATED)
+										.addComponent(optimiseOrderButton, GroupLayout.PREFERRED_SIZE, 120, GroupLayout.PREFERRED_SIZE)
+										.addContainerGap(290, Short.MAX_VALUE))
 							);
-							panel2Layout.linkSize(SwingConstants.HORIZONTAL, new Component[] {saveTableDataButton, toggleSelectButton, toggleWarningsButton});
+							panel2Layout.linkSize(SwingConstants.HORIZONTAL, new Component[] {optimiseOrderButton, saveTableDataButton, toggleSelectButton, toggleWarningsButton});
 							panel2Layout.setVerticalGroup(
 								panel2Layout.createParallelGroup()
 									.addGroup(panel2Layout.createSequentialGroup()
@@ -354,7 +584,8 @@ public class VoyagerViewer extends JFrame {
 										.addGroup(panel2Layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
 											.addComponent(toggleSelectButton, GroupLayout.PREFERRED_SIZE, 30, GroupLayout.PREFERRED_SIZE)
 											.addComponent(toggleWarningsButton, GroupLayout.PREFERRED_SIZE, 30, GroupLayout.PREFERRED_SIZE)
-											.addComponent(saveTableDataButton, GroupLayout.PREFERRED_SIZE, 30, GroupLayout.PREFERRED_SIZE))
+											.addComponent(saveTableDataButton, GroupLayout.PREFERRED_SIZE, 30, GroupLayout.PREFERRED_SIZE)
+											.addComponent(optimiseOrderButton, GroupLayout.PREFERRED_SIZE, 30, GroupLayout.PREFERRED_SIZE))
 										.addContainerGap())
 							);
 						}
@@ -474,6 +705,7 @@ public class VoyagerViewer extends JFrame {
 	private JButton toggleSelectButton;
 	private JButton toggleWarningsButton;
 	private JButton saveTableDataButton;
+	private JButton optimiseOrderButton;
 	private JScrollPane matchersTableScrollPane;
 	private JPanel metricsTablePanel;
 	private JPanel panel6;
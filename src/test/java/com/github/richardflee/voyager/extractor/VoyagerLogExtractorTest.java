@@ -15,6 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 
+import com.github.richardflee.voyager.fileio.Session;
 import com.github.richardflee.voyager.fileio.VoyagerPaths;
 import com.github.richardflee.voyager.log_objects.VoyagerLogExtractor;
 import com.github.richardflee.voyager.log_objects.VoyagerLogMatchers;
@@ -77,11 +78,11 @@ class VoyagerLogExtractorTest {
 	void testLogCounts_2021_12_11() {		
 		vp.updateLogPaths(Log2021_12_11);		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
-		var extracts = extractor.getTableExtractsFromFiles(vp);
+		var extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(5, extracts.size());
 	
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(false));
-		extracts = extractor.getTableExtractsFromFiles(vp);
+		extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(0, extracts.size());
 	}
 
@@ -91,11 +92,11 @@ class VoyagerLogExtractorTest {
 	void tesLogCounts_2021_12_12() {
 		vp.updateLogPaths(Log2021_12_12);		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
-		var extracts = extractor.getTableExtractsFromFiles(vp);
+		var extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(3, extracts.size());
 		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(false));
-		extracts = extractor.getTableExtractsFromFiles(vp);
+		extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(0, extracts.size());
 	}
 	
@@ -108,12 +109,12 @@ class VoyagerLogExtractorTest {
 		vp.updateLogPaths(Log2021_12_11);
 		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(false));
-		extractor.getTableExtractsFromFiles(vp);
+		extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 
-		extractor.saveLogExtractsToFiles(vp);
+		extractor.saveLogExtractsToFiles(Session.of(vp, logMatchers.getMatchers()));
 		
 		vp.updateExtractsPaths(Extract2021_12_11);
-		assertEquals(3, extractor.getTableExtractsFromFiles(vp).size());
+		assertEquals(3, extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers())).size());
 		assertEquals(0, extractor.getSelectedExtracts().size());
 		assertEquals(3, extractor.getCommentExtracts().size());
 	}
@@ -125,12 +126,12 @@ class VoyagerLogExtractorTest {
 		// selected
 		vp.updateLogPaths(Log2021_12_11);
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
-		extractor.getTableExtractsFromFiles(vp);
+		extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 
-		extractor.saveLogExtractsToFiles(vp);
+		extractor.saveLogExtractsToFiles(Session.of(vp, logMatchers.getMatchers()));
 		
 		vp.updateExtractsPaths(Extract2021_12_11);
-		assertEquals(8, extractor.getTableExtractsFromFiles(vp).size());
+		assertEquals(8, extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers())).size());
 		assertEquals(5, extractor.getSelectedExtracts().size());
 		assertEquals(3, extractor.getCommentExtracts().size());	
 	}
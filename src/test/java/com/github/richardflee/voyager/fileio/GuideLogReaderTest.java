@@ -0,0 +1,101 @@
+package com.github.richardflee.voyager.fileio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.richardflee.voyager.log_objects.GuideFrames;
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+class GuideLogReaderTest {
+
+	private static final LocalDate startDate = LocalDate.of(2022, 2, 2);
+
+	// calibration frames are skipped, second guiding section runs past midnight
+	private static final String GUIDE_LOG = String.join("\r\n",
+			"PHD2 version 2.6.11, Log version 2.5. Log enabled at 2022-02-02 18:03:22",
+			"",
+			"Calibration Begins at 2022-02-02 20:10:00",
+			"Direction,Step,dx,dy,x,y,Dist",
+			"West,1,0.000,0.000,0.000,0.000,0.000",
+			"Calibration complete, mount = Mount.",
+			"",
+			"Guiding Begins at 2022-02-02 20:15:33",
+			"Pixel scale = 1.50 arc-sec/px, Binning = 1, Focal length = 400 mm",
+			"Frame,Time,mount,dx,dy,RARawDistance,DECRawDistance,RAGuideDistance,DECGuideDistance,StarMass,SNR,ErrorCode",
+			"1,1.005,\"Mount\",0.1,0.2,0.400,-0.200,0.4,-0.2,12345,45.67,0",
+			"2,3.010,\"Mount\",0.1,0.2,-0.400,0.200,0.4,-0.2,12345,45.67,0",
+			"3,5.000,\"DROP\",,,,,,,0,0.00,2,\"Star lost - low SNR\"",
+			"INFO: DITHER by 1.23, -0.45, new lock pos = 100.1, 200.2",
+			"4,7.500,\"Mount\",0.1,0.2,1e-1,-1.0E-1,0.4,-0.2,12345,45.67,0",
+			"Guiding Ends at 2022-02-02 20:15:41",
+			"",
+			"Guiding Begins at 2022-02-03 00:59:59",
+			"Frame,Time,mount,dx,dy,RARawDistance,DECRawDistance",
+			"1,2.000,\"Mount\",0,0,0.200,0.200",
+			"Guiding Ends at 2022-02-03 01:00:05");
+
+	@DisplayName("Verifies guide frames are parsed from guiding sections in session time")
+	@Test
+	void testReadGuideLog(@TempDir Path tempDir) throws IOException {
+		var path = tempDir.resolve("PHD2_GuideLog_2022-02-02_180322.txt");
+		Files.write(path, GUIDE_LOG.getBytes(StandardCharsets.UTF_8));
+
+		var frames = GuideLogReader.readGuideLogs(List.of(path), startDate);
+		assertEquals(4, frames.size());
+		assertEquals(1, frames.getDroppedCount());
+
+		long sessionStart = VoyagerDateTimes.sessionMillis(LocalTime.of(20, 15, 33));
+		assertEquals(sessionStart + 1005, frames.getTime(0));
+		assertEquals(0.6f, frames.getRa(0), 1e-6);
+		assertEquals(-0.3f, frames.getDec(0), 1e-6);
+		assertEquals(0.15f, frames.getRa(2), 1e-6);
+		assertEquals(VoyagerDateTimes.sessionMillis(LocalTime.of(1, 0, 1)), frames.getTime(3));
+		assertEquals(0.3f, frames.getDec(3), 1e-6);
+
+		// a frame starting on the next day is outside the session
+		assertEquals(0, GuideLogReader.readGuideLogs(List.of(path), startDate.plusDays(1)).size());
+	}
+
+	@DisplayName("Verifies downsampled frames give per-bucket RMS errors")
+	@Test
+	void testDownsample() {
+		var frames = new GuideFrames();
+		for (int i = 0; i < 10_000; i++) {
+			frames.add(i * 2000L, (i % 2 == 0) ? 0.5f : -0.5f, 0.3f);
+		}
+		assertEquals(0.5, frames.getRmsRa(), 1e-6);
+		assertEquals(Math.hypot(0.5, 0.3), frames.getRmsTotal(), 1e-6);
+
+		var sampled = frames.downsample(100);
+		assertEquals(100, sampled.size());
+		for (int i = 0; i < sampled.size(); i++) {
+			assertEquals(0.5f, sampled.getRa(i), 1e-6);
+			assertEquals(0.3f, sampled.getDec(i), 1e-6);
+		}
+		assertTrue(sampled.getTime(0) < sampled.getTime(99));
+		assertEquals(frames, frames.downsample(10_000));
+	}
+
+	@DisplayName("Verifies decimal fields are parsed from bytes")
+	@Test
+	void testParseDecimal() {
+		for (var s : List.of("0", "-0.345", "+12.5", "1234.000001", "1e-3", "-2.5E2")) {
+			var bytes = s.getBytes(StandardCharsets.US_ASCII);
+			assertEquals(Double.parseDouble(s), GuideLogReader.parseDecimal(bytes, 0, bytes.length), 1e-12);
+		}
+		assertTrue(Double.isNaN(GuideLogReader.parseDecimal(new byte[0], 0, 0)));
+		assertTrue(Double.isNaN(GuideLogReader.parseDecimal("\"Mount\"".getBytes(StandardCharsets.US_ASCII), 0, 7)));
+	}
+}
@@ -0,0 +1,69 @@
+package com.github.richardflee.voyager.fileio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogLinesTest {
+
+	private static LogLines lines(String source, String... lines) {
+		var logLines = new LogLines(source);
+		List.of(lines).stream().forEach(p -> logLines.add(p));
+		return logLines;
+	}
+
+	private static List<String> sources(LogLines lines) {
+		return IntStream.range(0, lines.size()).mapToObj(i -> lines.getSource(i)).collect(Collectors.toList());
+	}
+
+	@DisplayName("Verifies two rig logs are interleaved in time stamp order with source tags")
+	@Test
+	void testMergeSources() {
+		var rig1 = lines("rig1",
+				"2021/12/11 21:00:00 100 - INFO - [Seq] - Sequence start",
+				"2021/12/11 21:00:05 000 - INFO - [Guide] - Settled",
+				"2021/12/11 21:10:00 000 - INFO - [Seq] - Sequence end");
+		var rig2 = lines("rig2",
+				"2021/12/11 21:00:00 020 - INFO - [Seq] - Sequence start",
+				"2021/12/11 21:00:05 000 - INFO - [Focus] - Focus Done",
+				"   continuation line without time stamp",
+				"2021/12/11 21:20:00 000 - INFO - [Seq] - Sequence end");
+
+		var merged = LogLines.merge(List.of(rig1, rig2));
+		assertEquals(7, merged.size());
+		assertEquals(List.of("rig2", "rig1", "rig1", "rig2", "rig2", "rig1", "rig2"), sources(merged));
+		assertEquals(rig2.get(2), merged.get(4));
+		assertEquals(rig1.get(2), merged.get(5));
+	}
+
+	@DisplayName("Verifies overlapping log files are merged without duplicate lines")
+	@Test
+	void testMergeDuplicates() {
+		var before = lines("",
+				"2021/12/11 21:00:00 000 - INFO - [Seq] - Voyager start",
+				"2021/12/11 21:05:00 000 - INFO - [Seq] - Exposure",
+				"2021/12/11 21:05:00 000 - INFO - [Seq] - Exposure");
+		var after = lines("",
+				"2021/12/11 21:05:00 000 - INFO - [Seq] - Exposure",
+				"2021/12/11 21:05:00 000 - INFO - [Seq] - Exposure",
+				"2021/12/11 21:06:00 000 - INFO - [Seq] - Voyager restart");
+
+		// repeated lines within one file are retained
+		var merged = LogLines.merge(List.of(before, after));
+		assertEquals(List.of(before.get(0), before.get(1), before.get(2), after.get(2)), merged);
+		assertEquals(merged, LogLines.merge(List.of(after, before)));
+	}
+
+	@DisplayName("Verifies concatenated lines keep their source tags")
+	@Test
+	void testConcatSources() {
+		var concat = LogLines.concat(List.of(lines("", "comment"), lines("rig1", "extract 1", "extract 2")));
+		assertEquals(List.of("comment", "extract 1", "extract 2"), concat);
+		assertEquals(List.of("", "rig1", "rig1"), sources(concat));
+	}
+}
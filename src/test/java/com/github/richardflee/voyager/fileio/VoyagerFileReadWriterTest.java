@@ -0,0 +1,76 @@
+package com.github.richardflee.voyager.fileio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VoyagerFileReadWriterTest {
+
+	private static final LocalDate startDate = LocalDate.of(2022, 2, 2);
+
+	private static final String POINTING_LINE = "2022/02/03 01:26:08 818 - INFO  - [PrecisePointing] - "
+			+ "Best Performance 00° 00' 02\"[DMS]";
+
+	private static final List<String> lines = List.of(
+			"2022/02/02 11:59:59 999 - INFO  - [Seq] - before session",
+			"2022/02/02 12:00:00 000 - INFO  - [Seq] - session start, excluded",
+			"2022/02/02 12:00:00 001 - INFO  - [Seq] - first in session",
+			"   2022/02/02 21:00:00 5 - INFO  - [Seq] - leading spaces",
+			"2022/02/02 21:00:00  100 - INFO  - [Seq] - double space, not a time stamp",
+			"2022/02/02 21:00:00 100.5 - INFO  - [Seq] - fractional milli-secs",
+			"2022/02/29 21:00:00 100 - INFO  - [Seq] - invalid date",
+			"continuation line without time stamp",
+			"",
+			POINTING_LINE,
+			"2022/02/03 11:59:59 999 - INFO  - [Seq] - last in session",
+			"2022/02/03 12:00:00 000 - INFO  - [Seq] - next session");
+
+	@DisplayName("Verifies session window and line terminators")
+	@Test
+	void testWindow(@TempDir Path tempDir) throws Exception {
+		var path = tempDir.resolve("2022_02_02_Voyager.log");
+		Files.writeString(path, String.join("\r\n", lines.subList(0, 6)) + "\n" + String.join("\r", lines.subList(6, 12)),
+				StandardCharsets.UTF_8);
+		var window = VoyagerFileReadWriter.readVoyagerLogLines(path, startDate);
+		assertEquals(List.of(lines.get(2), lines.get(3), lines.get(5), POINTING_LINE, lines.get(10)), window);
+	}
+
+	@DisplayName("Verifies windows-1252 log is detected and decoded")
+	@Test
+	void testWindows1252(@TempDir Path tempDir) throws Exception {
+		var path = tempDir.resolve("2022_02_02_Voyager.log");
+		Files.writeString(path, String.join("\r\n", lines), Charset.forName("windows-1252"));
+		var bytes = Files.readAllBytes(path);
+		assertEquals("windows-1252", VoyagerFileReadWriter.getLogCharset(bytes).name());
+		assertEquals(StandardCharsets.UTF_8, VoyagerFileReadWriter.getLogCharset(POINTING_LINE.getBytes(StandardCharsets.UTF_8)));
+
+		var window = VoyagerFileReadWriter.readVoyagerLogLines(path, startDate);
+		assertEquals(5, window.size());
+		assertEquals(POINTING_LINE, window.get(3));
+	}
+
+	@DisplayName("Verifies an unsupported jlogviewer.log.charset fails the log read")
+	@Test
+	void testUnsupportedCharset(@TempDir Path tempDir) throws Exception {
+		var path = tempDir.resolve("2022_02_02_Voyager.log");
+		Files.writeString(path, String.join("\r\n", lines), StandardCharsets.UTF_8);
+		System.setProperty(VoyagerFileReadWriter.CHARSET_PROPERTY, "no-such-charset");
+		try {
+			var e = assertThrows(IOException.class, () -> VoyagerFileReadWriter.readVoyagerLogLines(path, startDate));
+			assertEquals("Unsupported log charset no-such-charset set by jlogviewer.log.charset", e.getMessage());
+		} finally {
+			System.clearProperty(VoyagerFileReadWriter.CHARSET_PROPERTY);
+		}
+	}
+}
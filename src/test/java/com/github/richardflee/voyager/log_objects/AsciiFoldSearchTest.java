@@ -0,0 +1,54 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AsciiFoldSearchTest {
+
+	private static final List<String> lines = List.of(
+			"2022/02/03 00:44:11 272 - INFO  - [Focus  ] - [FINISH_Code ] - Focus Done - Pos=33734 HFD=6.428524",
+			"2022/02/03 00:27:07 334 - INFO  - [Sequence] - [EsposizioneOK] - GUIDING Stats - RMS Error (RA=0.664)",
+			"2022/02/03 01:26:08 818 - INFO  - [PrecisePointing] - Best Performance 00° 00' 02\"[DMS]",
+			"short", "", "ab", "Kelvin temperature 273\u212A, wor\u212A", "\u0130stanbul \u00e9t\u00e9 \u2013 ok", "ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~@");
+
+	@DisplayName("Verifies SWAR search agrees with lower case String.contains")
+	@Test
+	void testAgreesWithContains() {
+		var patterns = List.of("focus done", "FOCUS DONE", "rms error (ra=", "dms]", "02\"[", "00° 00'", "[dms", "ok]",
+				"@", "z{", "`a", "[\\]", "hfd=6.428524", "6.4285245", "", "s", "xyz", "short", "e", "work", "273k", "i", "istanbul", "été", "– ok", "ok");
+		for (var pattern : patterns) {
+			var search = new AsciiFoldSearch(pattern);
+			for (var line : lines) {
+				var expected = line.toLowerCase().contains(pattern.toLowerCase());
+				assertEquals(expected, search.contains(line), pattern + " in " + line);
+				var bytes = ("xx" + line + "yy").getBytes(StandardCharsets.UTF_8);
+				assertEquals(expected, search.contains(bytes, 2, bytes.length - 2), pattern + " in bytes " + line);
+			}
+		}
+	}
+
+	@DisplayName("Verifies SWAR search at all offsets of random ASCII lines")
+	@Test
+	void testRandomLines() {
+		var random = new Random(42);
+		var alphabet = "abAB[]@`{ -=";
+		for (int n = 0; n < 2000; n++) {
+			var sb = new StringBuilder();
+			for (int i = random.nextInt(40); i > 0; i--) {
+				sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			var line = sb.toString();
+			var pattern = (line.length() > 3) ? line.substring(random.nextInt(line.length() - 3)).substring(0, 3)
+					: "ab";
+			pattern = random.nextBoolean() ? pattern.toUpperCase() : pattern + "b";
+			assertEquals(line.toLowerCase().contains(pattern.toLowerCase()), new AsciiFoldSearch(pattern).contains(line),
+					pattern + " in " + line);
+		}
+	}
+}
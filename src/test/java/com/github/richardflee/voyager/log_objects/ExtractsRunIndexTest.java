@@ -0,0 +1,105 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExtractsRunIndexTest {
+
+	// two guiding stats runs split by a focus line
+	private static final List<String> lines = List.of(
+			"2021/12/11 21:00:00 000 - INFO - [Seq] - Sequence start",
+			"2021/12/11 21:01:00 000 - INFO - [Guide] - Stats - RMS Error (RA=0.61 - DEC=0.52)",
+			"2021/12/11 21:02:00 000 - INFO - [Guide] - Stats - RMS Error (RA=0.62 - DEC=0.51)",
+			"2021/12/11 21:03:00 000 - INFO - [Guide] - Stats - RMS Error (RA=0.60 - DEC=0.50)",
+			"2021/12/11 21:05:00 000 - INFO - [Focus] - Focus Done Filter=L HFD=2.10",
+			"2021/12/11 21:10:00 000 - INFO - [Guide] - Stats - RMS Error (RA=0.64 - DEC=0.55)",
+			"2021/12/11 21:11:00 000 - INFO - [Guide] - Stats - RMS Error (RA=0.66 - DEC=0.57)");
+
+	private static VoyagerLogExtractor extractor() {
+		var matchers = new ArrayList<LogMatcher>();
+		matchers.add(new LogMatcher(true, "Focus Done", "", "METRIC_F"));
+		matchers.add(new LogMatcher(true, "RMS Error", "", "METRIC_G"));
+		matchers.add(new LogMatcher(true, "Sequence start", "", "INFO"));
+		var extractor = new VoyagerLogExtractor(new VoyagerLogMatchers(matchers));
+		extractor.compileAllExtracts(lines);
+		return extractor;
+	}
+
+	@DisplayName("Verifies consecutive extracts with the same matcher share a run start")
+	@Test
+	void testRunStarts() {
+		var index = new ExtractsRunIndex(extractor().getAllExtracts());
+		assertEquals(4, index.getRunCount());
+		assertEquals(1, index.runStart(3));
+		assertTrue(index.isSameRun(1, 3));
+		assertFalse(index.isSameRun(3, 5));
+		assertEquals(5, index.runStart(6));
+	}
+
+	@DisplayName("Verifies collapse mode lists runs as single rows with count and time span")
+	@Test
+	void testCollapsedTable() {
+		var extractor = extractor();
+		assertEquals(7, extractor.getTableExtracts().size());
+
+		extractor.setCollapseRuns(true);
+		var rows = extractor.getTableExtracts();
+		assertEquals(4, rows.size());
+		assertFalse(rows.get(0).isRun());
+		assertTrue(rows.get(1).isRun());
+		assertEquals(3, rows.get(1).getRunExtracts().size());
+		assertSame(extractor.getAllExtracts().get(1), rows.get(1).getRunExtracts().get(0));
+		assertEquals("21:01:00.000 =>", rows.get(1).getTimeStamp());
+		assertTrue(rows.get(1).getMessageLine().endsWith("[x3, 21:01:00 - 21:03:00]"));
+
+		// time range cuts first run
+		extractor.setTimeRange(LocalTime.parse("21:02"), LocalTime.parse("21:10"));
+		rows = extractor.getTableExtracts();
+		assertEquals(3, rows.size());
+		assertEquals(2, rows.get(0).getRunExtracts().size());
+		assertFalse(rows.get(2).isRun());
+		extractor.clearTimeRange();
+
+		// expanded run listed in full, other runs remain collapsed
+		assertTrue(extractor.expandRun(extractor.getTableExtracts().get(1)));
+		assertFalse(extractor.expandRun(extractor.getTableExtracts().get(0)));
+		rows = extractor.getTableExtracts();
+		assertEquals(6, rows.size());
+		assertTrue(rows.get(5).isRun());
+
+		extractor.setCollapseRuns(false);
+		assertEquals(7, extractor.getTableExtracts().size());
+	}
+
+	@DisplayName("Verifies table rows are read from extract positions, comments first in a time range")
+	@Test
+	void testTableRowPositions() {
+		var extractor = extractor();
+		extractor.setCollapseRuns(true);
+		var rows = extractor.getTableExtracts();
+		extractor.addUserComment("Clouds", LocalDate.of(2021, 12, 11));
+
+		// rows compiled before the comment still read the previous extracts list
+		assertEquals(4, rows.size());
+		assertSame(extractor.getAllExtracts().get(1), rows.get(0));
+
+		extractor.setTimeRange(LocalTime.parse("21:05"), LocalTime.parse("21:11"));
+		rows = extractor.getTableExtracts();
+		assertEquals(3, rows.size());
+		assertTrue(rows.get(0).isCommentType());
+		assertSame(extractor.getAllExtracts().get(5), rows.get(1));
+		assertEquals(2, rows.get(2).getRunExtracts().size());
+		assertThrows(IndexOutOfBoundsException.class, () -> extractor.getTableExtracts().get(3));
+	}
+}
@@ -0,0 +1,46 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExtractsSearchIndexTest {
+
+	private static final LogMatcher matcher = new LogMatcher(true, " - ", "", "INFO");
+
+	private static final List<LogExtract> extracts = List.of(
+			new LogExtract("2021/12/11 21:00:01 100 - INFO  - [Solve] - [Run] - Plate Solving Error : timeout", matcher),
+			new LogExtract("2021/12/11 21:05:01 100 - INFO  - [Solve] - [Run] - Plate solving OK NGC 7000", matcher),
+			new LogExtract("2021/12/11 22:00:01 100 - INFO  - [Seq] - [Run] - Target NGC 7000 acquired", matcher),
+			new LogExtract("2021/12/11 23:00:01 100 - INFO  - [Seq] - [Run] - Solving plate for M31", matcher));
+
+	@DisplayName("Verifies case-insensitive substring search")
+	@Test
+	void testSearch() {
+		var index = new ExtractsSearchIndex(extracts);
+		assertEquals(2, index.search("plate solving").size());
+		assertEquals(2, index.search("NGC 7000").size());
+		assertEquals(1, index.search("m31").size());
+		assertTrue(index.search("plate solving").contains(extracts.get(0)));
+
+		// query words present in last extract but in a different order
+		assertEquals(0, index.search("plate solving for").size());
+		assertEquals(0, index.search("comet").size());
+		assertEquals(0, index.search("  ").size());
+	}
+
+	@DisplayName("Verifies short queries and extracts added after index build")
+	@Test
+	void testShortQueryAndAdd() {
+		var index = new ExtractsSearchIndex(extracts);
+		assertEquals(1, index.search("M3").size());
+
+		index.add(new LogExtract("2021/12/12 01:00:01 100 - INFO  - [Seq] - [Run] - Target M31 acquired", matcher));
+		assertEquals(2, index.search("m31").size());
+		assertEquals(5, index.size());
+	}
+}
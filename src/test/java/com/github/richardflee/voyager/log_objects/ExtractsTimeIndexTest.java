@@ -0,0 +1,50 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.richardflee.voyager.utils.VoyagerDateTimes;
+
+class ExtractsTimeIndexTest {
+
+	private static final LogMatcher matcher = new LogMatcher(true, " - ", "", "INFO");
+
+	// noon-to-noon session, last two extracts out of time order
+	private static final List<LogExtract> extracts = List.of(
+			new LogExtract("2021/12/11 13:00:00 000 - INFO - [Seq] - Session start", matcher),
+			new LogExtract("2021/12/11 21:00:00 000 - INFO - [Seq] - Sequence start", matcher),
+			new LogExtract("2021/12/11 22:15:00 500 - INFO - [Seq] - Target acquired", matcher),
+			new LogExtract("2021/12/11 23:30:00 000 - INFO - [Seq] - Focus done", matcher),
+			new LogExtract("2021/12/12 03:00:00 000 - INFO - [Seq] - Meridian flip", matcher),
+			new LogExtract("2021/12/12 02:00:00 000 - INFO - [Seq] - Guiding settled", matcher));
+
+	private static long millis(String time) {
+		return VoyagerDateTimes.sessionMillis(LocalTime.parse(time));
+	}
+
+	@DisplayName("Verifies time range queries across midnight")
+	@Test
+	void testPositionsInRange() {
+		var index = new ExtractsTimeIndex(extracts);
+		assertEquals(6, index.size());
+		assertArrayEquals(new int[] { 2, 3 }, index.positionsInRange(millis("22:00"), millis("23:30")));
+		assertArrayEquals(new int[] { 3, 4, 5 }, index.positionsInRange(millis("23:00"), millis("03:00")));
+		assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5 }, index.positionsInRange(0, VoyagerDateTimes.SESSION_MILLIS));
+		assertArrayEquals(new int[0], index.positionsInRange(millis("04:00"), millis("11:00")));
+	}
+
+	@DisplayName("Verifies session milli-secs from extracts time stamps")
+	@Test
+	void testSessionMillis() {
+		assertEquals(0, VoyagerDateTimes.extractsTimeStampToSessionMillis("12:00:00.000 =>"));
+		assertEquals(millis("03:00:00.250"), VoyagerDateTimes.extractsTimeStampToSessionMillis("03:00:00.250 =>"));
+		assertEquals(extracts.get(2).getTimeStamp(), "22:15:00.500 =>");
+		assertEquals(millis("22:15:00.5"), VoyagerDateTimes.extractsTimeStampToSessionMillis(extracts.get(2).getTimeStamp()));
+	}
+}
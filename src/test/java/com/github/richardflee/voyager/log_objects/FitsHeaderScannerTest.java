@@ -0,0 +1,96 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FitsHeaderScannerTest {
+
+	private static final LogMatcher savedMatcher = new LogMatcher(true, "File FIT Saved", "", "INFO");
+	private static final LogMatcher guidingMatcher = new LogMatcher(true, "GUIDING Stats", "", "METRIC_G");
+
+	private static LogExtract saved(String time, Path path) {
+		var line = String.format("2022/02/03 %s 100 - INFO  - [Sequence] - [ShotRunning ] - File FIT Saved %s",
+				time, path);
+		return new LogExtract(line, savedMatcher);
+	}
+
+	private static LogExtract guiding(String time) {
+		var line = String.format("2022/02/03 %s 334 - INFO  - [Sequence] - [EsposizioneOK] - "
+				+ "GUIDING Stats - RMS Error (RA=0.512 - DEC=0.656)", time);
+		return new LogExtract(line, guidingMatcher);
+	}
+
+	// primary header in a single 2880-byte block followed by a data block
+	private static Path writeFits(Path path, String filter, double exposure) throws IOException {
+		var sb = new StringBuilder();
+		for (var card : List.of("SIMPLE  =                    T", "BITPIX  =                   16",
+				String.format("FILTER  = '%-8s'           / filter name", filter),
+				String.format("EXPTIME = %20.1f / exposure secs", exposure),
+				"CCD-TEMP=                -10.0", "OBJECT  = 'Bode''s Galaxy'", "END")) {
+			sb.append(String.format("%-80s", card));
+		}
+		var header = String.format("%-2880s", sb).getBytes(StandardCharsets.US_ASCII);
+		var bytes = new byte[2 * 2880];
+		System.arraycopy(header, 0, bytes, 0, header.length);
+		return Files.write(path, bytes);
+	}
+
+	@DisplayName("Verifies frame path is parsed from Windows and Unix 'File FIT Saved' log lines")
+	@Test
+	void testGetFitsPath() {
+		var windows = "2022/02/03 00:27:50 100 - INFO  - [Sequence] - [ShotRunning ] - File FIT Saved "
+				+ "C:\\Voyager\\M31\\M31_LIGHT_R_300s_20220203_002750.FIT";
+		var path = FitsHeaderScanner.getFitsPath(windows).get().toString();
+		assertTrue(path.endsWith("M31_LIGHT_R_300s_20220203_002750.FIT"));
+		assertTrue(path.startsWith("C:"));
+
+		var unix = "2022/02/03 00:27:50 100 - INFO  - File FIT Saved /data/M31/M31_L_300s.fits - Done";
+		assertEquals(Paths.get("/data/M31/M31_L_300s.fits"), FitsHeaderScanner.getFitsPath(unix).get());
+
+		assertTrue(FitsHeaderScanner.getFitsPath("2022/02/03 00:27:50 100 - INFO  - File FIT Saved").isEmpty());
+		assertTrue(FitsHeaderScanner.getFitsPath("2022/02/03 00:27:50 100 - INFO  - C:\\M31.FIT").isEmpty());
+	}
+
+	@DisplayName("Verifies frame headers are read, cached and joined to nearest guiding metric")
+	@Test
+	void testScan(@TempDir Path tempDir) throws Exception {
+		var red = writeFits(tempDir.resolve("M31_R.fit"), "R", 300);
+		var green = writeFits(tempDir.resolve("M31_G.fit"), "G", 120);
+		var extracts = List.of(guiding("00:20:00"), saved("00:25:00", red), guiding("00:25:30"),
+				guiding("00:28:30"), saved("00:29:00", green), saved("00:30:00", tempDir.resolve("missing.fit")),
+				guiding("00:40:00"));
+
+		var scanner = new FitsHeaderScanner();
+		assertEquals(2, scanner.scan(extracts));
+		assertEquals(2, scanner.getCacheSize());
+
+		var header = extracts.get(1).getFitsHeader();
+		assertEquals("R", header.getFilter());
+		assertEquals("Bode's Galaxy", header.get("OBJECT"));
+		assertEquals("R 300s -10.0C", header.getSummary());
+		assertNull(extracts.get(5).getFitsHeader());
+
+		// metrics beyond join window have no frame header
+		assertNull(extracts.get(0).getMetric().getFrameHeader());
+		assertEquals("R", extracts.get(2).getMetric().getFrameFilter());
+		assertEquals("G", extracts.get(3).getMetric().getFrameFilter());
+		assertEquals("120.0", extracts.get(3).getMetric().getFrameExposure());
+		assertEquals("", extracts.get(6).getMetric().getFrameFilter());
+
+		// unchanged file headers are served from cache
+		assertEquals(2, scanner.scan(extracts));
+		assertEquals(header, extracts.get(1).getFitsHeader());
+	}
+}
@@ -0,0 +1,107 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.richardflee.voyager.enums.MatchModeEnum;
+
+class IncrementalExtractionTest {
+
+	private static final List<String> lines = List.of(
+			"2021/12/11 21:00:00 000 - INFO - [Seq] - Sequence start",
+			"2021/12/11 21:05:00 000 - INFO - [Focus] - Focus Done Filter=L HFD=2.10",
+			"2021/12/11 21:10:00 000 - INFO - [Guide] - Stats - RMS Error (RA=0.61 - DEC=0.52)",
+			"2021/12/11 21:15:00 000 - WARNING - [Guide] - Guide star lost",
+			"2021/12/11 21:20:00 000 - INFO - [Focus] - Focus Done Filter=R HFD=9.40",
+			"2021/12/11 21:25:00 000 - INFO - [Seq] - Sequence end");
+
+	private static List<LogMatcher> initialMatchers() {
+		var matchers = new ArrayList<LogMatcher>();
+		matchers.add(new LogMatcher(true, LogMatcher.COMMENT_MATCH_TEXT, "", "COMMENT"));
+		matchers.add(new LogMatcher(true, "Focus Done", "", "METRIC_F"));
+		matchers.add(new LogMatcher(true, "RMS Error", "", "METRIC_G"));
+		matchers.add(new LogMatcher(true, "Sequence start", "", "INFO"));
+		return matchers;
+	}
+
+	// matched line, matcher text pairs
+	private static List<String> attribution(VoyagerLogExtractor extractor) {
+		return extractor.getAllExtracts().stream()
+				.map(p -> p.getMessageLine() + " <= " + p.getMatcher().getMatchText())
+				.collect(Collectors.toList());
+	}
+
+	private static List<String> fullExtraction(List<LogMatcher> matchers) {
+		var extractor = new VoyagerLogExtractor(new VoyagerLogMatchers(matchers));
+		extractor.compileAllExtracts(lines);
+		return attribution(extractor);
+	}
+
+	@DisplayName("Verifies added, removed and edited matchers give the same extracts as a full extraction")
+	@Test
+	void testUpdateExtractsForMatchers() {
+		var logMatchers = new VoyagerLogMatchers(initialMatchers());
+		var extractor = new VoyagerLogExtractor(logMatchers);
+		extractor.compileAllExtracts(lines);
+		assertEquals(4, extractor.getAllExtracts().size());
+		var retainedExtract = extractor.getAllExtracts().get(0);
+
+		// add field matcher ahead of focus matcher and text matcher at end of list
+		var matchers = new ArrayList<LogMatcher>(logMatchers.getMatchers());
+		matchers.add(1, new LogMatcher(true, "HFD > 8", "", "WARNING", MatchModeEnum.FIELD));
+		matchers.add(new LogMatcher(true, "Guide star lost", "", "CRITICAL"));
+		logMatchers.setMatchers(matchers);
+		extractor.updateExtractsForMatchers();
+		assertEquals(fullExtraction(new ArrayList<>(matchers)), attribution(extractor));
+		assertEquals(5, extractor.getAllExtracts().size());
+		assertSame(retainedExtract, extractor.getAllExtracts().get(0));
+		assertEquals(1, matchers.get(1).getHitCount());
+		assertEquals(1, matchers.get(2).getHitCount());
+
+		// remove field matcher, edit guiding matcher
+		matchers = new ArrayList<LogMatcher>(matchers);
+		matchers.remove(1);
+		matchers.set(2, new LogMatcher(true, "Sequence", "", "INFO"));
+		logMatchers.setMatchers(matchers);
+		extractor.updateExtractsForMatchers();
+		assertEquals(fullExtraction(new ArrayList<>(matchers)), attribution(extractor));
+		assertEquals(2, matchers.get(2).getHitCount());
+	}
+
+	@DisplayName("Verifies user comments survive a full re-compile after matchers are reordered")
+	@Test
+	void testReorderKeepsUserComments() {
+		var logMatchers = new VoyagerLogMatchers(initialMatchers());
+		var extractor = new VoyagerLogExtractor(logMatchers);
+		extractor.compileAllExtracts(lines);
+		extractor.addUserComment("Clouds from 21:30", LocalDate.of(2021, 12, 11));
+		var comment = extractor.getAllExtracts().get(0);
+
+		// retained matchers change relative order
+		var matchers = new ArrayList<LogMatcher>(logMatchers.getMatchers());
+		Collections.swap(matchers, 1, 2);
+		logMatchers.setMatchers(matchers);
+		extractor.updateExtractsForMatchers();
+		assertEquals(5, extractor.getAllExtracts().size());
+		assertSame(comment, extractor.getAllExtracts().get(0));
+		assertEquals(1, extractor.getCommentExtracts().size());
+		assertEquals(1, extractor.searchExtracts("clouds").size());
+
+		// comment is kept through a further incremental update
+		matchers = new ArrayList<LogMatcher>(matchers);
+		matchers.add(new LogMatcher(true, "Sequence end", "", "INFO"));
+		logMatchers.setMatchers(matchers);
+		extractor.updateExtractsForMatchers();
+		assertEquals(6, extractor.getAllExtracts().size());
+		assertSame(comment, extractor.getAllExtracts().get(0));
+	}
+}
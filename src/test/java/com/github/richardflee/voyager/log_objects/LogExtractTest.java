@@ -0,0 +1,52 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogExtractTest {
+
+	private static final String FOCUS_LINE = "2022/02/03 00:44:11 272 - INFO  - [Focus  ] - [FINISH_Code ] - Focus Done - "
+			+ "Pos=33734 HFD=6.428524 Temperature=6.4 Focus Time=01:57 Filter=R [3]";
+
+	@DisplayName("Verifies metric fields are parsed once when extract is compiled")
+	@Test
+	void testMetricParsedOnce() {
+		var focus = new LogExtract(FOCUS_LINE, new LogMatcher(true, "Focus Done", "", "METRIC_F"));
+		assertNotNull(focus.getMetric());
+		assertEquals("33734", focus.getMetric().getFocusPos());
+		assertSame(focus.getMetric(), LogMetric.getSelectedMetrics(List.of(focus)).get(0));
+
+		var info = new LogExtract(FOCUS_LINE, new LogMatcher(true, "Focus Done", "", "INFO"));
+		assertNull(info.getMetric());
+
+		// malformed guiding line, parse error is deferred to getSelectedMetrics
+		var guiding = new LogExtract(FOCUS_LINE, new LogMatcher(true, "Focus Done", "", "METRIC_G"));
+		assertNull(guiding.getMetric());
+	}
+
+	@DisplayName("Verifies metric values use a '.' decimal point in a comma decimal locale")
+	@Test
+	void testMetricLocale() {
+		var locale = Locale.getDefault();
+		try {
+			Locale.setDefault(Locale.GERMANY);
+			var focus = new LogExtract(FOCUS_LINE, new LogMatcher(true, "Focus Done", "", "METRIC_F"));
+			assertEquals("6.43", focus.getMetric().getFocusHfd());
+			var line = "2022/02/03 00:27:07 334 - INFO  - [Sequence] - [EsposizioneOK  ] - "
+					+ "GUIDING Stats - RMS Error (RA=1.214 - DEC=0.656)";
+			var guiding = new LogExtract(line, new LogMatcher(true, "RMS Error", "", "METRIC_G"));
+			assertEquals("1.21", guiding.getMetric().getGuidingRa());
+			assertEquals("0.66", guiding.getMetric().getGuidingDec());
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.richardflee.voyager.enums.MatchModeEnum;
+
+class LogMatcherTest {
+
+	private static final String FOCUS_LINE = "2021/12/11 23:52:50 207 - INFO - [Focus Done] - Filter=L HFD=9.21 Temperature=4.1";
+	private static final String GUIDING_LINE = "2021/12/11 23:55:01 100 - INFO - [Guide] - Stats - RMS Error (RA=1.21 - DEC=0.66)";
+
+	@DisplayName("Verifies csv lines without mode column compile text matchers")
+	@Test
+	void testCsvCompatibility() {
+		var matcher = new LogMatcher("1,focus done,,INFO");
+		assertEquals(MatchModeEnum.TEXT, matcher.getMatchMode());
+		assertTrue(matcher.matches(FOCUS_LINE));
+		assertEquals("1,focus done,,INFO,TEXT", matcher.toString());
+		assertEquals(matcher, new LogMatcher(matcher.toString()));
+	}
+
+	@DisplayName("Verifies regex matchers and invalid pattern")
+	@Test
+	void testRegex() {
+		var matcher = new LogMatcher("1,rms error \\(ra=1\\.\\d+,,WARNING,REGEX");
+		assertTrue(matcher.matches(GUIDING_LINE));
+		assertFalse(matcher.matches(FOCUS_LINE));
+
+		// catastrophic backtracking pattern abandoned as no match
+		var slow = new LogMatcher(true, "(a+)+b", "", "WARNING", MatchModeEnum.REGEX);
+		assertFalse(slow.matches("a".repeat(40)));
+
+		assertThrows(IllegalArgumentException.class, () -> new LogMatcher("1,Slew (,,WARNING,REGEX"));
+	}
+
+	@DisplayName("Verifies field predicates on focus and guiding metrics")
+	@Test
+	void testFieldPredicate() {
+		assertTrue(new LogMatcher("1,HFD > 8,,WARNING,FIELD").matches(FOCUS_LINE));
+		assertFalse(new LogMatcher("1,hfd<=9.2,,WARNING,FIELD").matches(FOCUS_LINE));
+		assertTrue(new LogMatcher("1,RA >= 1.0,,WARNING,FIELD").matches(GUIDING_LINE));
+		assertFalse(new LogMatcher("1,DEC > 1.0,,WARNING,FIELD").matches(GUIDING_LINE));
+		assertFalse(new LogMatcher("1,RA > 1.0,,WARNING,FIELD").matches(FOCUS_LINE));
+
+		assertThrows(IllegalArgumentException.class, () -> new LogMatcher("1,FWHM > 3,,WARNING,FIELD"));
+		assertThrows(IllegalArgumentException.class, () -> new LogMatcher("1,HFD is big,,WARNING,FIELD"));
+	}
+
+	@DisplayName("Verifies match text with commas and quotes round trips through csv line")
+	@Test
+	void testCsvQuoting() {
+		var matcher = new LogMatcher(true, "(RA|DEC)=\\d{0,5}", "Guiding, \"RA or DEC\"", "WARNING",
+				MatchModeEnum.REGEX);
+		var line = matcher.toString();
+		assertEquals("1,\"(RA|DEC)=\\d{0,5}\",\"Guiding, \"\"RA or DEC\"\"\",WARNING,REGEX", line);
+		var copy = new LogMatcher(line);
+		assertEquals(matcher, copy);
+		assertEquals(MatchModeEnum.REGEX, copy.getMatchMode());
+		assertTrue(copy.matches("2021/12/11 23:55:01 100 - INFO - [Guide] - Drift RA=12345"));
+
+		assertEquals(List.of("1", "a,b", "", "INFO", ""), LogMatcher.splitCsvLine("1, \"a,b\",,INFO,"));
+	}
+}
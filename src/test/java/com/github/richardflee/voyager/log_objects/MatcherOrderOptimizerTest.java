@@ -0,0 +1,87 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.richardflee.voyager.enums.MatchModeEnum;
+
+class MatcherOrderOptimizerTest {
+
+	private static final String GUIDING_LINE = "2022/02/03 00:27:07 334 - INFO  - [Sequence] - [EsposizioneOK  ] - "
+			+ "GUIDING Stats - RMS Error (RA=0.664 - DEC=0.656)";
+
+	private static LogMatcher matcher(String matchText, int hits) {
+		return matcher(matchText, hits, MatchModeEnum.TEXT);
+	}
+
+	private static LogMatcher matcher(String matchText, int hits, MatchModeEnum mode) {
+		var matcher = new LogMatcher(true, matchText, "", "INFO", mode);
+		for (int i = 0; i < hits; i++) {
+			matcher.addHit();
+		}
+		return matcher;
+	}
+
+	@DisplayName("Verifies text and regex matchers which can share a log line are never moved")
+	@Test
+	void testCanMoveAhead() {
+		var optimizer = new MatcherOrderOptimizer();
+
+		// neither text contains the other, but both match the same line
+		var plateSolving = matcher("Plate Solving", 1);
+		var solvingError = matcher("Solving Error", 10);
+		assertFalse(optimizer.canMoveAhead(solvingError, plateSolving));
+		var guiding = matcher("GUIDING", 1);
+		var rmsError = matcher("Stats - RMS Error", 10);
+		assertTrue(guiding.matches(GUIDING_LINE) && rmsError.matches(GUIDING_LINE));
+		assertFalse(optimizer.canMoveAhead(rmsError, guiding));
+		assertFalse(optimizer.canMoveAhead(matcher("RMS Error \\(RA=0", 10, MatchModeEnum.REGEX), guiding));
+		assertFalse(optimizer.canMoveAhead(matcher("RA > 0.5", 10, MatchModeEnum.FIELD), guiding));
+
+		// comment matcher stays at top of list
+		var comment = new LogMatcher(true, LogMatcher.COMMENT_MATCH_TEXT, "", "COMMENT");
+		assertFalse(optimizer.canMoveAhead(rmsError, comment));
+	}
+
+	@DisplayName("Verifies field matchers move ahead only over disjoint ranges of the same field")
+	@Test
+	void testDisjointFields() {
+		var optimizer = new MatcherOrderOptimizer();
+		var highHfd = matcher("HFD > 8", 1, MatchModeEnum.FIELD);
+		assertTrue(optimizer.canMoveAhead(matcher("HFD <= 8", 10, MatchModeEnum.FIELD), highHfd));
+		assertTrue(optimizer.canMoveAhead(matcher("HFD < 3", 10, MatchModeEnum.FIELD), highHfd));
+		assertFalse(optimizer.canMoveAhead(matcher("HFD < 3", 1, MatchModeEnum.FIELD), highHfd));
+
+		// intersecting ranges, a single common value, different fields, not-equal
+		assertFalse(optimizer.canMoveAhead(matcher("HFD > 5", 10, MatchModeEnum.FIELD), highHfd));
+		assertFalse(optimizer.canMoveAhead(matcher("HFD >= 3", 10, MatchModeEnum.FIELD),
+				matcher("HFD <= 3", 1, MatchModeEnum.FIELD)));
+		assertFalse(optimizer.canMoveAhead(matcher("RA < 3", 10, MatchModeEnum.FIELD), highHfd));
+		assertFalse(optimizer.canMoveAhead(matcher("HFD != 2", 10, MatchModeEnum.FIELD), highHfd));
+		assertTrue(optimizer.canMoveAhead(matcher("HFD != 2", 10, MatchModeEnum.FIELD),
+				matcher("HFD = 2", 1, MatchModeEnum.FIELD)));
+	}
+
+	@DisplayName("Verifies optimise sorts by hits without changing line attribution")
+	@Test
+	void testOptimise() {
+		var comment = new LogMatcher(true, LogMatcher.COMMENT_MATCH_TEXT, "", "COMMENT");
+		var highHfd = matcher("HFD > 8", 1, MatchModeEnum.FIELD);
+		var lowHfd = matcher("HFD <= 8", 6, MatchModeEnum.FIELD);
+		var focus = matcher("Focus Done", 5);
+		var guiding = matcher("RMS Error", 8);
+		var matchers = List.of(comment, highHfd, lowHfd, focus, guiding);
+
+		var ordered = new MatcherOrderOptimizer().optimise(matchers);
+		assertEquals(List.of(comment, lowHfd, highHfd, focus, guiding), ordered);
+
+		// text matchers keep csv order whatever their hit counts
+		assertEquals(List.of(comment, focus, guiding), new MatcherOrderOptimizer().optimise(List.of(comment, focus, guiding)));
+	}
+}
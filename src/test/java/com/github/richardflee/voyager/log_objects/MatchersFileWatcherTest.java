@@ -0,0 +1,74 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MatchersFileWatcherTest {
+
+	private static final String HEADER = "Select, Match Message, Preset Message, Type, Mode";
+
+	private static void writeCsv(Path path, String... lines) throws Exception {
+		var allLines = new ArrayList<String>(List.of(HEADER));
+		allLines.addAll(List.of(lines));
+		Files.write(path, String.join("\n", allLines).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@DisplayName("Verifies changed csv is recompiled with comment matcher and unchanged csv is skipped")
+	@Test
+	void testReload(@TempDir Path tempDir) throws Exception {
+		var csvPath = tempDir.resolve("VoyagerLogViewer.csv");
+		writeCsv(csvPath, "1,focus done,,INFO");
+		var reloads = new ArrayList<List<LogMatcher>>();
+		var errors = new ArrayList<String>();
+		var watcher = new MatchersFileWatcher(csvPath, (m, e) -> {
+			reloads.add(m);
+			errors.addAll(e);
+		});
+		assertTrue(watcher.reload());
+		assertFalse(watcher.reload());
+
+		writeCsv(csvPath, "1,focus done,,INFO", "0,Slew (,,WARNING,REGEX", "1,HFD > 8,,WARNING,FIELD");
+		assertTrue(watcher.reload());
+		var matchers = reloads.get(1);
+		assertEquals(3, matchers.size());
+		assertEquals(LogMatcher.COMMENT_MATCH_TEXT, matchers.get(0).getMatchText());
+		assertEquals("HFD > 8", matchers.get(2).getMatchText());
+		assertEquals(1, errors.size());
+	}
+
+	@DisplayName("Verifies watcher thread reloads matchers after csv file is replaced")
+	@Test
+	void testWatch(@TempDir Path tempDir) throws Exception {
+		var csvPath = tempDir.resolve("VoyagerLogViewer.csv");
+		writeCsv(csvPath, "1,focus done,,INFO");
+		var reloads = new LinkedBlockingQueue<List<LogMatcher>>();
+		var watcher = new MatchersFileWatcher(csvPath, (m, e) -> reloads.add(m));
+		watcher.start();
+		try {
+			// editor style save, new file renamed over csv
+			var tmpPath = tempDir.resolve("VoyagerLogViewer.tmp");
+			writeCsv(tmpPath, "1,focus done,,INFO", "1,Meridian Flip,,INFO");
+			Files.move(tmpPath, csvPath, StandardCopyOption.REPLACE_EXISTING);
+
+			var matchers = reloads.poll(10, TimeUnit.SECONDS);
+			assertEquals(3, matchers.size());
+			assertEquals("Meridian Flip", matchers.get(2).getMatchText());
+		} finally {
+			watcher.stop();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MetricAnomalyDetectorTest {
+
+	private static final LogMatcher focusMatcher = new LogMatcher(true, "Focus Done", "", "METRIC_F");
+	private static final LogMatcher guidingMatcher = new LogMatcher(true, "GUIDING Stats", "", "METRIC_G");
+
+	private static LogExtract focus(double hfd, String filter) {
+		var line = String.format("2022/02/03 00:44:11 272 - INFO  - [Focus  ] - [FINISH_Code ] - Focus Done - "
+				+ "Pos=33734 HFD=%.2f Temperature=6.4 Focus Time=01:57 Filter=%s [3]", hfd, filter);
+		return new LogExtract(line, focusMatcher);
+	}
+
+	private static LogExtract guiding(double ra, double dec) {
+		var line = String.format("2022/02/03 00:27:07 334 - INFO  - [Sequence] - [EsposizioneOK] - "
+				+ "GUIDING Stats - RMS Error (RA=%.3f - DEC=%.3f)", ra, dec);
+		return new LogExtract(line, guidingMatcher);
+	}
+
+	@DisplayName("Verifies guiding rms spikes are flagged after warm-up and do not raise the baseline")
+	@Test
+	void testGuidingAnomalies() {
+		var detector = new MetricAnomalyDetector(3.0);
+		for (int i = 0; i < 40; i++) {
+			var metric = guiding(0.50 + 0.02 * (i % 3), 0.40 + 0.02 * (i % 2)).getMetric();
+			assertFalse(detector.accept(metric));
+			assertEquals("", metric.getAnomaly());
+		}
+		var spike = guiding(1.80, 0.42).getMetric();
+		assertTrue(detector.accept(spike));
+		assertEquals("RA", spike.getAnomaly());
+
+		// sustained bad stretch stays flagged, improvements are never flagged
+		for (int i = 0; i < 3; i++) {
+			var metric = guiding(1.80, 1.50).getMetric();
+			assertTrue(detector.accept(metric));
+			assertEquals("RA DEC", metric.getAnomaly());
+		}
+		assertFalse(detector.accept(guiding(0.10, 0.10).getMetric()));
+
+		// no flags during warm-up
+		var fresh = new MetricAnomalyDetector(3.0);
+		assertFalse(fresh.accept(guiding(0.5, 0.4).getMetric()));
+		assertFalse(fresh.accept(guiding(5.0, 4.0).getMetric()));
+	}
+
+	@DisplayName("Verifies focus HFD is tracked per filter and extracts are flagged in list order")
+	@Test
+	void testFocusAnomalies() {
+		var extracts = new ArrayList<LogExtract>();
+		for (int i = 0; i < 10; i++) {
+			extracts.add(focus(2.0 + 0.05 * (i % 2), "L"));
+			extracts.add(focus(4.0 + 0.05 * (i % 2), "Ha"));
+		}
+		extracts.add(new LogExtract("2022/02/03 00:44:12 272 - INFO  - Focus Done", focusMatcher));
+		extracts.add(focus(4.0, "Ha"));
+		extracts.add(focus(4.0, "L"));
+		MetricAnomalyDetector.detect(extracts);
+
+		assertTrue(extracts.stream().limit(20).noneMatch(p -> p.getMetric().isAnomaly()));
+		assertFalse(extracts.get(21).getMetric().isAnomaly());
+		assertEquals("HFD", extracts.get(22).getMetric().getAnomaly());
+	}
+}
@@ -0,0 +1,90 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.richardflee.voyager.enums.TrendFieldEnum;
+import com.github.richardflee.voyager.enums.TrendStatEnum;
+
+class MetricsTrendStoreTest {
+
+	private static final LogMatcher focusMatcher = new LogMatcher(true, "Focus Done", "", "METRIC_F");
+	private static final LogMatcher guidingMatcher = new LogMatcher(true, "GUIDING Stats", "", "METRIC_G");
+
+	private static LogMetric focus(double hfd, String filter) {
+		var line = String.format("2022/02/03 00:44:11 272 - INFO  - [Focus  ] - [FINISH_Code ] - Focus Done - "
+				+ "Pos=33734 HFD=%.2f Temperature=6.4 Focus Time=01:57 Filter=%s [3]", hfd, filter);
+		return new LogMetric(new LogExtract(line, focusMatcher));
+	}
+
+	private static LogMetric guiding(double ra) {
+		var line = String.format("2022/02/03 00:27:07 334 - INFO  - [Sequence] - [EsposizioneOK] - "
+				+ "GUIDING Stats - RMS Error (RA=%.3f - DEC=0.656)", ra);
+		return new LogMetric(new LogExtract(line, guidingMatcher));
+	}
+
+	@DisplayName("Verifies nightly and weekly median queries, per filter")
+	@Test
+	void testQuery(@TempDir Path tempDir) throws Exception {
+		var storePath = tempDir.resolve("test.trends");
+		var store = new MetricsTrendStore(storePath);
+		// Monday and Tuesday nights
+		var night1 = LocalDate.of(2022, 1, 31);
+		var night2 = LocalDate.of(2022, 2, 1);
+		store.append(night1, List.of(focus(6.0, "R"), focus(8.0, "R"), focus(5.0, "G"), guiding(0.5), guiding(0.7),
+				guiding(0.9)));
+		store.append(night2, List.of(focus(7.0, "R"), guiding(1.1)));
+
+		var ra = store.query(null, null, TrendFieldEnum.RA, ChronoUnit.DAYS, TrendStatEnum.MEDIAN, false);
+		assertEquals(2, ra.size());
+		assertEquals(night1, ra.get(0).getBucketStart());
+		assertEquals(0.7, ra.get(0).getValue(), 1e-6);
+		assertEquals(3, ra.get(0).getCount());
+		assertEquals(1.1, ra.get(1).getValue(), 1e-6);
+
+		// reopened store reads block index, week buckets grouped by filter
+		var hfd = new MetricsTrendStore(storePath).query(night1, night2, TrendFieldEnum.HFD, ChronoUnit.WEEKS,
+				TrendStatEnum.MEDIAN, true);
+		assertEquals(2, hfd.size());
+		assertEquals("G", hfd.get(0).getFilter());
+		assertEquals(5.0, hfd.get(0).getValue(), 1e-6);
+		assertEquals("R", hfd.get(1).getFilter());
+		assertEquals(7.0, hfd.get(1).getValue(), 1e-6);
+
+		assertEquals(List.of(night2), store.getNights().subList(1, 2));
+		assertEquals(1, store.query(night2, null, TrendFieldEnum.HFD, ChronoUnit.DAYS, TrendStatEnum.COUNT, false)
+				.size());
+	}
+
+	@DisplayName("Verifies re-imported night supersedes earlier block and partial block is recovered")
+	@Test
+	void testReimportAndRecovery(@TempDir Path tempDir) throws Exception {
+		var storePath = tempDir.resolve("test.trends");
+		var night = LocalDate.of(2022, 2, 2);
+		var store = new MetricsTrendStore(storePath);
+		store.append(night, List.of(guiding(0.5)));
+		store.append(night, List.of(guiding(0.8), guiding(1.0)));
+
+		var rows = store.query(null, null, TrendFieldEnum.RA, ChronoUnit.DAYS, TrendStatEnum.MEAN, false);
+		assertEquals(1, rows.size());
+		assertEquals(0.9, rows.get(0).getValue(), 1e-6);
+
+		// interrupted append: partial block written, index not updated
+		var size = Files.size(storePath);
+		Files.write(storePath, new byte[] { 0x4A, 0x4C, 0x56 }, StandardOpenOption.APPEND);
+		rows = new MetricsTrendStore(storePath).query(null, null, TrendFieldEnum.RA, ChronoUnit.DAYS,
+				TrendStatEnum.MAX, false);
+		assertEquals(1.0, rows.get(0).getValue(), 1e-6);
+		assertEquals(size, Files.size(storePath));
+	}
+}
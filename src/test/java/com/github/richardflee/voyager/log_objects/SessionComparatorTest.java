@@ -0,0 +1,96 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionComparatorTest {
+
+	private static final String GUIDING_LINE = "2022/02/%02d %s 334 - INFO  - [Sequence] - [EsposizioneOK] - "
+			+ "GUIDING Stats - RMS Error (RA=%.3f - DEC=0.500)";
+	private static final String ERROR_LINE = "2022/02/%02d %s 100 - WARNING - [Guide] - Star lost";
+
+	// same matchers list order and definitions in each session
+	private static List<LogMatcher> matchers() {
+		return List.of(new LogMatcher(true, "GUIDING Stats", "", "METRIC_G"),
+				new LogMatcher(true, "Star lost", "", "WARNING"),
+				new LogMatcher(true, "Meridian Flip", "", "INFO"));
+	}
+
+	@DisplayName("Verifies per-matcher counts, aligned events and guiding distributions are compared")
+	@Test
+	void testDiff() {
+		var matchersA = matchers();
+		var extractsA = List.of(new LogExtract(String.format(GUIDING_LINE, 2, "21:00:00", 0.5), matchersA.get(0)),
+				new LogExtract(String.format(ERROR_LINE, 2, "22:00:00"), matchersA.get(1)),
+				new LogExtract(String.format(GUIDING_LINE, 2, "23:00:00", 0.6), matchersA.get(0)));
+
+		// session B, star lost twice, first within align window of session A event
+		var matchersB = matchers();
+		var extractsB = List.of(new LogExtract(String.format(GUIDING_LINE, 9, "21:01:00", 1.5), matchersB.get(0)),
+				new LogExtract(String.format(ERROR_LINE, 9, "22:05:00"), matchersB.get(1)),
+				new LogExtract(String.format(GUIDING_LINE, 9, "23:30:00", 1.6), matchersB.get(0)),
+				new LogExtract(String.format(ERROR_LINE, 10, "02:00:00"), matchersB.get(1)),
+				new LogExtract(String.format(GUIDING_LINE, 10, "02:10:00", 1.4), matchersB.get(0)));
+
+		var diff = SessionComparator.diff(LocalDate.of(2022, 2, 2), extractsA, matchersA, LocalDate.of(2022, 2, 9),
+				extractsB, matchersB);
+		assertEquals(2, diff.getMatcherDiffs().size());
+
+		var guiding = diff.getMatcherDiffs().get(0);
+		assertEquals(1, guiding.getDelta());
+		assertEquals(1, guiding.getAligned());
+		var starLost = diff.getMatcherDiffs().get(1);
+		assertEquals(2, starLost.getCountB());
+		assertEquals(1, starLost.getAligned());
+		assertEquals(10 * 3600 * 1000L + 100, starLost.getFirstA());
+
+		var ra = diff.getMetricDiffs().get(0);
+		assertEquals("RA", ra.getField());
+		assertEquals(0.5, ra.getMedianA(), 1e-9);
+		assertEquals(1.5, ra.getMedianB(), 1e-9);
+		assertEquals(1.0, ra.getKsDistance(), 1e-9);
+		assertEquals(0.0, diff.getMetricDiffs().get(1).getKsDistance(), 1e-9);
+		assertEquals(2, diff.getMetricDiffs().size());
+	}
+
+	@DisplayName("Verifies merge-based event alignment and KS distance")
+	@Test
+	void testMerges() {
+		long min = 60_000L;
+		var a = new long[] { 0, 30 * min, 60 * min, 61 * min };
+		var b = new long[] { 5 * min, 45 * min, 62 * min, 200 * min };
+		assertEquals(2, SessionComparator.alignedCount(a, b));
+		assertEquals(0, SessionComparator.alignedCount(a, new long[0]));
+
+		assertEquals(0.5, SessionComparator.ksDistance(new double[] { 1, 2, 3, 4 }, new double[] { 3, 4, 5, 6 }),
+				1e-9);
+		assertEquals(0.0, SessionComparator.ksDistance(new double[] { 1, 2 }, new double[] { 1, 2 }), 1e-9);
+	}
+
+	@DisplayName("Verifies extracted session A is compared with session B read from its log file")
+	@Test
+	void testCompareWithLogFile(@TempDir Path tempDir) throws Exception {
+		var matchersA = matchers();
+		var extractsA = List.of(new LogExtract(String.format(GUIDING_LINE, 2, "21:00:00", 0.5), matchersA.get(0)));
+		var logB = tempDir.resolve("2022_02_09_Voyager.log");
+		Files.write(logB, List.of(String.format(GUIDING_LINE, 9, "21:01:00", 1.5),
+				String.format(ERROR_LINE, 9, "22:05:00")));
+
+		var diff = SessionComparator.compare(LocalDate.of(2022, 2, 2), extractsA, matchersA, logB);
+		assertEquals(LocalDate.of(2022, 2, 9), diff.getDateB());
+		assertEquals(1, diff.getMatcherDiffs().get(0).getAligned());
+		assertEquals(1, diff.getMatcherDiffs().get(1).getCountB());
+		assertThrows(IOException.class,
+				() -> SessionComparator.compare(LocalDate.of(2022, 2, 2), extractsA, matchersA, tempDir.resolve("2022_02_10_Voyager.log")));
+	}
+}
@@ -0,0 +1,111 @@
+package com.github.richardflee.voyager.log_objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.richardflee.voyager.fileio.LogLines;
+
+class SessionResultCacheTest {
+
+	private static final LogMatcher matcher = new LogMatcher(true, " - ", "", "INFO");
+
+	private static SessionResultCache.Entry entry(int nLines) {
+		var lines = new String[nLines];
+		var extracts = new LogExtract[nLines];
+		for (int i = 0; i < nLines; i++) {
+			lines[i] = String.format("2021/12/11 21:%02d:00 000 - INFO - [Seq] - line %d", i % 60, i);
+			extracts[i] = new LogExtract(lines[i], matcher);
+		}
+		return new SessionResultCache.Entry(LogLines.of(List.of(lines)), extracts, List.of(matcher));
+	}
+
+	@DisplayName("Verifies least recently used results are evicted to stay within byte budget")
+	@Test
+	void testEviction() {
+		var e1 = entry(100);
+		var cache = new SessionResultCache(e1.bytes * 2 + 1);
+		cache.put("night1", e1);
+		cache.put("night2", entry(100));
+		assertTrue(cache.get("night1").isPresent());
+
+		// night2 least recently used
+		cache.put("night3", entry(100));
+		assertEquals(2, cache.size());
+		assertTrue(cache.get("night1").isPresent());
+		assertFalse(cache.get("night2").isPresent());
+		assertTrue(cache.getTotalBytes() <= e1.bytes * 2 + 1);
+
+		// larger than budget, not cached
+		cache.put("night4", entry(1000));
+		assertFalse(cache.get("night4").isPresent());
+	}
+
+	@DisplayName("Verifies key changes with log file modification and matcher definitions")
+	@Test
+	void testKey(@TempDir Path tempDir) throws Exception {
+		var logPath = tempDir.resolve("2021_12_11_Voyager.log");
+		Files.writeString(logPath, "2021/12/11 21:00:00 000 - INFO - [Seq] - Sequence start\n");
+		var matchers = List.of(matcher);
+		var key = SessionResultCache.key(List.of(logPath), matchers).get();
+
+		// select flag ignored
+		var deselected = new LogMatcher(false, " - ", "", "INFO");
+		assertEquals(key, SessionResultCache.key(List.of(logPath), List.of(deselected)).get());
+		assertNotEquals(key, SessionResultCache.key(List.of(logPath), List.of(new LogMatcher(true, " - ", "", "WARNING"))).get());
+
+		Files.setLastModifiedTime(logPath, FileTime.fromMillis(Files.getLastModifiedTime(logPath).toMillis() + 1000));
+		assertNotEquals(key, SessionResultCache.key(List.of(logPath), matchers).get());
+		assertFalse(SessionResultCache.key(List.of(tempDir.resolve("missing.log")), matchers).isPresent());
+	}
+
+	@DisplayName("Verifies restored extracts are copies without frame headers or anomaly flags of earlier sessions")
+	@Test
+	void testRestoreExtracts() {
+		var lines = List.of("2021/12/11 21:00:00 000 - INFO - [Seq] - File FIT Saved C:\\M31_L.fit",
+				"2021/12/11 21:01:00 000 - INFO - [Guide] - Stats - RMS Error (RA=0.61 - DEC=0.52)");
+		var matchers = List.of(new LogMatcher(true, "File FIT Saved", "", "INFO"),
+				new LogMatcher(true, "RMS Error", "", "METRIC_G"));
+		var extractor = new VoyagerLogExtractor(new VoyagerLogMatchers(new ArrayList<>(matchers)));
+		extractor.compileAllExtracts(lines, matchers);
+		var entry = extractor.getCacheEntry();
+
+		// session state set after extraction
+		var header = new FitsHeader(Map.of("FILTER", "L"));
+		extractor.getAllExtracts().get(0).setFitsHeader(header);
+		extractor.getAllExtracts().get(1).getMetric().setFrameHeader(header);
+		extractor.getAllExtracts().get(1).getMetric().setAnomaly("RA");
+
+		var copies = matchers.stream().map(p -> new LogMatcher(p)).collect(Collectors.toList());
+		var restored = new VoyagerLogExtractor(new VoyagerLogMatchers(new ArrayList<>(copies)));
+		assertTrue(restored.restoreExtracts(entry, copies));
+		assertEquals(2, restored.getAllExtracts().size());
+		assertNotSame(extractor.getAllExtracts().get(0), restored.getAllExtracts().get(0));
+		assertSame(copies.get(1), restored.getAllExtracts().get(1).getMatcher());
+		assertNull(restored.getAllExtracts().get(0).getFitsHeader());
+		var metric = restored.getAllExtracts().get(1).getMetric();
+		assertEquals("0.61", metric.getGuidingRa());
+		assertNull(metric.getFrameHeader());
+		assertFalse(metric.isAnomaly());
+		assertEquals(1, copies.get(1).getHitCount());
+
+		// cached matchers list of a different size is not mapped by position
+		assertFalse(restored.restoreExtracts(entry, copies.subList(0, 1)));
+	}
+}
@@ -0,0 +1,61 @@
+package com.github.richardflee.voyager.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.richardflee.voyager.log_objects.LogExtract;
+import com.github.richardflee.voyager.log_objects.LogMatcher;
+
+class ExtractsTableModelTest {
+
+	private static final int NROWS = 100_000;
+	private static List<LogExtract> extracts = new ArrayList<>();
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		var matcher = new LogMatcher(true, "Stats - RMS Error", "", "METRIC_G");
+		for (int i = 0; i < NROWS; i++) {
+			var line = String.format("2022/02/03 %02d:%02d:%02d 334 - INFO  - [Sequence] - [EsposizioneOK  ] - "
+					+ "GUIDING Stats - RMS Error (RA=0.%03d - DEC=0.656)", i / 3600 % 24, i / 60 % 60, i % 60, i % 1000);
+			extracts.add(new LogExtract(line, matcher));
+		}
+	}
+
+	@DisplayName("Verifies rows read through windowed cache match store rows")
+	@Test
+	void testWindowedRows() {
+		var model = new ExtractsTableModel();
+		model.updateTable(extracts);
+		assertEquals(NROWS, model.getRowCount());
+
+		// sequential, random and reverse access across window boundaries
+		int[] rows = { 0, 1, 511, 512, 513, NROWS / 2, NROWS - 1, 300, NROWS - 600, 0 };
+		for (var row : rows) {
+			assertEquals(extracts.get(row).getMessageLine(), model.getValueAt(row, 1));
+			assertEquals(extracts.get(row).getTimeStamp(), model.getValueAt(row, 0));
+		}
+	}
+
+	@DisplayName("Verifies table update replaces cached window")
+	@Test
+	void testUpdateTable() {
+		var model = new ExtractsTableModel();
+		model.updateTable(extracts);
+		model.getValueAt(10, 1);
+
+		model.updateTable(extracts.subList(20, 30));
+		assertEquals(10, model.getRowCount());
+		assertEquals(extracts.get(29).getMessageLine(), model.getValueAt(9, 1));
+		assertEquals(extracts.get(20).getMessageLine(), model.getValueAt(0, 1));
+
+		model.updateTable((List<LogExtract>) null);
+		assertFalse(model.isPopulated());
+	}
+}
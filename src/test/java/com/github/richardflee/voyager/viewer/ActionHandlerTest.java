@@ -11,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.github.richardflee.voyager.fileio.Session;
 import com.github.richardflee.voyager.fileio.VoyagerPaths;
 import com.github.richardflee.voyager.log_objects.VoyagerLogExtractor;
 import com.github.richardflee.voyager.log_objects.VoyagerLogMatchers;
@@ -57,11 +58,11 @@ class ActionHandlerTest {
 		vp.updateLogPaths(Log2021_12_11);
 		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
-		var extracts = extractor.getTableExtractsFromFiles(vp);
+		var extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(5, extracts.size());
 	
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(false));
-		extracts = extractor.getTableExtractsFromFiles(vp);
+		extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(0, extracts.size());
 	}
 
@@ -71,11 +72,11 @@ class ActionHandlerTest {
 		vp.updateLogPaths(Log2021_12_12);
 		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
-		var extracts = extractor.getTableExtractsFromFiles(vp);
+		var extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(3, extracts.size());
 		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(false));
-		extracts = extractor.getTableExtractsFromFiles(vp);
+		extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		assertEquals(0, extracts.size());
 	}
 	
@@ -85,15 +86,15 @@ class ActionHandlerTest {
 		vp.updateLogPaths(Log2021_12_11);
 		
 		logMatchers.getMatchers().stream().forEach(p -> p.setSelected(true));
-		var extracts = extractor.getTableExtractsFromFiles(vp);
-		extractor.saveLogExtractsToFiles(vp);
+		var extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
+		extractor.saveLogExtractsToFiles(Session.of(vp, logMatchers.getMatchers()));
 		
 		extracts.clear();
 		vp.updateExtractsPaths(Extract2021_12_11);
-		assertEquals(8, extractor.getTableExtractsFromFiles(vp));
+		assertEquals(8, extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers())));
 		//assertEquals(5, extractor.get(vp));
 		
-		extracts = extractor.getTableExtractsFromFiles(vp);
+		extracts = extractor.getTableExtractsFromFiles(Session.of(vp, logMatchers.getMatchers()));
 		
 		System.out.println(extracts.size());
 		